@@ -0,0 +1,228 @@
+package dev.xdark.ssvm.benchmark;
+
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.api.VMInterface;
+import dev.xdark.ssvm.execution.Locals;
+import dev.xdark.ssvm.execution.asm.BiDoubleProcessor;
+import dev.xdark.ssvm.execution.asm.BiFloatProcessor;
+import dev.xdark.ssvm.execution.asm.BiIntJumpProcessor;
+import dev.xdark.ssvm.execution.asm.BiIntProcessor;
+import dev.xdark.ssvm.execution.asm.BiLongProcessor;
+import dev.xdark.ssvm.execution.asm.BiValueJumpProcessor;
+import dev.xdark.ssvm.execution.asm.IntJumpProcessor;
+import dev.xdark.ssvm.execution.asm.LongIntProcessor;
+import dev.xdark.ssvm.execution.asm.ValueJumpProcessor;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import dev.xdark.ssvm.value.ObjectValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.objectweb.asm.Opcodes.DADD;
+import static org.objectweb.asm.Opcodes.DDIV;
+import static org.objectweb.asm.Opcodes.DMUL;
+import static org.objectweb.asm.Opcodes.DREM;
+import static org.objectweb.asm.Opcodes.DSUB;
+import static org.objectweb.asm.Opcodes.FADD;
+import static org.objectweb.asm.Opcodes.FDIV;
+import static org.objectweb.asm.Opcodes.FMUL;
+import static org.objectweb.asm.Opcodes.FREM;
+import static org.objectweb.asm.Opcodes.FSUB;
+import static org.objectweb.asm.Opcodes.IADD;
+import static org.objectweb.asm.Opcodes.IAND;
+import static org.objectweb.asm.Opcodes.IFEQ;
+import static org.objectweb.asm.Opcodes.IFGE;
+import static org.objectweb.asm.Opcodes.IFGT;
+import static org.objectweb.asm.Opcodes.IFLE;
+import static org.objectweb.asm.Opcodes.IFLT;
+import static org.objectweb.asm.Opcodes.IFNE;
+import static org.objectweb.asm.Opcodes.IFNONNULL;
+import static org.objectweb.asm.Opcodes.IFNULL;
+import static org.objectweb.asm.Opcodes.IF_ACMPEQ;
+import static org.objectweb.asm.Opcodes.IF_ACMPNE;
+import static org.objectweb.asm.Opcodes.IF_ICMPEQ;
+import static org.objectweb.asm.Opcodes.IF_ICMPGE;
+import static org.objectweb.asm.Opcodes.IF_ICMPGT;
+import static org.objectweb.asm.Opcodes.IF_ICMPLE;
+import static org.objectweb.asm.Opcodes.IF_ICMPLT;
+import static org.objectweb.asm.Opcodes.IF_ICMPNE;
+import static org.objectweb.asm.Opcodes.IMUL;
+import static org.objectweb.asm.Opcodes.IOR;
+import static org.objectweb.asm.Opcodes.ISHL;
+import static org.objectweb.asm.Opcodes.ISHR;
+import static org.objectweb.asm.Opcodes.ISUB;
+import static org.objectweb.asm.Opcodes.IUSHR;
+import static org.objectweb.asm.Opcodes.IXOR;
+import static org.objectweb.asm.Opcodes.LADD;
+import static org.objectweb.asm.Opcodes.LAND;
+import static org.objectweb.asm.Opcodes.LMUL;
+import static org.objectweb.asm.Opcodes.LOR;
+import static org.objectweb.asm.Opcodes.LSHL;
+import static org.objectweb.asm.Opcodes.LSHR;
+import static org.objectweb.asm.Opcodes.LSUB;
+import static org.objectweb.asm.Opcodes.LUSHR;
+import static org.objectweb.asm.Opcodes.LXOR;
+
+/**
+ * Compares per-opcode arithmetic and jump processors
+ * against the lambda-backed ones.
+ *
+ * @author xDark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ArithmeticBenchmark {
+
+	private static final int LENGTH = 1024;
+
+	@Param({"monomorphic", "lambda"})
+	public String processors;
+
+	private VirtualMachine vm;
+	private JavaMethod intMix;
+	private JavaMethod longMix;
+	private JavaMethod floatMix;
+
+	@Setup
+	public void setup() {
+		VirtualMachine vm = BenchmarkUtil.newVirtualMachine();
+		this.vm = vm;
+		if ("lambda".equals(processors)) {
+			setLambdaProcessors(vm.getInterface());
+		}
+		InstanceClass guest = BenchmarkUtil.defineClass(vm, Guest.class);
+		intMix = guest.getMethod("intMix", "(I)I");
+		longMix = guest.getMethod("longMix", "(I)J");
+		floatMix = guest.getMethod("floatMix", "(I)D");
+	}
+
+	@Benchmark
+	public int intMix() {
+		Locals locals = vm.getThreadStorage().newLocals(intMix);
+		locals.setInt(0, LENGTH);
+		return vm.getOperations().invokeInt(intMix, locals);
+	}
+
+	@Benchmark
+	public long longMix() {
+		Locals locals = vm.getThreadStorage().newLocals(longMix);
+		locals.setInt(0, LENGTH);
+		return vm.getOperations().invokeLong(longMix, locals);
+	}
+
+	@Benchmark
+	public double floatMix() {
+		Locals locals = vm.getThreadStorage().newLocals(floatMix);
+		locals.setInt(0, LENGTH);
+		return vm.getOperations().invokeDouble(floatMix, locals);
+	}
+
+	private static void setLambdaProcessors(VMInterface vmi) {
+		vmi.setProcessor(IADD, new BiIntProcessor(Integer::sum));
+		vmi.setProcessor(LADD, new BiLongProcessor(Long::sum));
+		vmi.setProcessor(FADD, new BiFloatProcessor(Float::sum));
+		vmi.setProcessor(DADD, new BiDoubleProcessor(Double::sum));
+		vmi.setProcessor(ISUB, new BiIntProcessor((v1, v2) -> v1 - v2));
+		vmi.setProcessor(LSUB, new BiLongProcessor((v1, v2) -> v1 - v2));
+		vmi.setProcessor(FSUB, new BiFloatProcessor((v1, v2) -> v1 - v2));
+		vmi.setProcessor(DSUB, new BiDoubleProcessor((v1, v2) -> v1 - v2));
+		vmi.setProcessor(IMUL, new BiIntProcessor((v1, v2) -> v1 * v2));
+		vmi.setProcessor(LMUL, new BiLongProcessor((v1, v2) -> v1 * v2));
+		vmi.setProcessor(FMUL, new BiFloatProcessor((v1, v2) -> v1 * v2));
+		vmi.setProcessor(DMUL, new BiDoubleProcessor((v1, v2) -> v1 * v2));
+		vmi.setProcessor(FDIV, new BiFloatProcessor((v1, v2) -> v1 / v2));
+		vmi.setProcessor(DDIV, new BiDoubleProcessor((v1, v2) -> v1 / v2));
+		vmi.setProcessor(FREM, new BiFloatProcessor((v1, v2) -> v1 % v2));
+		vmi.setProcessor(DREM, new BiDoubleProcessor((v1, v2) -> v1 % v2));
+		vmi.setProcessor(ISHL, new BiIntProcessor((v1, v2) -> v1 << v2));
+		vmi.setProcessor(LSHL, new LongIntProcessor((v1, v2) -> v1 << v2));
+		vmi.setProcessor(ISHR, new BiIntProcessor((v1, v2) -> v1 >> v2));
+		vmi.setProcessor(LSHR, new LongIntProcessor((v1, v2) -> v1 >> v2));
+		vmi.setProcessor(IUSHR, new BiIntProcessor((v1, v2) -> v1 >>> v2));
+		vmi.setProcessor(LUSHR, new LongIntProcessor((v1, v2) -> v1 >>> v2));
+		vmi.setProcessor(IAND, new BiIntProcessor((v1, v2) -> v1 & v2));
+		vmi.setProcessor(LAND, new BiLongProcessor((v1, v2) -> v1 & v2));
+		vmi.setProcessor(IOR, new BiIntProcessor((v1, v2) -> v1 | v2));
+		vmi.setProcessor(LOR, new BiLongProcessor((v1, v2) -> v1 | v2));
+		vmi.setProcessor(IXOR, new BiIntProcessor((v1, v2) -> v1 ^ v2));
+		vmi.setProcessor(LXOR, new BiLongProcessor((v1, v2) -> v1 ^ v2));
+		vmi.setProcessor(IFEQ, new IntJumpProcessor(value -> value == 0));
+		vmi.setProcessor(IFNE, new IntJumpProcessor(value -> value != 0));
+		vmi.setProcessor(IFLT, new IntJumpProcessor(value -> value < 0));
+		vmi.setProcessor(IFGE, new IntJumpProcessor(value -> value >= 0));
+		vmi.setProcessor(IFGT, new IntJumpProcessor(value -> value > 0));
+		vmi.setProcessor(IFLE, new IntJumpProcessor(value -> value <= 0));
+		vmi.setProcessor(IF_ICMPEQ, new BiIntJumpProcessor((v1, v2) -> v1 == v2));
+		vmi.setProcessor(IF_ICMPNE, new BiIntJumpProcessor((v1, v2) -> v1 != v2));
+		vmi.setProcessor(IF_ICMPLT, new BiIntJumpProcessor((v1, v2) -> v1 < v2));
+		vmi.setProcessor(IF_ICMPGE, new BiIntJumpProcessor((v1, v2) -> v1 >= v2));
+		vmi.setProcessor(IF_ICMPGT, new BiIntJumpProcessor((v1, v2) -> v1 > v2));
+		vmi.setProcessor(IF_ICMPLE, new BiIntJumpProcessor((v1, v2) -> v1 <= v2));
+		vmi.setProcessor(IF_ACMPEQ, new BiValueJumpProcessor((v1, v2) -> v1 == v2));
+		vmi.setProcessor(IF_ACMPNE, new BiValueJumpProcessor((v1, v2) -> v1 != v2));
+		vmi.setProcessor(IFNONNULL, new ValueJumpProcessor(value -> !value.isNull()));
+		vmi.setProcessor(IFNULL, new ValueJumpProcessor(ObjectValue::isNull));
+	}
+
+	public static final class Guest {
+
+		public static int intMix(int n) {
+			int h = 17;
+			for (int i = 0; i < n; i++) {
+				h = h * 31 + (i ^ (i >>> 3));
+				h -= i << 1;
+				if ((h & 1) == 0) {
+					h |= i;
+				} else if (h > 0) {
+					h >>= 1;
+				}
+			}
+			return h;
+		}
+
+		public static long longMix(int n) {
+			long h = 17L;
+			for (int i = 0; i < n; i++) {
+				h = h * 31L + (i ^ (h >>> 7));
+				h -= (long) i << 2;
+				if ((h & 1L) == 0L) {
+					h |= i;
+				} else {
+					h &= ~(long) i;
+				}
+			}
+			return h;
+		}
+
+		public static double floatMix(int n) {
+			double d = 1.0D;
+			float f = 1.0F;
+			for (int i = 0; i < n; i++) {
+				d = d * 1.0001D + i - 0.5D;
+				f = f * 0.999F + i % 7;
+				if (d > 1.0E9D) {
+					d /= 3.0D;
+				}
+				if (f > 1.0E6F) {
+					f %= 1000.0F;
+				}
+			}
+			return d + f;
+		}
+	}
+}
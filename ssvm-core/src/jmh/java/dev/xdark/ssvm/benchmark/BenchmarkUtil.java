@@ -0,0 +1,87 @@
+package dev.xdark.ssvm.benchmark;
+
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.filesystem.FileManager;
+import dev.xdark.ssvm.filesystem.HostFileManager;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Shared setup of benchmarks.
+ *
+ * @author xDark
+ */
+final class BenchmarkUtil {
+
+	private BenchmarkUtil() {
+	}
+
+	/**
+	 * @return booted VM.
+	 */
+	static VirtualMachine newVirtualMachine() {
+		return newVirtualMachine(true);
+	}
+
+	/**
+	 * @param superinstructions Whether instruction sequences should be fused.
+	 * @return booted VM.
+	 */
+	static VirtualMachine newVirtualMachine(boolean superinstructions) {
+		VirtualMachine vm = new VirtualMachine() {
+			@Override
+			protected FileManager createFileManager() {
+				return new HostFileManager();
+			}
+		};
+		vm.getInterface().setSuperinstructions(superinstructions);
+		vm.bootstrap();
+		return vm;
+	}
+
+	/**
+	 * Defines host class in the VM.
+	 *
+	 * @param vm    VM to define the class in.
+	 * @param klass Class to define.
+	 * @return defined class.
+	 */
+	static InstanceClass defineClass(VirtualMachine vm, Class<?> klass) {
+		byte[] bytes;
+		try (InputStream in = klass.getClassLoader().getResourceAsStream(klass.getName().replace('.', '/') + ".class")) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+			byte[] buf = new byte[1024];
+			int r;
+			while ((r = in.read(buf)) != -1) {
+				out.write(buf, 0, r);
+			}
+			bytes = out.toByteArray();
+		} catch (IOException ex) {
+			throw new RuntimeException(ex);
+		}
+		InstanceClass jc = vm.getOperations().defineClass(vm.getMemoryManager().nullValue(), null, bytes, 0, bytes.length, vm.getMemoryManager().nullValue(), "JVM_DefineClass");
+		vm.getOperations().initialize(jc);
+		return jc;
+	}
+
+	/**
+	 * Counts instruction dispatches of the action.
+	 *
+	 * @param vm     VM to count dispatches in.
+	 * @param action Action to run.
+	 * @return dispatch counts.
+	 */
+	static DispatchCounter countDispatches(VirtualMachine vm, Runnable action) {
+		DispatchCounter counter = new DispatchCounter();
+		vm.getInterface().registerInstructionInterceptor(counter);
+		try {
+			action.run();
+		} finally {
+			vm.getInterface().removeInstructionInterceptor(counter);
+		}
+		return counter;
+	}
+}
@@ -0,0 +1,60 @@
+package dev.xdark.ssvm.benchmark;
+
+import dev.xdark.ssvm.api.InstructionInterceptor;
+import dev.xdark.ssvm.asm.FusedInsnNode;
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.Result;
+import org.objectweb.asm.tree.AbstractInsnNode;
+
+/**
+ * Counts interpreter dispatches.
+ * <p>
+ * Interceptors see every instruction of a superinstruction,
+ * so instructions that run in the dispatch
+ * of a superinstruction are not counted as dispatches.
+ *
+ * @author xDark
+ */
+final class DispatchCounter implements InstructionInterceptor {
+
+	private long instructions;
+	private long dispatches;
+	private ExecutionContext<?> fused;
+	private int next;
+	private int end;
+
+	@Override
+	public Result intercept(ExecutionContext<?> ctx, AbstractInsnNode insn) {
+		instructions++;
+		int position = ctx.getInsnPosition() - 1;
+		if (ctx == fused && position == next && position < end) {
+			next++;
+			return Result.CONTINUE;
+		}
+		dispatches++;
+		AbstractInsnNode current = ctx.getMethod().getCode().getInstruction(position);
+		if (current instanceof FusedInsnNode) {
+			fused = ctx;
+			next = position + 1;
+			end = position + ((FusedInsnNode) current).length();
+		} else {
+			fused = null;
+		}
+		return Result.CONTINUE;
+	}
+
+	/**
+	 * @return amount of executed instructions.
+	 */
+	long instructions() {
+		return instructions;
+	}
+
+	/**
+	 * @return amount of dispatches the interpreter
+	 * makes without instruction interceptors.
+	 */
+	long dispatches() {
+		return dispatches;
+	}
+}
@@ -0,0 +1,168 @@
+package dev.xdark.ssvm.benchmark;
+
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.execution.Locals;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import dev.xdark.ssvm.operation.VMOperations;
+import dev.xdark.ssvm.value.ArrayValue;
+import dev.xdark.ssvm.value.InstanceValue;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loops that benefit from superinstructions.
+ * Besides time, reports interpreter dispatches
+ * per loop iteration.
+ *
+ * @author xDark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SuperinstructionBenchmark {
+
+	private static final int LENGTH = 1024;
+
+	@Param({"true", "false"})
+	public boolean superinstructions;
+
+	private VirtualMachine vm;
+	private JavaMethod sumArray;
+	private JavaMethod countUp;
+	private JavaMethod sumField;
+	private ArrayValue array;
+	private InstanceValue counter;
+	private long sumArrayDispatches;
+	private long countUpDispatches;
+	private long sumFieldDispatches;
+
+	@Setup
+	public void setup() {
+		VirtualMachine vm = BenchmarkUtil.newVirtualMachine(superinstructions);
+		this.vm = vm;
+		VMOperations ops = vm.getOperations();
+		InstanceClass guest = BenchmarkUtil.defineClass(vm, Guest.class);
+		sumArray = guest.getMethod("sumArray", "([I)I");
+		countUp = guest.getMethod("countUp", "(I)I");
+		sumField = guest.getMethod("sumField", "(I)I");
+		ArrayValue array = ops.allocateIntArray(LENGTH);
+		for (int i = 0; i < LENGTH; i++) {
+			ops.arrayStoreInt(array, i, i);
+		}
+		this.array = array;
+		counter = ops.allocateInstance(guest);
+		// Run once, so that all instructions get rewritten
+		// before the dispatches are counted
+		sumArray();
+		countUp();
+		sumField();
+		sumArrayDispatches = countDispatches(this::sumArray);
+		countUpDispatches = countDispatches(this::countUp);
+		sumFieldDispatches = countDispatches(this::sumField);
+	}
+
+	private long countDispatches(Runnable action) {
+		DispatchCounter counter = BenchmarkUtil.countDispatches(vm, action);
+		long dispatches = counter.dispatches();
+		// Without fusion every instruction is a dispatch
+		if (superinstructions ? dispatches >= counter.instructions() : dispatches != counter.instructions()) {
+			throw new IllegalStateException("Unexpected dispatch count: " + dispatches + '/' + counter.instructions());
+		}
+		return dispatches;
+	}
+
+	@Benchmark
+	public int sumArray(Dispatches dispatches) {
+		dispatches.dispatchesPerIteration = (double) sumArrayDispatches / LENGTH;
+		return sumArray();
+	}
+
+	@Benchmark
+	public int countUp(Dispatches dispatches) {
+		dispatches.dispatchesPerIteration = (double) countUpDispatches / LENGTH;
+		return countUp();
+	}
+
+	@Benchmark
+	public int sumField(Dispatches dispatches) {
+		dispatches.dispatchesPerIteration = (double) sumFieldDispatches / LENGTH;
+		return sumField();
+	}
+
+	private int sumArray() {
+		Locals locals = vm.getThreadStorage().newLocals(sumArray);
+		locals.setReference(0, array);
+		return vm.getOperations().invokeInt(sumArray, locals);
+	}
+
+	private int countUp() {
+		Locals locals = vm.getThreadStorage().newLocals(countUp);
+		locals.setInt(0, LENGTH);
+		return vm.getOperations().invokeInt(countUp, locals);
+	}
+
+	private int sumField() {
+		Locals locals = vm.getThreadStorage().newLocals(sumField);
+		locals.setReference(0, counter);
+		locals.setInt(1, LENGTH);
+		return vm.getOperations().invokeInt(sumField, locals);
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Dispatches {
+
+		public double dispatchesPerIteration;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			dispatchesPerIteration = 0.0D;
+		}
+	}
+
+	public static final class Guest {
+
+		private int value;
+
+		public static int sumArray(int[] array) {
+			int sum = 0;
+			for (int i = 0; i < array.length; i++) {
+				sum += array[i];
+			}
+			return sum;
+		}
+
+		public static int countUp(int n) {
+			int count = 0;
+			for (int i = 0; i < n; i++) {
+				count += i;
+			}
+			return count;
+		}
+
+		public int sumField(int n) {
+			int sum = 0;
+			for (int i = 0; i < n; i++) {
+				sum += value;
+			}
+			return sum;
+		}
+	}
+}
@@ -7,62 +7,38 @@ import dev.xdark.ssvm.jvmti.event.ClassPrepare;
 import dev.xdark.ssvm.jvmti.event.MethodEnter;
 import dev.xdark.ssvm.jvmti.event.MethodExit;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * JVMTI manager.
+ * <p>
+ * Hooks of all environments are combined into a single
+ * hook per event, which is rebuilt every time an environment
+ * is created, disposed, or changes its hooks.
  *
  * @author xDark
  */
 final class JVMTI implements VMEventCollection {
 
+	private static final ClassPrepare NO_CLASS_PREPARE = klass -> {
+	};
+	private static final ClassLink NO_CLASS_LINK = klass -> {
+	};
+	private static final MethodEnter NO_METHOD_ENTER = ctx -> {
+	};
+	private static final MethodExit NO_METHOD_EXIT = ctx -> {
+	};
 	private final VirtualMachine vm;
-	private final List<JVMTIEnv> environmentList;
-	private final ClassPrepare classPrepare;
-	private final ClassLink classLink;
-	private final MethodEnter methodEnter;
-	private final MethodExit methodExit;
+	private final List<JVMTIEnv> environmentList = new ArrayList<>();
+	private volatile ClassPrepare classPrepare = NO_CLASS_PREPARE;
+	private volatile ClassLink classLink = NO_CLASS_LINK;
+	private volatile MethodEnter methodEnter = NO_METHOD_ENTER;
+	private volatile MethodExit methodExit = NO_METHOD_EXIT;
 
 	JVMTI(VirtualMachine vm) {
 		this.vm = vm;
-		List<JVMTIEnv> environmentList = new CopyOnWriteArrayList<>();
-		this.environmentList = environmentList;
-		// TODO: use method handles here
-		// and possibly split up each event into its own list
-		classPrepare = klass -> {
-			for (JVMTIEnv env : environmentList) {
-				ClassPrepare cfp = env.getClassPrepare();
-				if (cfp != null) {
-					cfp.invoke(klass);
-				}
-			}
-		};
-		classLink = klass -> {
-			for (JVMTIEnv env : environmentList) {
-				ClassLink cfl = env.getClassLink();
-				if (cfl != null) {
-					cfl.invoke(klass);
-				}
-			}
-		};
-		methodEnter = ctx -> {
-			for (JVMTIEnv env : environmentList) {
-				MethodEnter me = env.getMethodEnter();
-				if (me != null) {
-					me.invoke(ctx);
-				}
-			}
-		};
-		methodExit = ctx -> {
-			for (JVMTIEnv env : environmentList) {
-				MethodExit mx = env.getMethodExit();
-				if (mx != null) {
-					mx.invoke(ctx);
-				}
-			}
-		};
 	}
 
 	@Override
@@ -86,26 +62,123 @@ final class JVMTI implements VMEventCollection {
 	}
 
 	JVMTIEnv create() {
-		JVMTIEnv env = new JVMTIEnvImpl(vm, environmentList);
+		JVMTIEnv env = new JVMTIEnvImpl(vm, this);
 		synchronized (environmentList) {
 			environmentList.add(env);
+			update();
 		}
 		return env;
 	}
 
+	private void dispose(JVMTIEnv env) {
+		synchronized (environmentList) {
+			environmentList.remove(env);
+			update();
+		}
+	}
+
+	private void update() {
+		synchronized (environmentList) {
+			List<ClassPrepare> classPrepares = new ArrayList<>();
+			List<ClassLink> classLinks = new ArrayList<>();
+			List<MethodEnter> methodEnters = new ArrayList<>();
+			List<MethodExit> methodExits = new ArrayList<>();
+			for (JVMTIEnv env : environmentList) {
+				addIfPresent(classPrepares, env.getClassPrepare());
+				addIfPresent(classLinks, env.getClassLink());
+				addIfPresent(methodEnters, env.getMethodEnter());
+				addIfPresent(methodExits, env.getMethodExit());
+			}
+			classPrepare = classPrepare(classPrepares);
+			classLink = classLink(classLinks);
+			methodEnter = methodEnter(methodEnters);
+			methodExit = methodExit(methodExits);
+		}
+	}
+
+	private static <T> void addIfPresent(List<T> list, T hook) {
+		if (hook != null) {
+			list.add(hook);
+		}
+	}
+
+	private static ClassPrepare classPrepare(List<ClassPrepare> hooks) {
+		switch (hooks.size()) {
+			case 0:
+				return NO_CLASS_PREPARE;
+			case 1:
+				return hooks.get(0);
+			default:
+				ClassPrepare[] array = hooks.toArray(new ClassPrepare[0]);
+				return klass -> {
+					for (ClassPrepare hook : array) {
+						hook.invoke(klass);
+					}
+				};
+		}
+	}
+
+	private static ClassLink classLink(List<ClassLink> hooks) {
+		switch (hooks.size()) {
+			case 0:
+				return NO_CLASS_LINK;
+			case 1:
+				return hooks.get(0);
+			default:
+				ClassLink[] array = hooks.toArray(new ClassLink[0]);
+				return klass -> {
+					for (ClassLink hook : array) {
+						hook.invoke(klass);
+					}
+				};
+		}
+	}
+
+	private static MethodEnter methodEnter(List<MethodEnter> hooks) {
+		switch (hooks.size()) {
+			case 0:
+				return NO_METHOD_ENTER;
+			case 1:
+				return hooks.get(0);
+			default:
+				MethodEnter[] array = hooks.toArray(new MethodEnter[0]);
+				return ctx -> {
+					for (MethodEnter hook : array) {
+						hook.invoke(ctx);
+					}
+				};
+		}
+	}
+
+	private static MethodExit methodExit(List<MethodExit> hooks) {
+		switch (hooks.size()) {
+			case 0:
+				return NO_METHOD_EXIT;
+			case 1:
+				return hooks.get(0);
+			default:
+				MethodExit[] array = hooks.toArray(new MethodExit[0]);
+				return ctx -> {
+					for (MethodExit hook : array) {
+						hook.invoke(ctx);
+					}
+				};
+		}
+	}
+
 	private static final class JVMTIEnvImpl implements JVMTIEnv {
 
 		private final AtomicBoolean disposed = new AtomicBoolean();
 		private final VirtualMachine vm;
-		private final List<JVMTIEnv> environmentList;
+		private final JVMTI jvmti;
 		private ClassPrepare classPrepare;
 		private ClassLink classLink;
 		private MethodEnter methodEnter;
 		private MethodExit methodExit;
 
-		JVMTIEnvImpl(VirtualMachine vm, List<JVMTIEnv> environmentList) {
+		JVMTIEnvImpl(VirtualMachine vm, JVMTI jvmti) {
 			this.vm = vm;
-			this.environmentList = environmentList;
+			this.jvmti = jvmti;
 		}
 
 		@Override
@@ -116,21 +189,25 @@ final class JVMTI implements VMEventCollection {
 		@Override
 		public void setClassPrepare(ClassPrepare cfp) {
 			classPrepare = cfp;
+			jvmti.update();
 		}
 
 		@Override
 		public void setClassLink(ClassLink cl) {
 			classLink = cl;
+			jvmti.update();
 		}
 
 		@Override
 		public void setMethodEnter(MethodEnter methodEnter) {
 			this.methodEnter = methodEnter;
+			jvmti.update();
 		}
 
 		@Override
 		public void setMethodExit(MethodExit methodExit) {
 			this.methodExit = methodExit;
+			jvmti.update();
 		}
 
 		@Override
@@ -156,9 +233,7 @@ final class JVMTI implements VMEventCollection {
 		@Override
 		public void close() {
 			if (disposed.compareAndSet(false, true)) {
-				synchronized (environmentList) {
-					environmentList.remove(this);
-				}
+				jvmti.dispose(this);
 			}
 		}
 	}
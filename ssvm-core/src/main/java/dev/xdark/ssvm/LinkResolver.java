@@ -46,6 +46,28 @@ public final class LinkResolver {
 		return result.value().member().innerValue();
 	}
 
+	/**
+	 * @param type Class to search in.
+	 * @param name Method name.
+	 * @param desc Method descriptor.
+	 * @return resolved method or {@code null},
+	 * if resolution failed.
+	 */
+	public JavaMethod findVirtualMethod(JavaClass type, String name, String desc) {
+		return valueOrNull(delegate.resolveVirtualMethod(type.linkerInfo(), name, desc));
+	}
+
+	/**
+	 * @param type Interface to search in.
+	 * @param name Method name.
+	 * @param desc Method descriptor.
+	 * @return resolved method or {@code null},
+	 * if resolution failed.
+	 */
+	public JavaMethod findInterfaceMethod(JavaClass type, String name, String desc) {
+		return valueOrNull(delegate.resolveInterfaceMethod(type.linkerInfo(), name, desc));
+	}
+
 	public JavaField resolveStaticField(JavaClass type, String name, String desc) {
 		Result<Resolution<JavaClass, JavaField>> result = delegate.resolveStaticField(type.linkerInfo(), name, desc);
 		linkHelper.checkField(type, name, desc, result);
@@ -57,4 +79,8 @@ public final class LinkResolver {
 		linkHelper.checkField(type, name, desc, result);
 		return result.value().member().innerValue();
 	}
+
+	private static JavaMethod valueOrNull(Result<Resolution<JavaClass, JavaMethod>> result) {
+		return result.isSuccess() ? result.value().member().innerValue() : null;
+	}
 }
@@ -6,12 +6,6 @@ import dev.xdark.ssvm.api.VMInterface;
 import dev.xdark.ssvm.asm.Modifier;
 import dev.xdark.ssvm.classloading.ClassLoaderData;
 import dev.xdark.ssvm.execution.asm.ArrayLengthProcessor;
-import dev.xdark.ssvm.execution.asm.BiDoubleProcessor;
-import dev.xdark.ssvm.execution.asm.BiFloatProcessor;
-import dev.xdark.ssvm.execution.asm.BiIntJumpProcessor;
-import dev.xdark.ssvm.execution.asm.BiIntProcessor;
-import dev.xdark.ssvm.execution.asm.BiLongProcessor;
-import dev.xdark.ssvm.execution.asm.BiValueJumpProcessor;
 import dev.xdark.ssvm.execution.asm.BytePushProcessor;
 import dev.xdark.ssvm.execution.asm.CastProcessor;
 import dev.xdark.ssvm.execution.asm.ConstantDoubleProcessor;
@@ -19,9 +13,14 @@ import dev.xdark.ssvm.execution.asm.ConstantFloatProcessor;
 import dev.xdark.ssvm.execution.asm.ConstantIntProcessor;
 import dev.xdark.ssvm.execution.asm.ConstantLongProcessor;
 import dev.xdark.ssvm.execution.asm.ConstantReferenceProcessor;
+import dev.xdark.ssvm.execution.asm.DoubleAddProcessor;
 import dev.xdark.ssvm.execution.asm.DoubleCompareProcessor;
+import dev.xdark.ssvm.execution.asm.DoubleDivisionProcessor;
 import dev.xdark.ssvm.execution.asm.DoubleLoadProcessor;
+import dev.xdark.ssvm.execution.asm.DoubleMultiplyProcessor;
+import dev.xdark.ssvm.execution.asm.DoubleRemainderProcessor;
 import dev.xdark.ssvm.execution.asm.DoubleStoreProcessor;
+import dev.xdark.ssvm.execution.asm.DoubleSubtractProcessor;
 import dev.xdark.ssvm.execution.asm.DoubleToFloatProcessor;
 import dev.xdark.ssvm.execution.asm.DoubleToIntProcessor;
 import dev.xdark.ssvm.execution.asm.DoubleToLongProcessor;
@@ -31,9 +30,14 @@ import dev.xdark.ssvm.execution.asm.Dup2X2Processor;
 import dev.xdark.ssvm.execution.asm.DupProcessor;
 import dev.xdark.ssvm.execution.asm.DupX1Processor;
 import dev.xdark.ssvm.execution.asm.DupX2Processor;
+import dev.xdark.ssvm.execution.asm.FloatAddProcessor;
 import dev.xdark.ssvm.execution.asm.FloatCompareProcessor;
+import dev.xdark.ssvm.execution.asm.FloatDivisionProcessor;
 import dev.xdark.ssvm.execution.asm.FloatLoadProcessor;
+import dev.xdark.ssvm.execution.asm.FloatMultiplyProcessor;
+import dev.xdark.ssvm.execution.asm.FloatRemainderProcessor;
 import dev.xdark.ssvm.execution.asm.FloatStoreProcessor;
+import dev.xdark.ssvm.execution.asm.FloatSubtractProcessor;
 import dev.xdark.ssvm.execution.asm.FloatToDoubleProcessor;
 import dev.xdark.ssvm.execution.asm.FloatToIntProcessor;
 import dev.xdark.ssvm.execution.asm.FloatToLongProcessor;
@@ -41,17 +45,37 @@ import dev.xdark.ssvm.execution.asm.GetFieldProcessor;
 import dev.xdark.ssvm.execution.asm.GetStaticProcessor;
 import dev.xdark.ssvm.execution.asm.GotoProcessor;
 import dev.xdark.ssvm.execution.asm.InstanceofProcessor;
+import dev.xdark.ssvm.execution.asm.IntAddProcessor;
+import dev.xdark.ssvm.execution.asm.IntAndProcessor;
 import dev.xdark.ssvm.execution.asm.IntDivisionProcessor;
-import dev.xdark.ssvm.execution.asm.IntJumpProcessor;
+import dev.xdark.ssvm.execution.asm.IntEqualJumpProcessor;
+import dev.xdark.ssvm.execution.asm.IntEqualZeroJumpProcessor;
+import dev.xdark.ssvm.execution.asm.IntGreaterOrEqualJumpProcessor;
+import dev.xdark.ssvm.execution.asm.IntGreaterOrEqualZeroJumpProcessor;
+import dev.xdark.ssvm.execution.asm.IntGreaterThanJumpProcessor;
+import dev.xdark.ssvm.execution.asm.IntGreaterThanZeroJumpProcessor;
+import dev.xdark.ssvm.execution.asm.IntLessOrEqualJumpProcessor;
+import dev.xdark.ssvm.execution.asm.IntLessOrEqualZeroJumpProcessor;
+import dev.xdark.ssvm.execution.asm.IntLessThanJumpProcessor;
+import dev.xdark.ssvm.execution.asm.IntLessThanZeroJumpProcessor;
 import dev.xdark.ssvm.execution.asm.IntLoadProcessor;
+import dev.xdark.ssvm.execution.asm.IntMultiplyProcessor;
+import dev.xdark.ssvm.execution.asm.IntNotEqualJumpProcessor;
+import dev.xdark.ssvm.execution.asm.IntNotEqualZeroJumpProcessor;
+import dev.xdark.ssvm.execution.asm.IntOrProcessor;
 import dev.xdark.ssvm.execution.asm.IntRemainderProcessor;
+import dev.xdark.ssvm.execution.asm.IntShiftLeftProcessor;
+import dev.xdark.ssvm.execution.asm.IntShiftRightProcessor;
 import dev.xdark.ssvm.execution.asm.IntStoreProcessor;
+import dev.xdark.ssvm.execution.asm.IntSubtractProcessor;
 import dev.xdark.ssvm.execution.asm.IntToByteProcessor;
 import dev.xdark.ssvm.execution.asm.IntToCharProcessor;
 import dev.xdark.ssvm.execution.asm.IntToDoubleProcessor;
 import dev.xdark.ssvm.execution.asm.IntToFloatProcessor;
 import dev.xdark.ssvm.execution.asm.IntToLongProcessor;
 import dev.xdark.ssvm.execution.asm.IntToShortProcessor;
+import dev.xdark.ssvm.execution.asm.IntUnsignedShiftRightProcessor;
+import dev.xdark.ssvm.execution.asm.IntXorProcessor;
 import dev.xdark.ssvm.execution.asm.InterfaceCallProcessor;
 import dev.xdark.ssvm.execution.asm.InvokeDynamicLinkerProcessor;
 import dev.xdark.ssvm.execution.asm.JSRProcessor;
@@ -63,15 +87,23 @@ import dev.xdark.ssvm.execution.asm.LoadArrayIntProcessor;
 import dev.xdark.ssvm.execution.asm.LoadArrayLongProcessor;
 import dev.xdark.ssvm.execution.asm.LoadArrayShortProcessor;
 import dev.xdark.ssvm.execution.asm.LoadArrayValueProcessor;
+import dev.xdark.ssvm.execution.asm.LongAddProcessor;
+import dev.xdark.ssvm.execution.asm.LongAndProcessor;
 import dev.xdark.ssvm.execution.asm.LongCompareProcessor;
 import dev.xdark.ssvm.execution.asm.LongDivisionProcessor;
-import dev.xdark.ssvm.execution.asm.LongIntProcessor;
 import dev.xdark.ssvm.execution.asm.LongLoadProcessor;
+import dev.xdark.ssvm.execution.asm.LongMultiplyProcessor;
+import dev.xdark.ssvm.execution.asm.LongOrProcessor;
 import dev.xdark.ssvm.execution.asm.LongRemainderProcessor;
+import dev.xdark.ssvm.execution.asm.LongShiftLeftProcessor;
+import dev.xdark.ssvm.execution.asm.LongShiftRightProcessor;
 import dev.xdark.ssvm.execution.asm.LongStoreProcessor;
+import dev.xdark.ssvm.execution.asm.LongSubtractProcessor;
 import dev.xdark.ssvm.execution.asm.LongToDoubleProcessor;
 import dev.xdark.ssvm.execution.asm.LongToFloatProcessor;
 import dev.xdark.ssvm.execution.asm.LongToIntProcessor;
+import dev.xdark.ssvm.execution.asm.LongUnsignedShiftRightProcessor;
+import dev.xdark.ssvm.execution.asm.LongXorProcessor;
 import dev.xdark.ssvm.execution.asm.LookupSwitchProcessor;
 import dev.xdark.ssvm.execution.asm.MonitorEnterProcessor;
 import dev.xdark.ssvm.execution.asm.MonitorExitProcessor;
@@ -81,13 +113,17 @@ import dev.xdark.ssvm.execution.asm.NegativeFloatProcessor;
 import dev.xdark.ssvm.execution.asm.NegativeIntProcessor;
 import dev.xdark.ssvm.execution.asm.NegativeLongProcessor;
 import dev.xdark.ssvm.execution.asm.NewProcessor;
+import dev.xdark.ssvm.execution.asm.NonNullJumpProcessor;
 import dev.xdark.ssvm.execution.asm.NopProcessor;
+import dev.xdark.ssvm.execution.asm.NullJumpProcessor;
 import dev.xdark.ssvm.execution.asm.ObjectArrayProcessor;
 import dev.xdark.ssvm.execution.asm.Pop2Processor;
 import dev.xdark.ssvm.execution.asm.PopProcessor;
 import dev.xdark.ssvm.execution.asm.PrimitiveArrayProcessor;
 import dev.xdark.ssvm.execution.asm.PutFieldProcessor;
 import dev.xdark.ssvm.execution.asm.PutStaticProcessor;
+import dev.xdark.ssvm.execution.asm.ReferenceEqualJumpProcessor;
+import dev.xdark.ssvm.execution.asm.ReferenceNotEqualJumpProcessor;
 import dev.xdark.ssvm.execution.asm.ReferenceStoreProcessor;
 import dev.xdark.ssvm.execution.asm.RetProcessor;
 import dev.xdark.ssvm.execution.asm.ReturnDoubleProcessor;
@@ -110,11 +146,15 @@ import dev.xdark.ssvm.execution.asm.StoreArrayValueProcessor;
 import dev.xdark.ssvm.execution.asm.SwapProcessor;
 import dev.xdark.ssvm.execution.asm.TableSwitchProcessor;
 import dev.xdark.ssvm.execution.asm.ThrowProcessor;
-import dev.xdark.ssvm.execution.asm.ValueJumpProcessor;
 import dev.xdark.ssvm.execution.asm.ValueLoadProcessor;
 import dev.xdark.ssvm.execution.asm.VariableIncrementProcessor;
 import dev.xdark.ssvm.execution.asm.VirtualCallProcessor;
 import dev.xdark.ssvm.execution.rewrite.array.BooleanArrayProcessor;
+import dev.xdark.ssvm.execution.rewrite.fused.IncrementJumpProcessor;
+import dev.xdark.ssvm.execution.rewrite.fused.LocalArrayLengthProcessor;
+import dev.xdark.ssvm.execution.rewrite.fused.LocalFieldLoadProcessor;
+import dev.xdark.ssvm.execution.rewrite.fused.LocalIntArrayLoadProcessor;
+import dev.xdark.ssvm.execution.rewrite.fused.LocalIntCompareJumpProcessor;
 import dev.xdark.ssvm.execution.rewrite.array.ByteArrayProcessor;
 import dev.xdark.ssvm.execution.rewrite.array.CharArrayProcessor;
 import dev.xdark.ssvm.execution.rewrite.array.DoubleArrayProcessor;
@@ -157,8 +197,10 @@ import dev.xdark.ssvm.execution.rewrite.field.PutStaticShortProcessor;
 import dev.xdark.ssvm.execution.rewrite.array.ReferenceArrayProcessor;
 import dev.xdark.ssvm.execution.rewrite.array.ShortArrayProcessor;
 import dev.xdark.ssvm.execution.rewrite.VMCastProcessor;
+import dev.xdark.ssvm.execution.rewrite.VMInstanceofProcessor;
 import dev.xdark.ssvm.execution.rewrite.method.VMInterfaceCallProcessor;
 import dev.xdark.ssvm.execution.rewrite.VMNewProcessor;
+import dev.xdark.ssvm.execution.rewrite.VMSwitchProcessor;
 import dev.xdark.ssvm.execution.rewrite.method.VMSpecialCallProcessor;
 import dev.xdark.ssvm.execution.rewrite.method.VMStaticCallProcessor;
 import dev.xdark.ssvm.execution.rewrite.method.VMVirtualCallProcessor;
@@ -172,7 +214,6 @@ import dev.xdark.ssvm.mirror.type.JavaClass;
 import dev.xdark.ssvm.natives.*;
 import dev.xdark.ssvm.symbol.Symbols;
 import dev.xdark.ssvm.util.CloseableLock;
-import dev.xdark.ssvm.value.ObjectValue;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.FieldNode;
 import org.objectweb.asm.tree.MethodNode;
@@ -183,6 +224,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
+import static dev.xdark.ssvm.asm.VMOpcodes.VM_ALOAD_ARRAYLENGTH;
+import static dev.xdark.ssvm.asm.VMOpcodes.VM_ALOAD_GETFIELD;
+import static dev.xdark.ssvm.asm.VMOpcodes.VM_IINC_GOTO;
+import static dev.xdark.ssvm.asm.VMOpcodes.VM_ILOAD_IALOAD;
+import static dev.xdark.ssvm.asm.VMOpcodes.VM_INSTANCEOF;
+import static dev.xdark.ssvm.asm.VMOpcodes.VM_ILOAD_ILOAD_IF_ICMPEQ;
+import static dev.xdark.ssvm.asm.VMOpcodes.VM_ILOAD_ILOAD_IF_ICMPGE;
+import static dev.xdark.ssvm.asm.VMOpcodes.VM_ILOAD_ILOAD_IF_ICMPGT;
+import static dev.xdark.ssvm.asm.VMOpcodes.VM_ILOAD_ILOAD_IF_ICMPLE;
+import static dev.xdark.ssvm.asm.VMOpcodes.VM_ILOAD_ILOAD_IF_ICMPLT;
+import static dev.xdark.ssvm.asm.VMOpcodes.VM_ILOAD_ILOAD_IF_ICMPNE;
 import static dev.xdark.ssvm.asm.VMOpcodes.VM_BOOLEAN_NEW_ARRAY;
 import static dev.xdark.ssvm.asm.VMOpcodes.VM_BYTE_NEW_ARRAY;
 import static dev.xdark.ssvm.asm.VMOpcodes.VM_CHAR_NEW_ARRAY;
@@ -240,6 +292,7 @@ import static dev.xdark.ssvm.asm.VMOpcodes.VM_PUTSTATIC_REFERENCE;
 import static dev.xdark.ssvm.asm.VMOpcodes.VM_PUTSTATIC_SHORT;
 import static dev.xdark.ssvm.asm.VMOpcodes.VM_REFERENCE_NEW_ARRAY;
 import static dev.xdark.ssvm.asm.VMOpcodes.VM_SHORT_NEW_ARRAY;
+import static dev.xdark.ssvm.asm.VMOpcodes.VM_SWITCH;
 import static org.objectweb.asm.Opcodes.AALOAD;
 import static org.objectweb.asm.Opcodes.AASTORE;
 import static org.objectweb.asm.Opcodes.ACONST_NULL;
@@ -675,49 +728,49 @@ public final class NativeJava {
 		vmi.setProcessor(DUP2_X2, new Dup2X2Processor());
 		vmi.setProcessor(SWAP, new SwapProcessor());
 
-		vmi.setProcessor(IADD, new BiIntProcessor(Integer::sum));
-		vmi.setProcessor(LADD, new BiLongProcessor(Long::sum));
-		vmi.setProcessor(FADD, new BiFloatProcessor(Float::sum));
-		vmi.setProcessor(DADD, new BiDoubleProcessor(Double::sum));
+		vmi.setProcessor(IADD, new IntAddProcessor());
+		vmi.setProcessor(LADD, new LongAddProcessor());
+		vmi.setProcessor(FADD, new FloatAddProcessor());
+		vmi.setProcessor(DADD, new DoubleAddProcessor());
 
-		vmi.setProcessor(ISUB, new BiIntProcessor((v1, v2) -> v1 - v2));
-		vmi.setProcessor(LSUB, new BiLongProcessor((v1, v2) -> v1 - v2));
-		vmi.setProcessor(FSUB, new BiFloatProcessor((v1, v2) -> v1 - v2));
-		vmi.setProcessor(DSUB, new BiDoubleProcessor((v1, v2) -> v1 - v2));
+		vmi.setProcessor(ISUB, new IntSubtractProcessor());
+		vmi.setProcessor(LSUB, new LongSubtractProcessor());
+		vmi.setProcessor(FSUB, new FloatSubtractProcessor());
+		vmi.setProcessor(DSUB, new DoubleSubtractProcessor());
 
-		vmi.setProcessor(IMUL, new BiIntProcessor((v1, v2) -> v1 * v2));
-		vmi.setProcessor(LMUL, new BiLongProcessor((v1, v2) -> v1 * v2));
-		vmi.setProcessor(FMUL, new BiFloatProcessor((v1, v2) -> v1 * v2));
-		vmi.setProcessor(DMUL, new BiDoubleProcessor((v1, v2) -> v1 * v2));
+		vmi.setProcessor(IMUL, new IntMultiplyProcessor());
+		vmi.setProcessor(LMUL, new LongMultiplyProcessor());
+		vmi.setProcessor(FMUL, new FloatMultiplyProcessor());
+		vmi.setProcessor(DMUL, new DoubleMultiplyProcessor());
 
 		vmi.setProcessor(IDIV, new IntDivisionProcessor());
 		vmi.setProcessor(LDIV, new LongDivisionProcessor());
-		vmi.setProcessor(FDIV, new BiFloatProcessor((v1, v2) -> v1 / v2));
-		vmi.setProcessor(DDIV, new BiDoubleProcessor((v1, v2) -> v1 / v2));
+		vmi.setProcessor(FDIV, new FloatDivisionProcessor());
+		vmi.setProcessor(DDIV, new DoubleDivisionProcessor());
 
 		vmi.setProcessor(IREM, new IntRemainderProcessor());
 		vmi.setProcessor(LREM, new LongRemainderProcessor());
-		vmi.setProcessor(FREM, new BiFloatProcessor((v1, v2) -> v1 % v2));
-		vmi.setProcessor(DREM, new BiDoubleProcessor((v1, v2) -> v1 % v2));
+		vmi.setProcessor(FREM, new FloatRemainderProcessor());
+		vmi.setProcessor(DREM, new DoubleRemainderProcessor());
 
 		vmi.setProcessor(INEG, new NegativeIntProcessor());
 		vmi.setProcessor(LNEG, new NegativeLongProcessor());
 		vmi.setProcessor(FNEG, new NegativeFloatProcessor());
 		vmi.setProcessor(DNEG, new NegativeDoubleProcessor());
 
-		vmi.setProcessor(ISHL, new BiIntProcessor((v1, v2) -> v1 << v2));
-		vmi.setProcessor(LSHL, new LongIntProcessor((v1, v2) -> v1 << v2));
-		vmi.setProcessor(ISHR, new BiIntProcessor((v1, v2) -> v1 >> v2));
-		vmi.setProcessor(LSHR, new LongIntProcessor((v1, v2) -> v1 >> v2));
-		vmi.setProcessor(IUSHR, new BiIntProcessor((v1, v2) -> v1 >>> v2));
-		vmi.setProcessor(LUSHR, new LongIntProcessor((v1, v2) -> v1 >>> v2));
+		vmi.setProcessor(ISHL, new IntShiftLeftProcessor());
+		vmi.setProcessor(LSHL, new LongShiftLeftProcessor());
+		vmi.setProcessor(ISHR, new IntShiftRightProcessor());
+		vmi.setProcessor(LSHR, new LongShiftRightProcessor());
+		vmi.setProcessor(IUSHR, new IntUnsignedShiftRightProcessor());
+		vmi.setProcessor(LUSHR, new LongUnsignedShiftRightProcessor());
 
-		vmi.setProcessor(IAND, new BiIntProcessor((v1, v2) -> v1 & v2));
-		vmi.setProcessor(LAND, new BiLongProcessor((v1, v2) -> v1 & v2));
-		vmi.setProcessor(IOR, new BiIntProcessor((v1, v2) -> v1 | v2));
-		vmi.setProcessor(LOR, new BiLongProcessor((v1, v2) -> v1 | v2));
-		vmi.setProcessor(IXOR, new BiIntProcessor((v1, v2) -> v1 ^ v2));
-		vmi.setProcessor(LXOR, new BiLongProcessor((v1, v2) -> v1 ^ v2));
+		vmi.setProcessor(IAND, new IntAndProcessor());
+		vmi.setProcessor(LAND, new LongAndProcessor());
+		vmi.setProcessor(IOR, new IntOrProcessor());
+		vmi.setProcessor(LOR, new LongOrProcessor());
+		vmi.setProcessor(IXOR, new IntXorProcessor());
+		vmi.setProcessor(LXOR, new LongXorProcessor());
 
 		vmi.setProcessor(IINC, new VariableIncrementProcessor());
 
@@ -743,22 +796,22 @@ public final class NativeJava {
 		vmi.setProcessor(DCMPL, new DoubleCompareProcessor(-1));
 		vmi.setProcessor(DCMPG, new DoubleCompareProcessor(1));
 
-		vmi.setProcessor(IFEQ, new IntJumpProcessor(value -> value == 0));
-		vmi.setProcessor(IFNE, new IntJumpProcessor(value -> value != 0));
-		vmi.setProcessor(IFLT, new IntJumpProcessor(value -> value < 0));
-		vmi.setProcessor(IFGE, new IntJumpProcessor(value -> value >= 0));
-		vmi.setProcessor(IFGT, new IntJumpProcessor(value -> value > 0));
-		vmi.setProcessor(IFLE, new IntJumpProcessor(value -> value <= 0));
+		vmi.setProcessor(IFEQ, new IntEqualZeroJumpProcessor());
+		vmi.setProcessor(IFNE, new IntNotEqualZeroJumpProcessor());
+		vmi.setProcessor(IFLT, new IntLessThanZeroJumpProcessor());
+		vmi.setProcessor(IFGE, new IntGreaterOrEqualZeroJumpProcessor());
+		vmi.setProcessor(IFGT, new IntGreaterThanZeroJumpProcessor());
+		vmi.setProcessor(IFLE, new IntLessOrEqualZeroJumpProcessor());
 
-		vmi.setProcessor(IF_ICMPEQ, new BiIntJumpProcessor((v1, v2) -> v1 == v2));
-		vmi.setProcessor(IF_ICMPNE, new BiIntJumpProcessor((v1, v2) -> v1 != v2));
-		vmi.setProcessor(IF_ICMPLT, new BiIntJumpProcessor((v1, v2) -> v1 < v2));
-		vmi.setProcessor(IF_ICMPGE, new BiIntJumpProcessor((v1, v2) -> v1 >= v2));
-		vmi.setProcessor(IF_ICMPGT, new BiIntJumpProcessor((v1, v2) -> v1 > v2));
-		vmi.setProcessor(IF_ICMPLE, new BiIntJumpProcessor((v1, v2) -> v1 <= v2));
+		vmi.setProcessor(IF_ICMPEQ, new IntEqualJumpProcessor());
+		vmi.setProcessor(IF_ICMPNE, new IntNotEqualJumpProcessor());
+		vmi.setProcessor(IF_ICMPLT, new IntLessThanJumpProcessor());
+		vmi.setProcessor(IF_ICMPGE, new IntGreaterOrEqualJumpProcessor());
+		vmi.setProcessor(IF_ICMPGT, new IntGreaterThanJumpProcessor());
+		vmi.setProcessor(IF_ICMPLE, new IntLessOrEqualJumpProcessor());
 
-		vmi.setProcessor(IF_ACMPEQ, new BiValueJumpProcessor((v1, v2) -> v1 == v2));
-		vmi.setProcessor(IF_ACMPNE, new BiValueJumpProcessor((v1, v2) -> v1 != v2));
+		vmi.setProcessor(IF_ACMPEQ, new ReferenceEqualJumpProcessor());
+		vmi.setProcessor(IF_ACMPNE, new ReferenceNotEqualJumpProcessor());
 
 		vmi.setProcessor(GOTO, new GotoProcessor());
 
@@ -800,8 +853,8 @@ public final class NativeJava {
 
 		vmi.setProcessor(MULTIANEWARRAY, new MultiNewArrayProcessor());
 
-		vmi.setProcessor(IFNONNULL, new ValueJumpProcessor(value -> !value.isNull()));
-		vmi.setProcessor(IFNULL, new ValueJumpProcessor(ObjectValue::isNull));
+		vmi.setProcessor(IFNONNULL, new NonNullJumpProcessor());
+		vmi.setProcessor(IFNULL, new NullJumpProcessor());
 
 		// VM opcodes
 		vmi.setProcessor(VM_DYNAMIC_CALL, new DynamicCallProcessor());
@@ -820,6 +873,8 @@ public final class NativeJava {
 		vmi.setProcessor(VM_INVOKEVIRTUAL, new VMVirtualCallProcessor());
 		vmi.setProcessor(VM_INVOKEINTERFACE, new VMInterfaceCallProcessor());
 		vmi.setProcessor(VM_CHECKCAST, new VMCastProcessor());
+		vmi.setProcessor(VM_INSTANCEOF, new VMInstanceofProcessor());
+		vmi.setProcessor(VM_SWITCH, new VMSwitchProcessor());
 		vmi.setProcessor(VM_GETSTATIC_BOOLEAN, new GetStaticByteProcessor());
 		vmi.setProcessor(VM_GETSTATIC_CHAR, new GetStaticCharProcessor());
 		vmi.setProcessor(VM_GETSTATIC_BYTE, new GetStaticByteProcessor());
@@ -863,6 +918,17 @@ public final class NativeJava {
 		vmi.setProcessor(VM_GETFIELD_LONG, new GetFieldLongProcessor());
 		vmi.setProcessor(VM_GETFIELD_DOUBLE, new GetFieldDoubleProcessor());
 		vmi.setProcessor(VM_GETFIELD_REFERENCE, new GetFieldReferenceProcessor());
+		LocalIntCompareJumpProcessor localIntCompareJump = new LocalIntCompareJumpProcessor();
+		vmi.setProcessor(VM_ILOAD_ILOAD_IF_ICMPEQ, localIntCompareJump);
+		vmi.setProcessor(VM_ILOAD_ILOAD_IF_ICMPNE, localIntCompareJump);
+		vmi.setProcessor(VM_ILOAD_ILOAD_IF_ICMPLT, localIntCompareJump);
+		vmi.setProcessor(VM_ILOAD_ILOAD_IF_ICMPGE, localIntCompareJump);
+		vmi.setProcessor(VM_ILOAD_ILOAD_IF_ICMPGT, localIntCompareJump);
+		vmi.setProcessor(VM_ILOAD_ILOAD_IF_ICMPLE, localIntCompareJump);
+		vmi.setProcessor(VM_IINC_GOTO, new IncrementJumpProcessor());
+		vmi.setProcessor(VM_ILOAD_IALOAD, new LocalIntArrayLoadProcessor());
+		vmi.setProcessor(VM_ALOAD_ARRAYLENGTH, new LocalArrayLengthProcessor());
+		vmi.setProcessor(VM_ALOAD_GETFIELD, new LocalFieldLoadProcessor());
 		//</editor-fold>
 	}
 }
@@ -2,9 +2,13 @@ package dev.xdark.ssvm;
 
 import dev.xdark.jlinker.Resolution;
 import dev.xdark.jlinker.Result;
+import dev.xdark.ssvm.execution.InlineCache;
 import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.DispatchTable;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
 import dev.xdark.ssvm.mirror.type.JavaClass;
 import dev.xdark.ssvm.value.ObjectValue;
+import org.objectweb.asm.Opcodes;
 
 /**
  * Runtime resolver wrapper around jlinker.
@@ -16,6 +20,7 @@ public final class RuntimeResolver {
 	private final VirtualMachine vm;
 	private final LinkHelper linkHelper;
 	private final dev.xdark.jlinker.RuntimeResolver<JavaClass, JavaMethod> delegate;
+	private volatile int version;
 
 	RuntimeResolver(VirtualMachine vm, LinkResolver resolver) {
 		this.vm = vm;
@@ -24,20 +29,97 @@ public final class RuntimeResolver {
 	}
 
 	public JavaMethod resolveVirtualMethod(ObjectValue value, String name, String descriptor) {
+		return resolveVirtualMethod(receiverType(value), name, descriptor);
+	}
+
+	public JavaMethod resolveInterfaceMethod(ObjectValue value, String name, String descriptor) {
+		return resolveInterfaceMethod(receiverType(value), name, descriptor);
+	}
+
+	/**
+	 * Resolves virtual method, consulting call site cache first,
+	 * then the dispatch table slot of the receiver type.
+	 *
+	 * @param value      Receiver.
+	 * @param name       Method name.
+	 * @param descriptor Method descriptor.
+	 * @param cache      Call site cache.
+	 * @return resolved method.
+	 */
+	public JavaMethod resolveVirtualMethod(ObjectValue value, String name, String descriptor, InlineCache cache) {
+		JavaClass type = receiverType(value);
+		int version = this.version;
+		JavaMethod method = cache.get(type, version);
+		if (method == null) {
+			method = dispatch(type, name, descriptor, cache, false);
+			cache.put(type, method, version);
+		}
+		return method;
+	}
+
+	/**
+	 * Resolves interface method, consulting call site cache first,
+	 * then the dispatch table slot of the receiver type.
+	 *
+	 * @param value      Receiver.
+	 * @param name       Method name.
+	 * @param descriptor Method descriptor.
+	 * @param cache      Call site cache.
+	 * @return resolved method.
+	 */
+	public JavaMethod resolveInterfaceMethod(ObjectValue value, String name, String descriptor, InlineCache cache) {
+		JavaClass type = receiverType(value);
+		int version = this.version;
+		JavaMethod method = cache.get(type, version);
+		if (method == null) {
+			method = dispatch(type, name, descriptor, cache, true);
+			cache.put(type, method, version);
+		}
+		return method;
+	}
+
+	/**
+	 * Invalidates all call site caches.
+	 * Must be called whenever class hierarchy changes.
+	 */
+	public synchronized void invalidateCaches() {
+		version++;
+	}
+
+	private JavaMethod dispatch(JavaClass type, String name, String descriptor, InlineCache cache, boolean itf) {
+		int index = cache.getVTableIndex();
+		if (index != -1 && type instanceof InstanceClass) {
+			DispatchTable dispatchTable = ((InstanceClass) type).dispatchTable();
+			if (dispatchTable != null) {
+				InstanceClass itable = cache.getITable();
+				JavaMethod[] table = itable == null ? dispatchTable.vtable() : dispatchTable.itable(itable);
+				if (table != null && index < table.length) {
+					JavaMethod method = table[index];
+					if (method != null && (method.getModifiers() & Opcodes.ACC_ABSTRACT) == 0) {
+						return method;
+					}
+				}
+			}
+		}
+		// Receivers without tables, e.g. arrays, and slots
+		// without a method to select, which must throw
+		return itf ? resolveInterfaceMethod(type, name, descriptor) : resolveVirtualMethod(type, name, descriptor);
+	}
+
+	private JavaClass receiverType(ObjectValue value) {
 		if (value.isNull()) {
 			vm.getOperations().throwException(vm.getSymbols().java_lang_NullPointerException());
 		}
-		JavaClass type = value.getJavaClass();
+		return value.getJavaClass();
+	}
+
+	private JavaMethod resolveVirtualMethod(JavaClass type, String name, String descriptor) {
 		Result<Resolution<JavaClass, JavaMethod>> result = delegate.resolveVirtualMethod(type.linkerInfo(), name, descriptor);
 		linkHelper.checkMethod(type, name, descriptor, result);
 		return result.value().member().innerValue();
 	}
 
-	public JavaMethod resolveInterfaceMethod(ObjectValue value, String name, String descriptor) {
-		if (value.isNull()) {
-			vm.getOperations().throwException(vm.getSymbols().java_lang_NullPointerException());
-		}
-		JavaClass type = value.getJavaClass();
+	private JavaMethod resolveInterfaceMethod(JavaClass type, String name, String descriptor) {
 		Result<Resolution<JavaClass, JavaMethod>> result = delegate.resolveInterfaceMethod(type.linkerInfo(), name, descriptor);
 		linkHelper.checkMethod(type, name, descriptor, result);
 		return result.value().member().innerValue();
@@ -26,7 +26,7 @@ import dev.xdark.ssvm.jvm.SimpleManagementInterface;
 import dev.xdark.ssvm.jvmti.JVMTIEnv;
 import dev.xdark.ssvm.jvmti.VMEventCollection;
 import dev.xdark.ssvm.memory.allocation.MemoryAllocator;
-import dev.xdark.ssvm.memory.allocation.NavigableMemoryAllocator;
+import dev.xdark.ssvm.memory.allocation.SlabMemoryAllocator;
 import dev.xdark.ssvm.memory.management.MemoryManager;
 import dev.xdark.ssvm.memory.management.SimpleMemoryManager;
 import dev.xdark.ssvm.memory.management.SimpleStringPool;
@@ -38,6 +38,7 @@ import dev.xdark.ssvm.mirror.type.InstanceClass;
 import dev.xdark.ssvm.mirror.type.JavaClass;
 import dev.xdark.ssvm.natives.IntrinsicsNatives;
 import dev.xdark.ssvm.operation.VMOperations;
+import dev.xdark.ssvm.profiler.SamplingProfiler;
 import dev.xdark.ssvm.symbol.Primitives;
 import dev.xdark.ssvm.symbol.Symbols;
 import dev.xdark.ssvm.synchronizer.ObjectSynchronizer;
@@ -88,6 +89,7 @@ public class VirtualMachine implements VMEventCollection {
 	@Delegate(types = VMEventCollection.class)
 	private final JVMTI jvmti;
 	private final VMOperations operations;
+	private final SamplingProfiler samplingProfiler;
 	private Symbols symbols;
 	private Primitives primitives;
 	private volatile InstanceValue systemThreadGroup;
@@ -124,6 +126,7 @@ public class VirtualMachine implements VMEventCollection {
 		reflection = new Reflection(this);
 		jvmti = new JVMTI(this);
 		operations = new VMOperations(this);
+		samplingProfiler = new SamplingProfiler(this);
 	}
 
 	protected VMInterface createVMInterface() {
@@ -131,7 +134,7 @@ public class VirtualMachine implements VMEventCollection {
 	}
 
 	protected MemoryAllocator createMemoryAllocator() {
-		return new NavigableMemoryAllocator();
+		return new SlabMemoryAllocator();
 	}
 
 	protected ObjectSynchronizer createObjectSynchronizer() {
@@ -420,6 +423,13 @@ public class VirtualMachine implements VMEventCollection {
 		return classStorage;
 	}
 
+	/**
+	 * @return Sampling profiler.
+	 */
+	public SamplingProfiler getSamplingProfiler() {
+		return samplingProfiler;
+	}
+
 	/**
 	 * @inheritDoc
 	 */
@@ -0,0 +1,26 @@
+package dev.xdark.ssvm.api;
+
+import dev.xdark.ssvm.execution.ExecutionBudget;
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.Result;
+
+/**
+ * Called when a thread exhausts its {@link ExecutionBudget}.
+ *
+ * @author xDark
+ */
+public interface BudgetHandler {
+
+	/**
+	 * Handles exhausted budget.
+	 * The handler may throw an exception to abort the execution,
+	 * or refill the budget, optionally yielding to other threads,
+	 * and continue.
+	 *
+	 * @param ctx    Context of the method being executed.
+	 * @param budget Exhausted budget.
+	 * @return {@link Result#CONTINUE} to continue execution,
+	 * {@link Result#ABORT} to exit the method without a result.
+	 */
+	Result handle(ExecutionContext<?> ctx, ExecutionBudget budget);
+}
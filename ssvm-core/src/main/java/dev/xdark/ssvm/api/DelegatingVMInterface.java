@@ -1,7 +1,9 @@
 package dev.xdark.ssvm.api;
 
+import dev.xdark.ssvm.execution.ExecutionBudget;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.Result;
 import dev.xdark.ssvm.mirror.member.JavaMethod;
 import dev.xdark.ssvm.mirror.type.InstanceClass;
 import org.objectweb.asm.tree.AbstractInsnNode;
@@ -94,6 +96,26 @@ public class DelegatingVMInterface implements VMInterface {
 		delegate.removeMethodExitListener(listener);
 	}
 
+	@Override
+	public void setProfiling(boolean profiling) {
+		delegate.setProfiling(profiling);
+	}
+
+	@Override
+	public boolean isProfiling() {
+		return delegate.isProfiling();
+	}
+
+	@Override
+	public void setSuperinstructions(boolean superinstructions) {
+		delegate.setSuperinstructions(superinstructions);
+	}
+
+	@Override
+	public boolean isSuperinstructions() {
+		return delegate.isSuperinstructions();
+	}
+
 	@Override
 	public List<InstructionInterceptor> getInstructionInterceptors() {
 		return delegate.getInstructionInterceptors();
@@ -120,8 +142,8 @@ public class DelegatingVMInterface implements VMInterface {
 	}
 
 	@Override
-	public void setMaxIterationsHandler(Consumer<ExecutionContext<?>> maxIterationsHandler) {
-		delegate.setMaxIterationsHandler(maxIterationsHandler);
+	public void setBudgetHandler(BudgetHandler budgetHandler) {
+		delegate.setBudgetHandler(budgetHandler);
 	}
 
 	@Override
@@ -135,7 +157,7 @@ public class DelegatingVMInterface implements VMInterface {
 	}
 
 	@Override
-	public void handleMaxInterations(ExecutionContext<?> ctx) {
-		delegate.handleMaxInterations(ctx);
+	public Result handleBudgetExhausted(ExecutionContext<?> ctx, ExecutionBudget budget) {
+		return delegate.handleBudgetExhausted(ctx, budget);
 	}
 }
\ No newline at end of file
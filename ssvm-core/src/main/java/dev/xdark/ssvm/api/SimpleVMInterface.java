@@ -1,7 +1,9 @@
 package dev.xdark.ssvm.api;
 
+import dev.xdark.ssvm.execution.ExecutionBudget;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.Result;
 import dev.xdark.ssvm.mirror.member.JavaMethod;
 import dev.xdark.ssvm.mirror.type.InstanceClass;
 import org.objectweb.asm.tree.AbstractInsnNode;
@@ -16,17 +18,25 @@ import java.util.function.Consumer;
  */
 public class SimpleVMInterface implements VMInterface {
 	private static final int MAX_INSNS = 1024;
+	private static final MethodEnterListener NO_ENTER = ctx -> {
+	};
+	private static final MethodExitListener NO_EXIT = ctx -> {
+	};
 	private final InstructionProcessor[] processors = new InstructionProcessor[MAX_INSNS];
-	private final Map<JavaMethod, MethodInvoker> invokerMap = new HashMap<>();
 	private final List<MethodEnterListener> methodEnters = new ArrayList<>();
 	private final List<MethodExitListener> methodExits = new ArrayList<>();
 	private final List<MethodEnterListener> methodEntersView = Collections.unmodifiableList(methodEnters);
 	private final List<MethodExitListener> methodExitsView = Collections.unmodifiableList(methodExits);
+	// Listeners combined into one, rebuilt on every change
+	private volatile MethodEnterListener methodEnter = NO_ENTER;
+	private volatile MethodExitListener methodExit = NO_EXIT;
 	private final List<InstructionInterceptor> instructionInterceptors = new ArrayList<>();
 	private final List<InstructionInterceptor> instructionInterceptorsView = Collections.unmodifiableList(instructionInterceptors);
+	private volatile boolean profiling;
+	private volatile boolean superinstructions = true;
 	private Consumer<ExecutionContext<?>> linkageErrorHandler = SimpleVMInterface::handleLinkageError0;
 	private Consumer<ExecutionContext<?>> abstractMethodHandler = SimpleVMInterface::handleAbstractMethodError0;
-	private Consumer<ExecutionContext<?>> maxIterationsHandler = SimpleVMInterface::handleMaxIterations0;
+	private BudgetHandler budgetHandler = SimpleVMInterface::handleBudgetExhausted0;
 
 	public SimpleVMInterface() {
 		Arrays.fill(processors, new UnknownInstructionProcessor());
@@ -49,12 +59,12 @@ public class SimpleVMInterface implements VMInterface {
 
 	@Override
 	public MethodInvoker getInvoker(JavaMethod method) {
-		return invokerMap.get(method);
+		return method.getInvoker();
 	}
 
 	@Override
 	public void setInvoker(JavaMethod method, MethodInvoker invoker) {
-		invokerMap.put(method, invoker);
+		method.setInvoker(invoker);
 	}
 
 	@Override
@@ -69,16 +79,12 @@ public class SimpleVMInterface implements VMInterface {
 
 	@Override
 	public void onMethodEnter(ExecutionContext<?> ctx) {
-		for (MethodEnterListener listener : methodEnters) {
-			listener.handle(ctx);
-		}
+		methodEnter.handle(ctx);
 	}
 
 	@Override
 	public void onMethodExit(ExecutionContext<?> ctx) {
-		for (MethodExitListener listener : methodExits) {
-			listener.handle(ctx);
-		}
+		methodExit.handle(ctx);
 	}
 
 	@Override
@@ -92,23 +98,47 @@ public class SimpleVMInterface implements VMInterface {
 	}
 
 	@Override
-	public void registerMethodEnterListener(MethodEnterListener listener) {
+	public synchronized void registerMethodEnterListener(MethodEnterListener listener) {
 		methodEnters.add(listener);
+		updateMethodEnter();
 	}
 
 	@Override
-	public void registerMethodExitListener(MethodExitListener listener) {
+	public synchronized void registerMethodExitListener(MethodExitListener listener) {
 		methodExits.add(listener);
+		updateMethodExit();
 	}
 
 	@Override
-	public void removeMethodEnterListener(MethodEnterListener listener) {
+	public synchronized void removeMethodEnterListener(MethodEnterListener listener) {
 		methodEnters.remove(listener);
+		updateMethodEnter();
 	}
 
 	@Override
-	public void removeMethodExitListener(MethodExitListener listener) {
+	public synchronized void removeMethodExitListener(MethodExitListener listener) {
 		methodExits.remove(listener);
+		updateMethodExit();
+	}
+
+	@Override
+	public void setProfiling(boolean profiling) {
+		this.profiling = profiling;
+	}
+
+	@Override
+	public boolean isProfiling() {
+		return profiling;
+	}
+
+	@Override
+	public void setSuperinstructions(boolean superinstructions) {
+		this.superinstructions = superinstructions;
+	}
+
+	@Override
+	public boolean isSuperinstructions() {
+		return superinstructions;
 	}
 
 	@Override
@@ -137,8 +167,8 @@ public class SimpleVMInterface implements VMInterface {
 	}
 
 	@Override
-	public void setMaxIterationsHandler(Consumer<ExecutionContext<?>> maxIterationsHandler) {
-		this.maxIterationsHandler = maxIterationsHandler;
+	public void setBudgetHandler(BudgetHandler budgetHandler) {
+		this.budgetHandler = budgetHandler;
 	}
 
 	@Override
@@ -152,8 +182,46 @@ public class SimpleVMInterface implements VMInterface {
 	}
 
 	@Override
-	public void handleMaxInterations(ExecutionContext<?> ctx) {
-		maxIterationsHandler.accept(ctx);
+	public Result handleBudgetExhausted(ExecutionContext<?> ctx, ExecutionBudget budget) {
+		return budgetHandler.handle(ctx, budget);
+	}
+
+	private void updateMethodEnter() {
+		List<MethodEnterListener> listeners = methodEnters;
+		switch (listeners.size()) {
+			case 0:
+				methodEnter = NO_ENTER;
+				break;
+			case 1:
+				methodEnter = listeners.get(0);
+				break;
+			default:
+				MethodEnterListener[] array = listeners.toArray(new MethodEnterListener[0]);
+				methodEnter = ctx -> {
+					for (MethodEnterListener listener : array) {
+						listener.handle(ctx);
+					}
+				};
+		}
+	}
+
+	private void updateMethodExit() {
+		List<MethodExitListener> listeners = methodExits;
+		switch (listeners.size()) {
+			case 0:
+				methodExit = NO_EXIT;
+				break;
+			case 1:
+				methodExit = listeners.get(0);
+				break;
+			default:
+				MethodExitListener[] array = listeners.toArray(new MethodExitListener[0]);
+				methodExit = ctx -> {
+					for (MethodExitListener listener : array) {
+						listener.handle(ctx);
+					}
+				};
+		}
 	}
 
 	// Default impl for handling linkage errors is to throw UnsatisfiedLinkError
@@ -166,8 +234,9 @@ public class SimpleVMInterface implements VMInterface {
 		ctx.getOperations().throwException(ctx.getSymbols().java_lang_AbstractMethodError(), ctx.getMethod().toString());
 	}
 
-	// Default impl for handling max iteration is to throw IllegalStateException
-	private static void handleMaxIterations0(ExecutionContext<?> ctx) {
+	// Default impl for handling exhausted budget is to throw IllegalStateException
+	private static Result handleBudgetExhausted0(ExecutionContext<?> ctx, ExecutionBudget budget) {
 		ctx.getOperations().throwException(ctx.getSymbols().java_lang_IllegalStateException(), ctx.getMethod().toString());
+		return Result.ABORT;
 	}
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package dev.xdark.ssvm.api;
 
 import dev.xdark.ssvm.asm.Modifier;
+import dev.xdark.ssvm.execution.ExecutionBudget;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
 import dev.xdark.ssvm.execution.Interpreter;
+import dev.xdark.ssvm.execution.Result;
 import dev.xdark.ssvm.mirror.member.JavaMethod;
 import dev.xdark.ssvm.mirror.type.InstanceClass;
 import org.objectweb.asm.tree.AbstractInsnNode;
@@ -53,6 +55,8 @@ public interface VMInterface {
 
 	/**
 	 * Sets an invoker for the method.
+	 * The invoker is stored in the method itself,
+	 * see {@link JavaMethod#setInvoker(MethodInvoker)}.
 	 *
 	 * @param method  Method to set invoker for.
 	 * @param invoker Method invoker.
@@ -128,6 +132,35 @@ public interface VMInterface {
 	 */
 	void removeMethodExitListener(MethodExitListener listener);
 
+	/**
+	 * Enables or disables collection of
+	 * {@link JavaMethod#getProfile() method profiles} by the interpreter.
+	 *
+	 * @param profiling Whether profiling should be enabled.
+	 */
+	void setProfiling(boolean profiling);
+
+	/**
+	 * @return {@code true} if the interpreter
+	 * collects method profiles.
+	 */
+	boolean isProfiling();
+
+	/**
+	 * Enables or disables fusion of instruction
+	 * sequences into superinstructions.
+	 * Only affects methods that were not executed yet.
+	 *
+	 * @param superinstructions Whether instruction sequences should be fused.
+	 */
+	void setSuperinstructions(boolean superinstructions);
+
+	/**
+	 * @return {@code true} if instruction
+	 * sequences are fused.
+	 */
+	boolean isSuperinstructions();
+
 	/**
 	 * @return Instruction interceptors.
 	 */
@@ -156,10 +189,9 @@ public interface VMInterface {
 	void setAbstractMethodHandler(Consumer<ExecutionContext<?>> abstractMethodHandler);
 
 	/**
-	 * @param maxIterationsHandler Handler of methods hitting the max number of instruction iterations.
-	 *                             Consumes an execution context of that method, likely in a while-true loop.
+	 * @param budgetHandler Handler of threads that exhausted their {@link ExecutionBudget}.
 	 */
-	void setMaxIterationsHandler(Consumer<ExecutionContext<?>> maxIterationsHandler);
+	void setBudgetHandler(BudgetHandler budgetHandler);
 
 	/**
 	 * @param ctx Context of the native method not linked.
@@ -172,7 +204,10 @@ public interface VMInterface {
 	void handleAbstractMethodError(ExecutionContext<?> ctx);
 
 	/**
-	 * @param ctx Context of the native method that interpreted {@link Interpreter#getMaxIterations() the maximum number of allowed iterations}.
+	 * @param ctx    Context of the method that exhausted the budget.
+	 * @param budget Exhausted budget.
+	 * @return {@link Result#CONTINUE} to continue execution,
+	 * {@link Result#ABORT} to exit the method without a result.
 	 */
-	void handleMaxInterations(ExecutionContext<?> ctx);
+	Result handleBudgetExhausted(ExecutionContext<?> ctx, ExecutionBudget budget);
 }
\ No newline at end of file
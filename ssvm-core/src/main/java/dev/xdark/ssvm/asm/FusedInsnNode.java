@@ -0,0 +1,43 @@
+package dev.xdark.ssvm.asm;
+
+import org.objectweb.asm.tree.AbstractInsnNode;
+
+/**
+ * Superinstruction, executes a sequence
+ * of instructions in a single dispatch.
+ * <p>
+ * Replaces only the first instruction of the sequence,
+ * the rest are kept in place, so that jumps into the
+ * middle of the sequence still work.
+ *
+ * @author xDark
+ */
+public final class FusedInsnNode extends DelegatingInsnNode<AbstractInsnNode> {
+
+	private final AbstractInsnNode[] instructions;
+
+	/**
+	 * @param instructions  Fused instructions.
+	 * @param virtualOpcode VM specific opcode.
+	 */
+	public FusedInsnNode(AbstractInsnNode[] instructions, int virtualOpcode) {
+		super(instructions[0], virtualOpcode);
+		this.instructions = instructions;
+	}
+
+	/**
+	 * @return amount of fused instructions.
+	 */
+	public int length() {
+		return instructions.length;
+	}
+
+	/**
+	 * @param index Instruction index.
+	 * @return fused instruction.
+	 */
+	@SuppressWarnings("unchecked")
+	public <I extends AbstractInsnNode> I getInstruction(int index) {
+		return (I) instructions[index];
+	}
+}
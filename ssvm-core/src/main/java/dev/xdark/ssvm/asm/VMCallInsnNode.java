@@ -1,5 +1,6 @@
 package dev.xdark.ssvm.asm;
 
+import dev.xdark.ssvm.execution.InlineCache;
 import dev.xdark.ssvm.mirror.type.JavaClass;
 import dev.xdark.ssvm.mirror.member.JavaMethod;
 import org.objectweb.asm.Type;
@@ -16,6 +17,8 @@ public final class VMCallInsnNode extends DelegatingInsnNode<MethodInsnNode> {
 	private JavaMethod resolved;
 	private int argCount = -1;
 	private JavaClass javaClass;
+	private InlineCache inlineCache;
+	private boolean initialized;
 
 	/**
 	 * @param delegate      Backing instruction.
@@ -72,6 +75,34 @@ public final class VMCallInsnNode extends DelegatingInsnNode<MethodInsnNode> {
 		this.javaClass = javaClass;
 	}
 
+	/**
+	 * @return call site cache of virtual targets.
+	 */
+	public InlineCache getInlineCache() {
+		InlineCache inlineCache = this.inlineCache;
+		if (inlineCache == null) {
+			inlineCache = new InlineCache();
+			this.inlineCache = inlineCache;
+		}
+		return inlineCache;
+	}
+
+	/**
+	 * @return {@code true} if owner of the resolved
+	 * method is known to be initialized.
+	 */
+	public boolean isInitialized() {
+		return initialized;
+	}
+
+	/**
+	 * @param initialized Whether owner of the resolved
+	 *                    method is known to be initialized.
+	 */
+	public void setInitialized(boolean initialized) {
+		this.initialized = initialized;
+	}
+
 	public boolean isInterface() {
 		return delegate.itf;
 	}
@@ -64,4 +64,16 @@ public interface VMOpcodes {
 	int VM_GETFIELD_LONG = VM_GETFIELD_FLOAT + 1;
 	int VM_GETFIELD_DOUBLE = VM_GETFIELD_LONG + 1;
 	int VM_GETFIELD_REFERENCE = VM_GETFIELD_DOUBLE + 1;
+	int VM_ILOAD_ILOAD_IF_ICMPEQ = VM_GETFIELD_REFERENCE + 1;
+	int VM_ILOAD_ILOAD_IF_ICMPNE = VM_ILOAD_ILOAD_IF_ICMPEQ + 1;
+	int VM_ILOAD_ILOAD_IF_ICMPLT = VM_ILOAD_ILOAD_IF_ICMPNE + 1;
+	int VM_ILOAD_ILOAD_IF_ICMPGE = VM_ILOAD_ILOAD_IF_ICMPLT + 1;
+	int VM_ILOAD_ILOAD_IF_ICMPGT = VM_ILOAD_ILOAD_IF_ICMPGE + 1;
+	int VM_ILOAD_ILOAD_IF_ICMPLE = VM_ILOAD_ILOAD_IF_ICMPGT + 1;
+	int VM_IINC_GOTO = VM_ILOAD_ILOAD_IF_ICMPLE + 1;
+	int VM_ILOAD_IALOAD = VM_IINC_GOTO + 1;
+	int VM_ALOAD_ARRAYLENGTH = VM_ILOAD_IALOAD + 1;
+	int VM_ALOAD_GETFIELD = VM_ALOAD_ARRAYLENGTH + 1;
+	int VM_INSTANCEOF = VM_ALOAD_GETFIELD + 1;
+	int VM_SWITCH = VM_INSTANCEOF + 1;
 }
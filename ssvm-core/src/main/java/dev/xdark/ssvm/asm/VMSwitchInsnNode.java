@@ -0,0 +1,98 @@
+package dev.xdark.ssvm.asm;
+
+import dev.xdark.ssvm.execution.MethodCode;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Wrapper for switch instructions
+ * with jump targets resolved to positions.
+ * <p>
+ * Table switches and lookup switches with compact
+ * keys use a dense table indexed by the key,
+ * other lookup switches use binary search over the keys.
+ *
+ * @author xDark
+ */
+public final class VMSwitchInsnNode extends DelegatingInsnNode<AbstractInsnNode> {
+
+	private final int min;
+	private final int[] keys;
+	private final int[] targets;
+	private final int defaultTarget;
+
+	private VMSwitchInsnNode(AbstractInsnNode delegate, int min, int[] keys, int[] targets, int defaultTarget) {
+		super(delegate, VMOpcodes.VM_SWITCH);
+		this.min = min;
+		this.keys = keys;
+		this.targets = targets;
+		this.defaultTarget = defaultTarget;
+	}
+
+	/**
+	 * @param value Switch value.
+	 * @return position to jump to.
+	 */
+	public int getTarget(int value) {
+		int[] keys = this.keys;
+		if (keys == null) {
+			int index = value - min;
+			int[] targets = this.targets;
+			return index >= 0 && index < targets.length ? targets[index] : defaultTarget;
+		}
+		int index = Arrays.binarySearch(keys, value);
+		return index >= 0 ? targets[index] : defaultTarget;
+	}
+
+	/**
+	 * @param insn Table switch instruction.
+	 * @param code Method code.
+	 * @return quickened switch.
+	 */
+	public static VMSwitchInsnNode create(TableSwitchInsnNode insn, MethodCode code) {
+		return new VMSwitchInsnNode(insn, insn.min, null, resolve(insn.labels, code), code.getPosition(insn.dflt));
+	}
+
+	/**
+	 * @param insn Lookup switch instruction.
+	 * @param code Method code.
+	 * @return quickened switch.
+	 */
+	public static VMSwitchInsnNode create(LookupSwitchInsnNode insn, MethodCode code) {
+		List<Integer> keyList = insn.keys;
+		int count = keyList.size();
+		int defaultTarget = code.getPosition(insn.dflt);
+		int[] targets = resolve(insn.labels, code);
+		if (count == 0) {
+			return new VMSwitchInsnNode(insn, 0, null, targets, defaultTarget);
+		}
+		int min = keyList.get(0);
+		long range = (long) keyList.get(count - 1) - min + 1L;
+		if (range <= 2L * count) {
+			int[] table = new int[(int) range];
+			Arrays.fill(table, defaultTarget);
+			for (int i = 0; i < count; i++) {
+				table[keyList.get(i) - min] = targets[i];
+			}
+			return new VMSwitchInsnNode(insn, min, null, table, defaultTarget);
+		}
+		int[] keys = new int[count];
+		for (int i = 0; i < count; i++) {
+			keys[i] = keyList.get(i);
+		}
+		return new VMSwitchInsnNode(insn, 0, keys, targets, defaultTarget);
+	}
+
+	private static int[] resolve(List<LabelNode> labels, MethodCode code) {
+		int[] targets = new int[labels.size()];
+		for (int i = 0; i < targets.length; i++) {
+			targets[i] = code.getPosition(labels.get(i));
+		}
+		return targets;
+	}
+}
@@ -11,6 +11,12 @@ import org.objectweb.asm.tree.TypeInsnNode;
 public final class VMTypeInsnNode extends DelegatingInsnNode<TypeInsnNode> {
 
 	private final JavaClass type;
+	// Type check cache: two classes the type is assignable from,
+	// and the last class it is not assignable from.
+	// Each entry is a single reference, so racy updates are benign.
+	private JavaClass assignable;
+	private JavaClass assignableSecondary;
+	private JavaClass notAssignable;
 
 	/**
 	 * @param delegate      Backing instruction.
@@ -28,4 +34,30 @@ public final class VMTypeInsnNode extends DelegatingInsnNode<TypeInsnNode> {
 	public JavaClass getJavaType() {
 		return type;
 	}
+
+	/**
+	 * Cached version of {@link JavaClass#isAssignableFrom(JavaClass)}.
+	 *
+	 * @param klass Class to check.
+	 * @return {@code true} if the type is assignable from the class.
+	 */
+	public boolean isAssignableFrom(JavaClass klass) {
+		if (klass == assignable || klass == assignableSecondary) {
+			return true;
+		}
+		if (klass == notAssignable) {
+			return false;
+		}
+		boolean result = type.isAssignableFrom(klass);
+		if (result) {
+			if (assignable == null) {
+				assignable = klass;
+			} else {
+				assignableSecondary = klass;
+			}
+		} else {
+			notAssignable = klass;
+		}
+		return result;
+	}
 }
@@ -0,0 +1,130 @@
+package dev.xdark.ssvm.execution;
+
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+
+import java.util.List;
+
+/**
+ * Exception handler table of a method.
+ * <p>
+ * Handler ranges are resolved to instruction
+ * positions of {@link MethodCode} once, in the order
+ * they must be searched in.
+ * Handlers chosen for a position and exception type
+ * are remembered in a small direct-mapped cache.
+ *
+ * @author xDark
+ */
+public final class ExceptionTable {
+
+	public static final int NO_HANDLER = -1;
+	public static final int UNKNOWN = -2;
+	private static final int CACHE_SIZE = 8;
+	private final VMTryCatchBlock[] blocks;
+	private final int[] starts;
+	private final int[] ends;
+	private final int[] handlers;
+	private final Entry[] cache = new Entry[CACHE_SIZE];
+
+	private ExceptionTable(VMTryCatchBlock[] blocks, int[] starts, int[] ends, int[] handlers) {
+		this.blocks = blocks;
+		this.starts = starts;
+		this.ends = ends;
+		this.handlers = handlers;
+	}
+
+	/**
+	 * @return amount of handlers.
+	 */
+	public int size() {
+		return blocks.length;
+	}
+
+	/**
+	 * @param index    Handler index.
+	 * @param position Instruction position.
+	 * @return {@code true} if the handler covers the position.
+	 */
+	public boolean covers(int index, int position) {
+		return position >= starts[index] && position < ends[index];
+	}
+
+	/**
+	 * @param index Handler index.
+	 * @return position of the handler code.
+	 */
+	public int getHandler(int index) {
+		return handlers[index];
+	}
+
+	/**
+	 * @param index Handler index.
+	 * @return caught exception type or {@code null},
+	 * if the handler catches everything.
+	 * @throws VMException If the type could not be resolved.
+	 */
+	public InstanceClass getType(int index) {
+		return blocks[index].getType();
+	}
+
+	/**
+	 * @param position      Position of the throwing instruction.
+	 * @param exceptionType Exception type.
+	 * @return cached handler position, {@link #NO_HANDLER} if the exception
+	 * is known to be not handled, or {@link #UNKNOWN}, if not cached.
+	 */
+	public int getCachedHandler(int position, InstanceClass exceptionType) {
+		Entry entry = cache[slot(position, exceptionType)];
+		if (entry != null && entry.position == position && entry.exceptionType == exceptionType) {
+			return entry.handler;
+		}
+		return UNKNOWN;
+	}
+
+	/**
+	 * @param position      Position of the throwing instruction.
+	 * @param exceptionType Exception type.
+	 * @param handler       Handler position or {@link #NO_HANDLER}.
+	 */
+	public void cacheHandler(int position, InstanceClass exceptionType, int handler) {
+		cache[slot(position, exceptionType)] = new Entry(position, exceptionType, handler);
+	}
+
+	/**
+	 * Builds exception table.
+	 *
+	 * @param code   Method code.
+	 * @param blocks Try/catch blocks.
+	 * @return exception table.
+	 */
+	public static ExceptionTable build(MethodCode code, List<VMTryCatchBlock> blocks) {
+		int size = blocks.size();
+		VMTryCatchBlock[] array = blocks.toArray(new VMTryCatchBlock[size]);
+		int[] starts = new int[size];
+		int[] ends = new int[size];
+		int[] handlers = new int[size];
+		for (int i = 0; i < size; i++) {
+			VMTryCatchBlock block = array[i];
+			starts[i] = code.getPosition(block.getStart());
+			ends[i] = code.getPosition(block.getEnd());
+			handlers[i] = code.getPosition(block.getHandler());
+		}
+		return new ExceptionTable(array, starts, ends, handlers);
+	}
+
+	private static int slot(int position, InstanceClass exceptionType) {
+		return (position * 31 + exceptionType.getId()) & (CACHE_SIZE - 1);
+	}
+
+	private static final class Entry {
+		final int position;
+		final InstanceClass exceptionType;
+		final int handler;
+
+		Entry(int position, InstanceClass exceptionType, int handler) {
+			this.position = position;
+			this.exceptionType = exceptionType;
+			this.handler = handler;
+		}
+	}
+}
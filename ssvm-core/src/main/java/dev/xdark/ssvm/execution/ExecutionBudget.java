@@ -0,0 +1,106 @@
+package dev.xdark.ssvm.execution;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Instruction budget and deadline of a thread.
+ * <p>
+ * The interpreter counts executed instructions and
+ * checks the budget at method entries and backward jumps only,
+ * so the budget may be overrun by a few instructions.
+ * The deadline may be set from any thread,
+ * the instruction budget only from the owning one.
+ *
+ * @author xDark
+ * @see dev.xdark.ssvm.api.BudgetHandler
+ */
+public final class ExecutionBudget {
+
+	private static final long UNLIMITED = Long.MAX_VALUE;
+	private static final int CLOCK_INTERVAL = 256;
+	private volatile boolean limited;
+	private volatile long deadline = UNLIMITED;
+	private long instructions = UNLIMITED;
+	private int clockCountdown;
+	private boolean handling;
+
+	/**
+	 * @return {@code true} if either the instruction
+	 * budget or the deadline is set, and the budget
+	 * handler is not running.
+	 */
+	public boolean isLimited() {
+		return limited && !handling;
+	}
+
+	/**
+	 * @param instructions Amount of instructions
+	 *                     the thread is allowed to execute.
+	 */
+	public void setInstructions(long instructions) {
+		this.instructions = instructions;
+		update();
+	}
+
+	/**
+	 * @return amount of instructions left, or {@link Long#MAX_VALUE},
+	 * if the amount is not limited.
+	 */
+	public long getInstructions() {
+		return instructions;
+	}
+
+	/**
+	 * @param timeout Time the thread is allowed to run for.
+	 * @param unit    Timeout unit.
+	 */
+	public void setDeadline(long timeout, TimeUnit unit) {
+		deadline = System.nanoTime() + unit.toNanos(timeout);
+		clockCountdown = 0;
+		update();
+	}
+
+	/**
+	 * Removes instruction budget and deadline.
+	 */
+	public void clear() {
+		instructions = UNLIMITED;
+		deadline = UNLIMITED;
+		update();
+	}
+
+	/**
+	 * @return {@code true} if the instruction budget
+	 * is used up or the deadline has passed.
+	 */
+	public boolean isExhausted() {
+		return instructions < 0L || deadline != UNLIMITED && System.nanoTime() - deadline >= 0L;
+	}
+
+	/**
+	 * Called by the interpreter at safe points.
+	 *
+	 * @param executed Amount of instructions executed since the last call.
+	 * @return {@code true} if the budget is exhausted.
+	 */
+	public boolean consume(long executed) {
+		long instructions = this.instructions;
+		if (instructions != UNLIMITED && (this.instructions = instructions - executed) < 0L) {
+			return true;
+		}
+		if (deadline != UNLIMITED && --clockCountdown < 0) {
+			// Reading the clock is not free, do it every few safe points
+			clockCountdown = CLOCK_INTERVAL;
+			return System.nanoTime() - deadline >= 0L;
+		}
+		return false;
+	}
+
+	void setHandling(boolean handling) {
+		this.handling = handling;
+	}
+
+	private void update() {
+		limited = instructions != UNLIMITED || deadline != UNLIMITED;
+	}
+}
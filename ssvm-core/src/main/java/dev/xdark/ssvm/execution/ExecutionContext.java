@@ -41,11 +41,15 @@ public interface ExecutionContext<R extends ValueSink> extends VMFunctions {
 	void setInsnPosition(int position);
 
 	/**
-	 * @return Current line number.
+	 * @return Current line number. Unless set explicitly,
+	 * computed from the instruction position.
 	 */
 	int getLineNumber();
 
 	/**
+	 * Used by frames that do not track instruction position,
+	 * such as native or compiled methods.
+	 *
 	 * @param lineNumber New line number.
 	 */
 	void setLineNumber(int lineNumber);
@@ -55,6 +59,12 @@ public interface ExecutionContext<R extends ValueSink> extends VMFunctions {
 	 */
 	R returnSink();
 
+	/**
+	 * @return Execution budget of the thread
+	 * running this frame.
+	 */
+	ExecutionBudget getBudget();
+
 	/**
 	 * Sets execution result.
 	 *
@@ -0,0 +1,145 @@
+package dev.xdark.ssvm.execution;
+
+import dev.xdark.ssvm.LinkResolver;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import dev.xdark.ssvm.mirror.type.JavaClass;
+import org.objectweb.asm.tree.MethodInsnNode;
+
+import java.util.Arrays;
+
+/**
+ * Call site cache of virtual method targets.
+ * <p>
+ * Remembers up to {@link #MAX_ENTRIES} receiver types,
+ * after that the call site becomes megamorphic
+ * and is no longer cached.
+ * Entries are only valid for the version
+ * of the class hierarchy they were added for.
+ * <p>
+ * Once linked, the call site also remembers
+ * the dispatch table slot of its target,
+ * which is used on cache misses.
+ *
+ * @author xDark
+ */
+public final class InlineCache {
+
+	public static final int MAX_ENTRIES = 4;
+	private static final State EMPTY = new State(0, new JavaClass[0], new JavaMethod[0]);
+	private State state = EMPTY;
+	private InstanceClass itable;
+	private int vtableIndex = -1;
+	private volatile boolean linked;
+
+	/**
+	 * @param receiver Receiver type.
+	 * @param version  Class hierarchy version.
+	 * @return cached target or {@code null}, if none.
+	 */
+	public JavaMethod get(JavaClass receiver, int version) {
+		State state = this.state;
+		JavaClass[] receivers = state.receivers;
+		if (state.version != version || receivers == null) {
+			return null;
+		}
+		for (int i = 0; i < receivers.length; i++) {
+			if (receivers[i] == receiver) {
+				return state.targets[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param receiver Receiver type.
+	 * @param target   Resolved target.
+	 * @param version  Class hierarchy version.
+	 */
+	public void put(JavaClass receiver, JavaMethod target, int version) {
+		State state = this.state;
+		if (state.version != version) {
+			state = new State(version, EMPTY.receivers, EMPTY.targets);
+		}
+		JavaClass[] receivers = state.receivers;
+		if (receivers == null) {
+			return;
+		}
+		int size = receivers.length;
+		if (size == MAX_ENTRIES) {
+			this.state = new State(version, null, null);
+			return;
+		}
+		receivers = Arrays.copyOf(receivers, size + 1);
+		JavaMethod[] targets = Arrays.copyOf(state.targets, size + 1);
+		receivers[size] = receiver;
+		targets[size] = target;
+		this.state = new State(version, receivers, targets);
+	}
+
+	/**
+	 * @return {@code true} if the call site
+	 * has seen too many receiver types.
+	 */
+	public boolean isMegamorphic() {
+		return state.receivers == null;
+	}
+
+	/**
+	 * @return {@code true} if the call site
+	 * was linked to the dispatch table slot.
+	 */
+	public boolean isLinked() {
+		return linked;
+	}
+
+	/**
+	 * Links the call site to the dispatch table
+	 * slot of the statically resolved target.
+	 *
+	 * @param ctx  Execution context.
+	 * @param insn Call instruction.
+	 */
+	public void link(ExecutionContext<?> ctx, MethodInsnNode insn) {
+		JavaClass owner = ctx.getOperations().findClass(ctx.getOwner(), insn.owner, false);
+		LinkResolver linkResolver = ctx.getLinkResolver();
+		JavaMethod method = insn.itf ? linkResolver.findInterfaceMethod(owner, insn.name, insn.desc) : linkResolver.findVirtualMethod(owner, insn.name, insn.desc);
+		if (method != null && !method.isPolymorphic()) {
+			int index = method.getVTableIndex();
+			if (index != -1) {
+				InstanceClass declaring = method.getOwner();
+				itable = declaring.isInterface() ? declaring : null;
+				vtableIndex = index;
+			}
+		}
+		linked = true;
+	}
+
+	/**
+	 * @return dispatch table slot of the target
+	 * or {@code -1}, if none.
+	 */
+	public int getVTableIndex() {
+		return vtableIndex;
+	}
+
+	/**
+	 * @return interface of the itable to dispatch through
+	 * or {@code null}, if the call is dispatched through the vtable.
+	 */
+	public InstanceClass getITable() {
+		return itable;
+	}
+
+	private static final class State {
+		final int version;
+		final JavaClass[] receivers;
+		final JavaMethod[] targets;
+
+		State(int version, JavaClass[] receivers, JavaMethod[] targets) {
+			this.version = version;
+			this.receivers = receivers;
+			this.targets = targets;
+		}
+	}
+}
@@ -1,13 +1,23 @@
 package dev.xdark.ssvm.execution;
 
+import dev.xdark.ssvm.VirtualMachine;
 import dev.xdark.ssvm.api.InstructionInterceptor;
 import dev.xdark.ssvm.api.VMInterface;
+import dev.xdark.ssvm.asm.DelegatingInsnNode;
+import dev.xdark.ssvm.asm.FusedInsnNode;
 import dev.xdark.ssvm.mirror.type.InstanceClass;
-import dev.xdark.ssvm.mirror.member.JavaMethod;
-import dev.xdark.ssvm.util.AsmUtil;
+import dev.xdark.ssvm.mirror.type.JavaClass;
+import dev.xdark.ssvm.profiler.SamplingProfiler;
 import dev.xdark.ssvm.value.InstanceValue;
+import dev.xdark.ssvm.value.ObjectValue;
 import lombok.experimental.UtilityClass;
-import org.objectweb.asm.tree.*;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
 
 import java.util.List;
 
@@ -18,67 +28,227 @@ import java.util.List;
  */
 @UtilityClass
 public class Interpreter {
-	private static int maxIterations = Integer.MAX_VALUE - 1;
 
 	/**
 	 * Processes {@link ExecutionContext}.
+	 * <p>
+	 * Frames run in the lean loop while there are no instruction
+	 * interceptors and profiling is disabled,
+	 * and switch between the loops on control transfers.
+	 * Method entries and backward jumps are safe points,
+	 * at which the {@link SamplingProfiler} takes samples
+	 * and the {@link ExecutionBudget} of the thread is checked.
 	 *
 	 * @param ctx Context to process.
 	 */
 	public void execute(ExecutionContext<?> ctx) {
-		JavaMethod jm = ctx.getMethod();
 		VMInterface vmi = ctx.getVM().getInterface();
-		MethodNode mn = jm.getNode();
-		InsnList instructions = mn.instructions;
+		MethodCode code = ctx.getMethod().getCode();
 		List<InstructionInterceptor> interceptors = vmi.getInstructionInterceptors();
-		int iter = 0;
-		exec:
+		SamplingProfiler profiler = ctx.getVM().getSamplingProfiler();
+		if (profiler.isSampleRequested()) {
+			profiler.sample();
+		}
+		ExecutionBudget budget = ctx.getBudget();
+		if (budget.isLimited() && budget.consume(0L) && handleBudgetExhausted(ctx, vmi, budget)) {
+			return;
+		}
+		boolean done;
+		do {
+			if (isInstrumented(vmi, interceptors)) {
+				done = executeInstrumented(ctx, vmi, code, interceptors, profiler, budget);
+			} else {
+				done = executeLean(ctx, vmi, code, interceptors, profiler, budget);
+			}
+		} while (!done);
+	}
+
+	/**
+	 * Safe point for code that is not run by the interpreter,
+	 * e.g. translated methods, at method entries and backward jumps.
+	 *
+	 * @param ctx      Current context.
+	 * @param executed Amount of instructions executed since the last safe point.
+	 * @return {@code true} if the method must be aborted.
+	 */
+	public boolean safepoint(ExecutionContext<?> ctx, long executed) {
+		VirtualMachine vm = ctx.getVM();
+		return safepoint(ctx, vm.getInterface(), vm.getSamplingProfiler(), ctx.getBudget(), executed);
+	}
+
+	private static boolean executeLean(ExecutionContext<?> ctx, VMInterface vmi, MethodCode code, List<InstructionInterceptor> interceptors, SamplingProfiler profiler, ExecutionBudget budget) {
+		// Instructions are counted per straight-line run,
+		// so that the count is only updated on control transfers
+		int start = ctx.getInsnPosition();
+		long executed = 0L;
 		while (true) {
+			int pos = ctx.getInsnPosition();
+			int next = pos + 1;
+			ctx.setInsnPosition(next);
 			try {
-				if (iter++ >= maxIterations) {
-					handleMaxIterations(ctx);
-					break;
+				InstructionProcessor<AbstractInsnNode> processor = vmi.getProcessor(code.getOpcode(pos));
+				if (processor.execute(code.getInstruction(pos), ctx) == Result.ABORT) {
+					account(budget, executed + next - start);
+					return true;
+				}
+			} catch (VMException ex) {
+				handleExceptionCaught(ctx, ex);
+			}
+			int position = ctx.getInsnPosition();
+			if (position != next) {
+				executed += next - start;
+				start = position;
+				if (position < next) {
+					long count = executed;
+					executed = 0L;
+					if (safepoint(ctx, vmi, profiler, budget, count)) {
+						return true;
+					}
+				}
+				if (isInstrumented(vmi, interceptors)) {
+					account(budget, executed);
+					return false;
 				}
-				int pos = ctx.getInsnPosition();
-				ctx.setInsnPosition(pos + 1);
-				AbstractInsnNode insn = instructions.get(pos);
-				if (insn instanceof LineNumberNode) {
-					ctx.setLineNumber(((LineNumberNode) insn).line);
+			}
+		}
+	}
+
+	private static boolean executeInstrumented(ExecutionContext<?> ctx, VMInterface vmi, MethodCode code, List<InstructionInterceptor> interceptors, SamplingProfiler profiler, ExecutionBudget budget) {
+		MethodProfile profile = vmi.isProfiling() ? ctx.getMethod().getProfile() : null;
+		int start = ctx.getInsnPosition();
+		long executed = 0L;
+		while (true) {
+			int pos = ctx.getInsnPosition();
+			int next = pos + 1;
+			ctx.setInsnPosition(next);
+			try {
+				AbstractInsnNode insn = code.getInstruction(pos);
+				int opcode = code.getOpcode(pos);
+				int size = interceptors.size();
+				if (size != 0 && insn instanceof FusedInsnNode) {
+					// Interceptors must see every instruction,
+					// run the sequence one instruction at a time
+					insn = ((FusedInsnNode) insn).getInstruction(0);
+					opcode = insn.getOpcode();
 				}
-				for (int i = 0, j = interceptors.size(); i < j; i++) {
+				for (int i = 0; i < size; i++) {
 					if (interceptors.get(i).intercept(ctx, insn) == Result.ABORT) {
-						break exec;
+						account(budget, executed + next - start);
+						return true;
 					}
 				}
-				if (insn.getOpcode() == -1 || !AsmUtil.isValid(insn)) {
-					continue;
-				}
-				InstructionProcessor<AbstractInsnNode> processor = vmi.getProcessor(insn);
+				JavaClass receiver = profile == null ? null : getReceiverType(insn, ctx.getStack());
+				InstructionProcessor<AbstractInsnNode> processor = vmi.getProcessor(opcode);
 				if (processor.execute(insn, ctx) == Result.ABORT) {
-					break;
+					account(budget, executed + next - start);
+					return true;
+				}
+				// Position is unchanged if the instruction was rewritten
+				if (profile != null && ctx.getInsnPosition() != pos) {
+					recordProfile(profile, code, pos, insn, receiver, ctx.getInsnPosition());
 				}
 			} catch (VMException ex) {
 				handleExceptionCaught(ctx, ex);
 			}
+			int position = ctx.getInsnPosition();
+			if (position != next) {
+				executed += next - start;
+				start = position;
+				if (position < next) {
+					long count = executed;
+					executed = 0L;
+					if (safepoint(ctx, vmi, profiler, budget, count)) {
+						return true;
+					}
+				}
+				if (!isInstrumented(vmi, interceptors)) {
+					account(budget, executed);
+					return false;
+				}
+			}
 		}
 	}
 
-	/**
-	 * @param maxIterations Max number of instructions to interpret/iterate over before aborting.
-	 */
-	public static void setMaxIterations(int maxIterations) {
-		Interpreter.maxIterations = maxIterations;
+	private static boolean safepoint(ExecutionContext<?> ctx, VMInterface vmi, SamplingProfiler profiler, ExecutionBudget budget, long executed) {
+		if (profiler.isSampleRequested()) {
+			profiler.sample();
+		}
+		return budget.isLimited() && budget.consume(executed) && handleBudgetExhausted(ctx, vmi, budget);
 	}
 
-	/**
-	 * @return Max number of instructions to interpret/iterate over before aborting.
-	 */
-	public static int getMaxIterations() {
-		return maxIterations;
+	private static boolean handleBudgetExhausted(ExecutionContext<?> ctx, VMInterface vmi, ExecutionBudget budget) {
+		// Code run by the handler, e.g. exception constructors,
+		// must not exhaust the budget again
+		budget.setHandling(true);
+		try {
+			return vmi.handleBudgetExhausted(ctx, budget) == Result.ABORT;
+		} finally {
+			budget.setHandling(false);
+		}
+	}
+
+	private static void account(ExecutionBudget budget, long executed) {
+		if (budget.isLimited()) {
+			// Checked at the next safe point
+			budget.consume(executed);
+		}
+	}
+
+	private static boolean isInstrumented(VMInterface vmi, List<InstructionInterceptor> interceptors) {
+		return !interceptors.isEmpty() || vmi.isProfiling();
+	}
+
+	private static JavaClass getReceiverType(AbstractInsnNode insn, Stack stack) {
+		insn = unwrap(insn);
+		int opcode = insn.getOpcode();
+		if (opcode != Opcodes.INVOKEVIRTUAL && opcode != Opcodes.INVOKEINTERFACE) {
+			return null;
+		}
+		int args = Type.getArgumentsAndReturnSizes(((MethodInsnNode) insn).desc) >> 2;
+		ObjectValue receiver = stack.getReferenceAt(stack.position() - args);
+		return receiver.isNull() ? null : receiver.getJavaClass();
+	}
+
+	private static void recordProfile(MethodProfile profile, MethodCode code, int pos, AbstractInsnNode insn, JavaClass receiver, int target) {
+		if (receiver != null) {
+			profile.recordReceiver(pos, receiver);
+			return;
+		}
+		if (insn instanceof FusedInsnNode) {
+			// Superinstructions may end with a jump, which is recorded
+			// at its own position, as if the sequence was not fused
+			FusedInsnNode fused = (FusedInsnNode) insn;
+			int length = fused.length();
+			insn = fused.getInstruction(length - 1);
+			pos += length - 1;
+		}
+		insn = unwrap(insn);
+		int opcode = insn.getOpcode();
+		if ((opcode >= Opcodes.IFEQ && opcode <= Opcodes.IF_ACMPNE) || opcode == Opcodes.IFNULL || opcode == Opcodes.IFNONNULL) {
+			profile.recordBranch(pos, target != pos + 1);
+		} else if (opcode == Opcodes.TABLESWITCH) {
+			recordSwitch(profile, code, pos, ((TableSwitchInsnNode) insn).labels, target);
+		} else if (opcode == Opcodes.LOOKUPSWITCH) {
+			recordSwitch(profile, code, pos, ((LookupSwitchInsnNode) insn).labels, target);
+		}
 	}
 
-	private static void handleMaxIterations(ExecutionContext<?> ctx) {
-		ctx.getVM().getInterface().handleMaxInterations(ctx);
+	private static void recordSwitch(MethodProfile profile, MethodCode code, int pos, List<LabelNode> labels, int target) {
+		int index = 0;
+		for (int i = 0, j = labels.size(); i < j; i++) {
+			if (code.getPosition(labels.get(i)) == target) {
+				index = i + 1;
+				break;
+			}
+		}
+		profile.recordSwitch(pos, index, labels.size() + 1);
+	}
+
+	private static AbstractInsnNode unwrap(AbstractInsnNode insn) {
+		while (insn instanceof DelegatingInsnNode) {
+			insn = ((DelegatingInsnNode<?>) insn).getDelegate();
+		}
+		return insn;
 	}
 
 	private static void handleExceptionCaught(ExecutionContext<?> ctx, VMException ex) {
@@ -86,35 +256,54 @@ public class Interpreter {
 		stack.clear();
 		InstanceValue oop = ex.getOop();
 		InstanceClass exceptionType = oop.getJavaClass();
-		List<VMTryCatchBlock> tryCatchBlocks = ctx.getMethod().getTryCatchBlocks();
-		int index = ctx.getInsnPosition() - 1;
+		ExceptionTable table = ctx.getMethod().getExceptionTable();
+		int position = ctx.getInsnPosition() - 1;
+		int handler = table.getCachedHandler(position, exceptionType);
+		if (handler == ExceptionTable.UNKNOWN) {
+			handler = findHandler(table, position, exceptionType);
+		}
+		if (handler == ExceptionTable.NO_HANDLER) {
+			throw ex;
+		}
+		stack.pushReference(oop);
+		ctx.setInsnPosition(handler);
+	}
+
+	private static int findHandler(ExceptionTable table, int position, InstanceClass exceptionType) {
+		int index = position;
+		boolean cacheable = true;
 		boolean shouldRepeat;
 		search:
 		do {
 			shouldRepeat = false;
-			for (int i = 0, j = tryCatchBlocks.size(); i < j; i++) {
-				VMTryCatchBlock block = tryCatchBlocks.get(i);
-				if (index < AsmUtil.getIndex(block.getStart()) || index > AsmUtil.getIndex(block.getEnd())) {
+			for (int i = 0, j = table.size(); i < j; i++) {
+				if (!table.covers(i, index)) {
 					continue;
 				}
-				InstanceClass candidate = block.getType();
+				InstanceClass candidate = table.getType(i);
 				boolean handle = candidate == null;
 				if (!handle) {
 					try {
 						handle = candidate.isAssignableFrom(exceptionType);
 					} catch (VMException hex) {
-						index = AsmUtil.getIndex(block.getHandler());
+						index = table.getHandler(i);
+						cacheable = false;
 						shouldRepeat = true;
 						continue search;
 					}
 				}
 				if (handle) {
-					stack.pushReference(oop);
-					ctx.setInsnPosition(AsmUtil.getIndex(block.getHandler()));
-					return;
+					int handler = table.getHandler(i);
+					if (cacheable) {
+						table.cacheHandler(position, exceptionType, handler);
+					}
+					return handler;
 				}
 			}
 		} while (shouldRepeat);
-		throw ex;
+		if (cacheable) {
+			table.cacheHandler(position, exceptionType, ExceptionTable.NO_HANDLER);
+		}
+		return ExceptionTable.NO_HANDLER;
 	}
 }
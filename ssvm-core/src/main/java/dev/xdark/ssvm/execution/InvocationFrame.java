@@ -0,0 +1,77 @@
+package dev.xdark.ssvm.execution;
+
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.value.sink.ReflectionSink;
+import dev.xdark.ssvm.value.sink.ValueSink;
+
+/**
+ * Reusable execution request and result sink
+ * of an invocation made from the host, or from native code.
+ * Frames are owned by the thread storage, one per backtrace depth,
+ * and are only valid until the next invocation at the same depth.
+ *
+ * @author xDark
+ * @see dev.xdark.ssvm.thread.ThreadStorage#invocationFrame(int)
+ */
+public final class InvocationFrame {
+
+	private final Request<ValueSink> request = new Request<>();
+	private final ReflectionSink resultSink = new ReflectionSink();
+
+	/**
+	 * @param method     Method to execute.
+	 * @param stack      Method stack.
+	 * @param locals     Method locals.
+	 * @param resultSink Result sink.
+	 * @return execution request.
+	 */
+	@SuppressWarnings("unchecked")
+	public <R extends ValueSink> ExecutionRequest<R> request(JavaMethod method, Stack stack, Locals locals, R resultSink) {
+		Request<ValueSink> request = this.request;
+		request.init(method, stack, locals, resultSink);
+		return (ExecutionRequest<R>) (ExecutionRequest<?>) request;
+	}
+
+	/**
+	 * @return reset result sink.
+	 */
+	public ReflectionSink resultSink() {
+		ReflectionSink resultSink = this.resultSink;
+		resultSink.reset();
+		return resultSink;
+	}
+
+	private static final class Request<R extends ValueSink> implements ExecutionRequest<R> {
+		private JavaMethod method;
+		private Stack stack;
+		private Locals locals;
+		private R resultSink;
+
+		void init(JavaMethod method, Stack stack, Locals locals, R resultSink) {
+			this.method = method;
+			this.stack = stack;
+			this.locals = locals;
+			this.resultSink = resultSink;
+		}
+
+		@Override
+		public JavaMethod getMethod() {
+			return method;
+		}
+
+		@Override
+		public Stack getStack() {
+			return stack;
+		}
+
+		@Override
+		public Locals getLocals() {
+			return locals;
+		}
+
+		@Override
+		public R getResultSink() {
+			return resultSink;
+		}
+	}
+}
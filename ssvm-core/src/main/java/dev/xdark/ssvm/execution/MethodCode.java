@@ -0,0 +1,151 @@
+package dev.xdark.ssvm.execution;
+
+import dev.xdark.ssvm.util.AsmUtil;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Decoded method code.
+ * <p>
+ * Pseudo instructions (labels, line numbers and frames)
+ * are stripped out, every executable instruction gets
+ * a dense position and labels are resolved to these positions.
+ * Jump targets are resolved once, at decode time.
+ * Instruction nodes are kept as the side table for operands
+ * that need objects.
+ *
+ * @author xDark
+ */
+public final class MethodCode {
+
+	private final InsnList list;
+	private final AbstractInsnNode[] instructions;
+	private final int[] opcodes;
+	private final int[] positions;
+	private final int[] jumpTargets;
+	private final int[] lineNumbers;
+
+	private MethodCode(InsnList list, AbstractInsnNode[] instructions, int[] opcodes, int[] positions, int[] jumpTargets, int[] lineNumbers) {
+		this.list = list;
+		this.instructions = instructions;
+		this.opcodes = opcodes;
+		this.positions = positions;
+		this.jumpTargets = jumpTargets;
+		this.lineNumbers = lineNumbers;
+	}
+
+	/**
+	 * @return amount of executable instructions.
+	 */
+	public int length() {
+		return instructions.length;
+	}
+
+	/**
+	 * @param position Instruction position.
+	 * @return instruction at the position.
+	 */
+	public AbstractInsnNode getInstruction(int position) {
+		return instructions[position];
+	}
+
+	/**
+	 * @param position Instruction position.
+	 * @return opcode of the instruction at the position.
+	 */
+	public int getOpcode(int position) {
+		return opcodes[position];
+	}
+
+	/**
+	 * @param position Instruction position.
+	 * @return line number of the instruction at the position,
+	 * or {@code -1}, if unknown.
+	 */
+	public int getLineNumber(int position) {
+		return lineNumbers[position];
+	}
+
+	/**
+	 * @param position Position of the jump instruction.
+	 * @return position of the jump target,
+	 * or {@code -1}, if the instruction is not a jump.
+	 */
+	public int getJumpTarget(int position) {
+		return jumpTargets[position];
+	}
+
+	/**
+	 * @param label Label to resolve.
+	 * @return position of the first instruction
+	 * following the label.
+	 */
+	public int getPosition(LabelNode label) {
+		return positions[AsmUtil.getIndex(label)];
+	}
+
+	/**
+	 * Replaces an instruction both in the backing
+	 * instruction list and in the decoded code.
+	 *
+	 * @param insn        Instruction to replace.
+	 * @param replacement New instruction.
+	 */
+	public void replace(AbstractInsnNode insn, AbstractInsnNode replacement) {
+		int position = positions[AsmUtil.getIndex(insn)];
+		list.set(insn, replacement);
+		instructions[position] = replacement;
+		opcodes[position] = replacement.getOpcode();
+	}
+
+	/**
+	 * Decodes method code.
+	 *
+	 * @param node Method to decode.
+	 * @return decoded code.
+	 */
+	public static MethodCode decode(MethodNode node) {
+		InsnList list = node.instructions;
+		int size = list.size();
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			// InsnList#get makes ASM keep instruction
+			// indices up to date on replacement.
+			if (list.get(i).getOpcode() != -1) {
+				count++;
+			}
+		}
+		AbstractInsnNode[] instructions = new AbstractInsnNode[count];
+		int[] opcodes = new int[count];
+		int[] lineNumbers = new int[count];
+		int[] positions = new int[size + 1];
+		int position = 0;
+		int line = -1;
+		for (int i = 0; i < size; i++) {
+			AbstractInsnNode insn = list.get(i);
+			positions[i] = position;
+			int opcode = insn.getOpcode();
+			if (opcode == -1) {
+				if (insn instanceof LineNumberNode) {
+					line = ((LineNumberNode) insn).line;
+				}
+				continue;
+			}
+			instructions[position] = insn;
+			opcodes[position] = opcode;
+			lineNumbers[position] = line;
+			position++;
+		}
+		positions[size] = position;
+		int[] jumpTargets = new int[count];
+		for (int i = 0; i < count; i++) {
+			AbstractInsnNode insn = instructions[i];
+			jumpTargets[i] = insn instanceof JumpInsnNode ? positions[AsmUtil.getIndex(((JumpInsnNode) insn).label)] : -1;
+		}
+		return new MethodCode(list, instructions, opcodes, positions, jumpTargets, lineNumbers);
+	}
+}
@@ -0,0 +1,190 @@
+package dev.xdark.ssvm.execution;
+
+import dev.xdark.ssvm.mirror.type.JavaClass;
+
+/**
+ * Profile of an interpreted method.
+ * <p>
+ * Counters are indexed by positions of {@link MethodCode}
+ * and are only updated by {@link Interpreter} while
+ * profiling is enabled, see {@link dev.xdark.ssvm.api.VMInterface#setProfiling(boolean)}.
+ * Updates are not synchronized, counters may lose
+ * increments when a method is run by several threads.
+ *
+ * @author xDark
+ */
+public final class MethodProfile {
+
+	/**
+	 * Amount of receiver types recorded per call site.
+	 */
+	public static final int RECEIVER_ROWS = 2;
+	private final int length;
+	private long[] taken;
+	private long[] notTaken;
+	private long[][] switches;
+	private Receivers[] receivers;
+
+	/**
+	 * @param length Amount of instructions in the method.
+	 */
+	public MethodProfile(int length) {
+		this.length = length;
+	}
+
+	/**
+	 * @param position Position of the conditional jump.
+	 * @return how many times the jump was taken.
+	 */
+	public long getTakenCount(int position) {
+		long[] taken = this.taken;
+		return taken == null ? 0L : taken[position];
+	}
+
+	/**
+	 * @param position Position of the conditional jump.
+	 * @return how many times the jump was not taken.
+	 */
+	public long getNotTakenCount(int position) {
+		long[] notTaken = this.notTaken;
+		return notTaken == null ? 0L : notTaken[position];
+	}
+
+	/**
+	 * @param position Position of the switch.
+	 * @return copy of the target histogram or {@code null},
+	 * if the switch was never executed.
+	 * Index {@code 0} is the default target,
+	 * index {@code i + 1} is the target of the {@code i}-th case.
+	 */
+	public long[] getSwitchCounts(int position) {
+		long[][] switches = this.switches;
+		if (switches == null) {
+			return null;
+		}
+		long[] counts = switches[position];
+		return counts == null ? null : counts.clone();
+	}
+
+	/**
+	 * @param position Position of the call site.
+	 * @param row      Receiver row, up to {@link #RECEIVER_ROWS}.
+	 * @return receiver type recorded in the row or {@code null}.
+	 */
+	public JavaClass getReceiverType(int position, int row) {
+		Receivers receivers = receivers(position);
+		return receivers == null ? null : receivers.types[row];
+	}
+
+	/**
+	 * @param position Position of the call site.
+	 * @param row      Receiver row, up to {@link #RECEIVER_ROWS}.
+	 * @return how many times the call site was
+	 * executed with the receiver type of the row.
+	 */
+	public long getReceiverCount(int position, int row) {
+		Receivers receivers = receivers(position);
+		return receivers == null ? 0L : receivers.counts[row];
+	}
+
+	/**
+	 * @param position Position of the call site.
+	 * @return how many times the call site was executed
+	 * with a receiver type that did not fit into the rows.
+	 */
+	public long getPolymorphicCount(int position) {
+		Receivers receivers = receivers(position);
+		return receivers == null ? 0L : receivers.polymorphic;
+	}
+
+	/**
+	 * Records conditional jump.
+	 *
+	 * @param position Position of the jump.
+	 * @param taken    Whether the jump was taken.
+	 */
+	public void recordBranch(int position, boolean taken) {
+		if (taken) {
+			long[] counts = this.taken;
+			if (counts == null) {
+				this.taken = counts = new long[length];
+			}
+			counts[position]++;
+		} else {
+			long[] counts = notTaken;
+			if (counts == null) {
+				notTaken = counts = new long[length];
+			}
+			counts[position]++;
+		}
+	}
+
+	/**
+	 * Records switch target.
+	 *
+	 * @param position Position of the switch.
+	 * @param index    Target index, {@code 0} for the default target.
+	 * @param targets  Amount of targets, including the default one.
+	 */
+	public void recordSwitch(int position, int index, int targets) {
+		long[][] switches = this.switches;
+		if (switches == null) {
+			this.switches = switches = new long[length][];
+		}
+		long[] counts = switches[position];
+		if (counts == null) {
+			switches[position] = counts = new long[targets];
+		}
+		counts[index]++;
+	}
+
+	/**
+	 * Records receiver type of a call site.
+	 *
+	 * @param position Position of the call site.
+	 * @param type     Receiver type.
+	 */
+	public void recordReceiver(int position, JavaClass type) {
+		Receivers[] receivers = this.receivers;
+		if (receivers == null) {
+			this.receivers = receivers = new Receivers[length];
+		}
+		Receivers site = receivers[position];
+		if (site == null) {
+			receivers[position] = site = new Receivers();
+		}
+		JavaClass[] types = site.types;
+		for (int i = 0; i < RECEIVER_ROWS; i++) {
+			JavaClass row = types[i];
+			if (row == null) {
+				types[i] = type;
+			} else if (row != type) {
+				continue;
+			}
+			site.counts[i]++;
+			return;
+		}
+		site.polymorphic++;
+	}
+
+	/**
+	 * Resets all counters.
+	 */
+	public void reset() {
+		taken = null;
+		notTaken = null;
+		switches = null;
+		receivers = null;
+	}
+
+	private Receivers receivers(int position) {
+		Receivers[] receivers = this.receivers;
+		return receivers == null ? null : receivers[position];
+	}
+
+	private static final class Receivers {
+		final JavaClass[] types = new JavaClass[RECEIVER_ROWS];
+		final long[] counts = new long[RECEIVER_ROWS];
+		long polymorphic;
+	}
+}
@@ -3,6 +3,10 @@ package dev.xdark.ssvm.execution;
 import dev.xdark.ssvm.VirtualMachine;
 import dev.xdark.ssvm.api.MethodInvoker;
 import dev.xdark.ssvm.api.VMInterface;
+import dev.xdark.ssvm.execution.compiler.CompiledMethod;
+import dev.xdark.ssvm.execution.compiler.MethodCompiler;
+import dev.xdark.ssvm.execution.register.RegisterMethod;
+import dev.xdark.ssvm.execution.register.RegisterTranslator;
 import dev.xdark.ssvm.mirror.member.JavaMethod;
 import dev.xdark.ssvm.thread.ThreadManager;
 import dev.xdark.ssvm.thread.backtrace.Backtrace;
@@ -19,9 +23,38 @@ public class SimpleExecutionEngine implements ExecutionEngine {
 
 	private static final MethodInvoker FALLBACK = new InterpretedInvoker();
 	private final VirtualMachine vm;
+	private final MethodCompiler compiler;
+	private final int compilationThreshold;
+	private final int translationThreshold;
 
 	public SimpleExecutionEngine(VirtualMachine vm) {
+		this(vm, 0);
+	}
+
+	/**
+	 * @param vm                   VM instance.
+	 * @param compilationThreshold Amount of invocations after which
+	 *                             a method is compiled to host bytecode,
+	 *                             {@code 0} disables compilation.
+	 */
+	public SimpleExecutionEngine(VirtualMachine vm, int compilationThreshold) {
+		this(vm, compilationThreshold, 0);
+	}
+
+	/**
+	 * @param vm                   VM instance.
+	 * @param compilationThreshold Amount of invocations after which
+	 *                             a method is compiled to host bytecode,
+	 *                             {@code 0} disables compilation.
+	 * @param translationThreshold Amount of invocations after which
+	 *                             a method is translated to register code,
+	 *                             {@code 0} disables translation.
+	 */
+	public SimpleExecutionEngine(VirtualMachine vm, int compilationThreshold, int translationThreshold) {
 		this.vm = vm;
+		this.compilationThreshold = compilationThreshold;
+		this.translationThreshold = translationThreshold;
+		compiler = compilationThreshold > 0 ? new MethodCompiler() : null;
 	}
 
 	@Override
@@ -38,6 +71,13 @@ public class SimpleExecutionEngine implements ExecutionEngine {
 		}
 		VMInterface vmi = vm.getInterface();
 		jm.increaseInvocation();
+		int invocations = jm.getInvocationCount();
+		if (translationThreshold > 0 && invocations == translationThreshold) {
+			translate(vmi, jm);
+		}
+		if (compiler != null && invocations == compilationThreshold) {
+			compile(vmi, jm);
+		}
 		ObjectValue lock = null;
 		if ((access & Opcodes.ACC_SYNCHRONIZED) != 0) {
 			if (((access & Opcodes.ACC_STATIC)) == 0) {
@@ -51,7 +91,7 @@ public class SimpleExecutionEngine implements ExecutionEngine {
 		vm.getMethodEnter().invoke(ctx);
 		boolean doCleanup = true;
 		try {
-			MethodInvoker invoker = vmi.getInvoker(jm);
+			MethodInvoker invoker = jm.getInvoker();
 			if (invoker == null) {
 				invoker = FALLBACK;
 			}
@@ -86,4 +126,24 @@ public class SimpleExecutionEngine implements ExecutionEngine {
 		}
 		throw new PanicException("unreachable code");
 	}
+
+	private static void translate(VMInterface vmi, JavaMethod jm) {
+		if (jm.getInvoker() == null) {
+			RegisterMethod translated = RegisterTranslator.translate(jm);
+			if (translated != null) {
+				vmi.setInvoker(jm, translated);
+			}
+		}
+	}
+
+	private void compile(VMInterface vmi, JavaMethod jm) {
+		// Register code is replaced by host bytecode
+		MethodInvoker invoker = jm.getInvoker();
+		if (invoker == null || invoker instanceof RegisterMethod) {
+			CompiledMethod compiled = compiler.compile(jm);
+			if (compiled != null) {
+				vmi.setInvoker(jm, compiled);
+			}
+		}
+	}
 }
@@ -4,7 +4,6 @@ import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
 import dev.xdark.ssvm.execution.Result;
 import dev.xdark.ssvm.execution.Stack;
-import dev.xdark.ssvm.util.AsmUtil;
 import dev.xdark.ssvm.util.BiIntPredicate;
 import org.objectweb.asm.tree.JumpInsnNode;
 
@@ -30,7 +29,7 @@ public final class BiIntJumpProcessor implements InstructionProcessor<JumpInsnNo
 		int v2 = stack.popInt();
 		int v1 = stack.popInt();
 		if (condition.test(v1, v2)) {
-			ctx.setInsnPosition(AsmUtil.getIndex(insn.label));
+			ctx.setInsnPosition(ctx.getMethod().getCode().getJumpTarget(ctx.getInsnPosition() - 1));
 		}
 		return Result.CONTINUE;
 	}
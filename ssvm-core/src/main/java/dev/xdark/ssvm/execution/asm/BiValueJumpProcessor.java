@@ -4,7 +4,6 @@ import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
 import dev.xdark.ssvm.execution.Result;
 import dev.xdark.ssvm.execution.Stack;
-import dev.xdark.ssvm.util.AsmUtil;
 import dev.xdark.ssvm.value.ObjectValue;
 import org.objectweb.asm.tree.JumpInsnNode;
 
@@ -32,7 +31,7 @@ public final class BiValueJumpProcessor implements InstructionProcessor<JumpInsn
 		ObjectValue v2 = stack.popReference();
 		ObjectValue v1 = stack.popReference();
 		if (condition.test(v1, v2)) {
-			ctx.setInsnPosition(AsmUtil.getIndex(insn.label));
+			ctx.setInsnPosition(ctx.getMethod().getCode().getJumpTarget(ctx.getInsnPosition() - 1));
 		}
 		return Result.CONTINUE;
 	}
@@ -0,0 +1,24 @@
+package dev.xdark.ssvm.execution.asm;
+
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.Result;
+import dev.xdark.ssvm.execution.Stack;
+import org.objectweb.asm.tree.AbstractInsnNode;
+
+/**
+ * Adds two doubles.
+ *
+ * @author xDark
+ */
+public final class DoubleAddProcessor implements InstructionProcessor<AbstractInsnNode> {
+
+	@Override
+	public Result execute(AbstractInsnNode insn, ExecutionContext<?> ctx) {
+		Stack stack = ctx.getStack();
+		double v2 = stack.popDouble();
+		double v1 = stack.popDouble();
+		stack.pushDouble(v1 + v2);
+		return Result.CONTINUE;
+	}
+}
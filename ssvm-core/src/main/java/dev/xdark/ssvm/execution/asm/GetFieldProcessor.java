@@ -3,14 +3,15 @@ package dev.xdark.ssvm.execution.asm;
 import dev.xdark.ssvm.asm.VMFieldInsnNode;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.MethodCode;
 import dev.xdark.ssvm.execution.Result;
+import dev.xdark.ssvm.execution.rewrite.Superinstructions;
 import dev.xdark.ssvm.execution.VMException;
 import dev.xdark.ssvm.mirror.type.InstanceClass;
 import dev.xdark.ssvm.mirror.member.JavaField;
 import dev.xdark.ssvm.util.AsmUtil;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.FieldInsnNode;
-import org.objectweb.asm.tree.InsnList;
 
 import static dev.xdark.ssvm.asm.VMOpcodes.VM_GETFIELD_BOOLEAN;
 import static dev.xdark.ssvm.asm.VMOpcodes.VM_GETFIELD_REFERENCE;
@@ -35,8 +36,11 @@ public final class GetFieldProcessor implements InstructionProcessor<FieldInsnNo
 			} else {
 				opcode = VM_GETFIELD_BOOLEAN + (sort - 1);
 			}
-			InsnList list = ctx.getMethod().getNode().instructions;
-			list.set(insn, new VMFieldInsnNode(insn, opcode, field));
+			MethodCode code = ctx.getMethod().getCode();
+			code.replace(insn, new VMFieldInsnNode(insn, opcode, field));
+			if (ctx.getVM().getInterface().isSuperinstructions()) {
+				Superinstructions.fuseFieldLoad(code, ctx.getInsnPosition() - 1);
+			}
 			ctx.getOperations().initialize(field.getOwner());
 		}
 		ctx.setInsnPosition(ctx.getInsnPosition() - 1);
@@ -1,18 +1,28 @@
 package dev.xdark.ssvm.execution.asm;
 
+import dev.xdark.ssvm.asm.ConstantDoubleInsnNode;
+import dev.xdark.ssvm.asm.ConstantFloatInsnNode;
+import dev.xdark.ssvm.asm.ConstantIntInsnNode;
+import dev.xdark.ssvm.asm.ConstantLongInsnNode;
+import dev.xdark.ssvm.asm.ConstantReferenceInsnNode;
 import dev.xdark.ssvm.asm.VMFieldInsnNode;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.MethodCode;
 import dev.xdark.ssvm.execution.Result;
+import dev.xdark.ssvm.memory.allocation.MemoryData;
 import dev.xdark.ssvm.mirror.type.InstanceClass;
 import dev.xdark.ssvm.mirror.member.JavaField;
 import dev.xdark.ssvm.operation.VMOperations;
 import dev.xdark.ssvm.util.AsmUtil;
+import dev.xdark.ssvm.value.InstanceValue;
+import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.FieldInsnNode;
-import org.objectweb.asm.tree.InsnList;
 
 import static org.objectweb.asm.Type.*;
 import static dev.xdark.ssvm.asm.VMOpcodes.*;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_STATIC;
 
 /**
  * Pushes static field value.
@@ -36,12 +46,55 @@ public final class GetStaticProcessor implements InstructionProcessor<FieldInsnN
 				} else {
 					opcode = VM_GETSTATIC_BOOLEAN + (sort - 1);
 				}
-				InsnList list = ctx.getMethod().getNode().instructions;
-				list.set(insn, new VMFieldInsnNode(insn, opcode, field));
-				ops.initialize(field.getOwner());
+				MethodCode code = ctx.getMethod().getCode();
+				VMFieldInsnNode resolved = new VMFieldInsnNode(insn, opcode, field);
+				code.replace(insn, resolved);
+				InstanceClass owner = field.getOwner();
+				ops.initialize(owner);
+				if (owner.isInitialized()) {
+					AbstractInsnNode constant = foldConstant(insn, field, ctx);
+					if (constant != null) {
+						code.replace(resolved, constant);
+					}
+				}
 			}
 		}
 		ctx.setInsnPosition(ctx.getInsnPosition() - 1);
 		return Result.CONTINUE;
 	}
+
+	// Once the owner is initialized, static final
+	// primitives and strings never change,
+	// unless they are written through Unsafe
+	private static AbstractInsnNode foldConstant(FieldInsnNode insn, JavaField field, ExecutionContext<?> ctx) {
+		int modifiers = field.getModifiers();
+		if ((modifiers & (ACC_STATIC | ACC_FINAL)) != (ACC_STATIC | ACC_FINAL) || field.isOffsetExposed()) {
+			return null;
+		}
+		InstanceValue oop = field.getOwner().getOop();
+		MemoryData data = oop.getData();
+		long offset = field.getOffset();
+		switch (field.getType().getSort()) {
+			case BOOLEAN:
+			case BYTE:
+				return new ConstantIntInsnNode(insn, data.readByte(offset));
+			case CHAR:
+				return new ConstantIntInsnNode(insn, data.readChar(offset));
+			case SHORT:
+				return new ConstantIntInsnNode(insn, data.readShort(offset));
+			case INT:
+				return new ConstantIntInsnNode(insn, data.readInt(offset));
+			case FLOAT:
+				return new ConstantFloatInsnNode(insn, Float.intBitsToFloat(data.readInt(offset)));
+			case LONG:
+				return new ConstantLongInsnNode(insn, data.readLong(offset));
+			case DOUBLE:
+				return new ConstantDoubleInsnNode(insn, Double.longBitsToDouble(data.readLong(offset)));
+			default:
+				if (field.getType() == ctx.getSymbols().java_lang_String()) {
+					return new ConstantReferenceInsnNode(insn, ctx.getMemoryManager().readReference(oop, offset));
+				}
+				return null;
+		}
+	}
 }
\ No newline at end of file
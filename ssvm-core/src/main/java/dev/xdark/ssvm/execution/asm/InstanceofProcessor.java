@@ -1,11 +1,12 @@
 package dev.xdark.ssvm.execution.asm;
 
+import dev.xdark.ssvm.asm.VMOpcodes;
+import dev.xdark.ssvm.asm.VMTypeInsnNode;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.MethodCode;
 import dev.xdark.ssvm.execution.Result;
-import dev.xdark.ssvm.execution.Stack;
 import dev.xdark.ssvm.mirror.type.JavaClass;
-import dev.xdark.ssvm.operation.VMOperations;
 import org.objectweb.asm.tree.TypeInsnNode;
 
 /**
@@ -15,11 +16,10 @@ public final class InstanceofProcessor implements InstructionProcessor<TypeInsnN
 
 	@Override
 	public Result execute(TypeInsnNode insn, ExecutionContext<?> ctx) {
-		VMOperations ops = ctx.getOperations();
-		JavaClass klass = ops.findClass(ctx.getOwner(), insn.desc, false);
-		Stack stack = ctx.getStack();
-		boolean result = ops.isInstanceOf(stack.popReference(), klass);
-		stack.pushInt(result ? 1 : 0);
+		JavaClass klass = ctx.getOperations().findClass(ctx.getOwner(), insn.desc, false);
+		MethodCode code = ctx.getMethod().getCode();
+		code.replace(insn, new VMTypeInsnNode(insn, VMOpcodes.VM_INSTANCEOF, klass));
+		ctx.setInsnPosition(ctx.getInsnPosition() - 1);
 		return Result.CONTINUE;
 	}
 }
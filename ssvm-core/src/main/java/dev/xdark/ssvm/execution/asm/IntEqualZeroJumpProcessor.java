@@ -0,0 +1,24 @@
+package dev.xdark.ssvm.execution.asm;
+
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.Result;
+import dev.xdark.ssvm.execution.Stack;
+import org.objectweb.asm.tree.JumpInsnNode;
+
+/**
+ * Jumps if int is zero.
+ *
+ * @author xDark
+ */
+public final class IntEqualZeroJumpProcessor implements InstructionProcessor<JumpInsnNode> {
+
+	@Override
+	public Result execute(JumpInsnNode insn, ExecutionContext<?> ctx) {
+		Stack stack = ctx.getStack();
+		if (stack.popInt() == 0) {
+			ctx.setInsnPosition(ctx.getMethod().getCode().getJumpTarget(ctx.getInsnPosition() - 1));
+		}
+		return Result.CONTINUE;
+	}
+}
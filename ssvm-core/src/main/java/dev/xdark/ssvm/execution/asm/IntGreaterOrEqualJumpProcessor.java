@@ -0,0 +1,26 @@
+package dev.xdark.ssvm.execution.asm;
+
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.Result;
+import dev.xdark.ssvm.execution.Stack;
+import org.objectweb.asm.tree.JumpInsnNode;
+
+/**
+ * Jumps if first int is greater than or equal to the second one.
+ *
+ * @author xDark
+ */
+public final class IntGreaterOrEqualJumpProcessor implements InstructionProcessor<JumpInsnNode> {
+
+	@Override
+	public Result execute(JumpInsnNode insn, ExecutionContext<?> ctx) {
+		Stack stack = ctx.getStack();
+		int v2 = stack.popInt();
+		int v1 = stack.popInt();
+		if (v1 >= v2) {
+			ctx.setInsnPosition(ctx.getMethod().getCode().getJumpTarget(ctx.getInsnPosition() - 1));
+		}
+		return Result.CONTINUE;
+	}
+}
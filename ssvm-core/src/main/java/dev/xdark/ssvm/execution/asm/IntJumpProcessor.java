@@ -3,7 +3,6 @@ package dev.xdark.ssvm.execution.asm;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
 import dev.xdark.ssvm.execution.Result;
-import dev.xdark.ssvm.util.AsmUtil;
 import org.objectweb.asm.tree.JumpInsnNode;
 
 import java.util.function.IntPredicate;
@@ -27,7 +26,7 @@ public final class IntJumpProcessor implements InstructionProcessor<JumpInsnNode
 	@Override
 	public Result execute(JumpInsnNode insn, ExecutionContext<?> ctx) {
 		if (condition.test(ctx.getStack().popInt())) {
-			ctx.setInsnPosition(AsmUtil.getIndex(insn.label));
+			ctx.setInsnPosition(ctx.getMethod().getCode().getJumpTarget(ctx.getInsnPosition() - 1));
 		}
 		return Result.CONTINUE;
 	}
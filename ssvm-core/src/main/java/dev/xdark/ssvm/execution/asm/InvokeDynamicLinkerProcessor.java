@@ -3,9 +3,9 @@ package dev.xdark.ssvm.execution.asm;
 import dev.xdark.ssvm.asm.LinkedDynamicCallNode;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.MethodCode;
 import dev.xdark.ssvm.execution.Result;
 import dev.xdark.ssvm.value.InstanceValue;
-import org.objectweb.asm.tree.InsnList;
 import org.objectweb.asm.tree.InvokeDynamicInsnNode;
 
 /**
@@ -19,8 +19,8 @@ public final class InvokeDynamicLinkerProcessor implements InstructionProcessor<
 	public Result execute(InvokeDynamicInsnNode insn, ExecutionContext<?> ctx) {
 		InstanceValue linked = ctx.getOperations().linkCall(insn, ctx.getOwner());
 		// Rewrite instruction
-		InsnList list = ctx.getMethod().getNode().instructions;
-		list.set(insn, new LinkedDynamicCallNode(insn, linked));
+		MethodCode code = ctx.getMethod().getCode();
+		code.replace(insn, new LinkedDynamicCallNode(insn, linked));
 		// Move insn position backwards so that VM visits
 		// us yet again.
 		ctx.setInsnPosition(ctx.getInsnPosition() - 1);
@@ -3,7 +3,6 @@ package dev.xdark.ssvm.execution.asm;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
 import dev.xdark.ssvm.execution.Result;
-import dev.xdark.ssvm.util.AsmUtil;
 import org.objectweb.asm.tree.JumpInsnNode;
 
 /**
@@ -16,7 +15,7 @@ public final class JSRProcessor implements InstructionProcessor<JumpInsnNode> {
 	@Override
 	public Result execute(JumpInsnNode insn, ExecutionContext<?> ctx) {
 		ctx.getStack().pushInt(ctx.getInsnPosition());
-		ctx.setInsnPosition(AsmUtil.getIndex(insn.label));
+		ctx.setInsnPosition(ctx.getMethod().getCode().getJumpTarget(ctx.getInsnPosition() - 1));
 		return Result.CONTINUE;
 	}
 }
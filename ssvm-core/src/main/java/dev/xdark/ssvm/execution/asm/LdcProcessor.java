@@ -7,11 +7,11 @@ import dev.xdark.ssvm.asm.ConstantLongInsnNode;
 import dev.xdark.ssvm.asm.ConstantReferenceInsnNode;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.MethodCode;
 import dev.xdark.ssvm.execution.Result;
 import dev.xdark.ssvm.util.AsmUtil;
 import dev.xdark.ssvm.value.ObjectValue;
 import dev.xdark.ssvm.value.Value;
-import org.objectweb.asm.tree.InsnList;
 import org.objectweb.asm.tree.LdcInsnNode;
 
 /**
@@ -26,25 +26,25 @@ public final class LdcProcessor implements InstructionProcessor<LdcInsnNode> {
 	@Override
 	public Result execute(LdcInsnNode insn, ExecutionContext<?> ctx) {
 		if (AsmUtil.isValid(insn)) {
-			InsnList list = ctx.getMethod().getNode().instructions;
+			MethodCode code = ctx.getMethod().getCode();
 			Object cst = insn.cst;
 			if (cst instanceof ObjectValue) {
-				list.set(insn, new ConstantReferenceInsnNode(insn, (ObjectValue) cst));
+				code.replace(insn, new ConstantReferenceInsnNode(insn, (ObjectValue) cst));
 			} else if (cst instanceof Long) {
-				list.set(insn, new ConstantLongInsnNode(insn, (long) cst));
+				code.replace(insn, new ConstantLongInsnNode(insn, (long) cst));
 			} else if (cst instanceof Double) {
-				list.set(insn, new ConstantDoubleInsnNode(insn, (double) cst));
+				code.replace(insn, new ConstantDoubleInsnNode(insn, (double) cst));
 			} else if (cst instanceof Integer || cst instanceof Short || cst instanceof Byte) {
-				list.set(insn, new ConstantIntInsnNode(insn, (int) (Number) cst));
+				code.replace(insn, new ConstantIntInsnNode(insn, (int) (Number) cst));
 			} else if (cst instanceof Float) {
-				list.set(insn, new ConstantFloatInsnNode(insn, (float) cst));
+				code.replace(insn, new ConstantFloatInsnNode(insn, (float) cst));
 			} else if (cst instanceof Character) {
-				list.set(insn, new ConstantIntInsnNode(insn, (char) cst));
+				code.replace(insn, new ConstantIntInsnNode(insn, (char) cst));
 			} else if (cst instanceof String) {
-				list.set(insn, new ConstantReferenceInsnNode(insn, ctx.getVM().getStringPool().intern((String) cst)));
+				code.replace(insn, new ConstantReferenceInsnNode(insn, ctx.getVM().getStringPool().intern((String) cst)));
 			} else {
 				ObjectValue ref = ctx.getOperations().referenceValue(cst);
-				list.set(insn, new ConstantReferenceInsnNode(insn, ref));
+				code.replace(insn, new ConstantReferenceInsnNode(insn, ref));
 			}
 			ctx.setInsnPosition(ctx.getInsnPosition() - 1);
 		}
@@ -1,15 +1,14 @@
 package dev.xdark.ssvm.execution.asm;
 
+import dev.xdark.ssvm.asm.VMSwitchInsnNode;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.MethodCode;
 import dev.xdark.ssvm.execution.Result;
-import dev.xdark.ssvm.util.AsmUtil;
 import org.objectweb.asm.tree.LookupSwitchInsnNode;
 
-import java.util.Collections;
-
 /**
- * Performs LookupSwitch operation.
+ * Rewrites LookupSwitch to {@link VMSwitchInsnNode}.
  *
  * @author xDark
  */
@@ -17,12 +16,9 @@ public final class LookupSwitchProcessor implements InstructionProcessor<LookupS
 
 	@Override
 	public Result execute(LookupSwitchInsnNode insn, ExecutionContext<?> ctx) {
-		int index = Collections.binarySearch(insn.keys, ctx.getStack().popInt());
-		if (index >= 0) {
-			ctx.setInsnPosition(AsmUtil.getIndex(insn.labels.get(index)));
-		} else {
-			ctx.setInsnPosition(AsmUtil.getIndex(insn.dflt));
-		}
+		MethodCode code = ctx.getMethod().getCode();
+		code.replace(insn, VMSwitchInsnNode.create(insn, code));
+		ctx.setInsnPosition(ctx.getInsnPosition() - 1);
 		return Result.CONTINUE;
 	}
 }
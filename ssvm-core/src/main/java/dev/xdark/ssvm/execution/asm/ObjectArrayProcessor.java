@@ -4,9 +4,9 @@ import dev.xdark.ssvm.asm.VMOpcodes;
 import dev.xdark.ssvm.asm.VMTypeInsnNode;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.MethodCode;
 import dev.xdark.ssvm.execution.Result;
 import dev.xdark.ssvm.mirror.type.JavaClass;
-import org.objectweb.asm.tree.InsnList;
 import org.objectweb.asm.tree.TypeInsnNode;
 
 /**
@@ -20,8 +20,8 @@ public final class ObjectArrayProcessor implements InstructionProcessor<TypeInsn
 	public Result execute(TypeInsnNode insn, ExecutionContext<?> ctx) {
 		JavaClass type = ctx.getOperations().findClass(ctx.getOwner(), insn.desc, false);
 		VMTypeInsnNode wrapper = new VMTypeInsnNode(insn, VMOpcodes.VM_REFERENCE_NEW_ARRAY, type);
-		InsnList list = ctx.getMethod().getNode().instructions;
-		list.set(insn, wrapper);
+		MethodCode code = ctx.getMethod().getCode();
+		code.replace(insn, wrapper);
 		ctx.setInsnPosition(ctx.getInsnPosition() - 1);
 		return Result.CONTINUE;
 	}
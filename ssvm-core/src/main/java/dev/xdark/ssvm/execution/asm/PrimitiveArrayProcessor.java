@@ -4,9 +4,9 @@ import dev.xdark.ssvm.asm.DelegatingInsnNode;
 import dev.xdark.ssvm.asm.VMOpcodes;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.MethodCode;
 import dev.xdark.ssvm.execution.Result;
 import org.objectweb.asm.Opcodes;
-import org.objectweb.asm.tree.InsnList;
 import org.objectweb.asm.tree.IntInsnNode;
 
 /**
@@ -21,8 +21,8 @@ public final class PrimitiveArrayProcessor implements InstructionProcessor<IntIn
 		int operand = insn.operand;
 		int virtualOpcode = VMOpcodes.VM_BOOLEAN_NEW_ARRAY + (operand - Opcodes.T_BOOLEAN);
 		DelegatingInsnNode<IntInsnNode> wrapper = new DelegatingInsnNode<>(insn, virtualOpcode);
-		InsnList list = ctx.getMethod().getNode().instructions;
-		list.set(insn, wrapper);
+		MethodCode code = ctx.getMethod().getCode();
+		code.replace(insn, wrapper);
 		ctx.setInsnPosition(ctx.getInsnPosition() - 1);
 		return Result.CONTINUE;
 	}
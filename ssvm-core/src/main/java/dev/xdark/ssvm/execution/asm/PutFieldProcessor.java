@@ -3,6 +3,7 @@ package dev.xdark.ssvm.execution.asm;
 import dev.xdark.ssvm.asm.VMFieldInsnNode;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.MethodCode;
 import dev.xdark.ssvm.execution.Result;
 import dev.xdark.ssvm.execution.VMException;
 import dev.xdark.ssvm.mirror.type.InstanceClass;
@@ -11,7 +12,6 @@ import dev.xdark.ssvm.operation.VMOperations;
 import dev.xdark.ssvm.util.AsmUtil;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.FieldInsnNode;
-import org.objectweb.asm.tree.InsnList;
 
 import static dev.xdark.ssvm.asm.VMOpcodes.VM_PUTFIELD_BOOLEAN;
 import static dev.xdark.ssvm.asm.VMOpcodes.VM_PUTFIELD_REFERENCE;
@@ -37,8 +37,8 @@ public final class PutFieldProcessor implements InstructionProcessor<FieldInsnNo
 			} else {
 				opcode = VM_PUTFIELD_BOOLEAN + (sort - 1);
 			}
-			InsnList list = ctx.getMethod().getNode().instructions;
-			list.set(insn, new VMFieldInsnNode(insn, opcode, field));
+			MethodCode code = ctx.getMethod().getCode();
+			code.replace(insn, new VMFieldInsnNode(insn, opcode, field));
 			ops.initialize(field.getOwner());
 		}
 		ctx.setInsnPosition(ctx.getInsnPosition() - 1);
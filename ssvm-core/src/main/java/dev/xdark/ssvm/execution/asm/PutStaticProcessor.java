@@ -3,13 +3,13 @@ package dev.xdark.ssvm.execution.asm;
 import dev.xdark.ssvm.asm.VMFieldInsnNode;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.MethodCode;
 import dev.xdark.ssvm.execution.Result;
 import dev.xdark.ssvm.mirror.type.InstanceClass;
 import dev.xdark.ssvm.mirror.member.JavaField;
 import dev.xdark.ssvm.operation.VMOperations;
 import dev.xdark.ssvm.util.AsmUtil;
 import org.objectweb.asm.tree.FieldInsnNode;
-import org.objectweb.asm.tree.InsnList;
 
 import static org.objectweb.asm.Type.*;
 import static dev.xdark.ssvm.asm.VMOpcodes.*;
@@ -36,8 +36,8 @@ public final class PutStaticProcessor implements InstructionProcessor<FieldInsnN
 				} else {
 					opcode = VM_PUTSTATIC_BOOLEAN + (sort - 1);
 				}
-				InsnList list = ctx.getMethod().getNode().instructions;
-				list.set(insn, new VMFieldInsnNode(insn, opcode, field));
+				MethodCode code = ctx.getMethod().getCode();
+				code.replace(insn, new VMFieldInsnNode(insn, opcode, field));
 				ops.initialize(field.getOwner());
 			}
 		}
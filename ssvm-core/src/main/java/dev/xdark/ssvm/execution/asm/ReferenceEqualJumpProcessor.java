@@ -0,0 +1,27 @@
+package dev.xdark.ssvm.execution.asm;
+
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.Result;
+import dev.xdark.ssvm.execution.Stack;
+import dev.xdark.ssvm.value.ObjectValue;
+import org.objectweb.asm.tree.JumpInsnNode;
+
+/**
+ * Jumps if two references are the same.
+ *
+ * @author xDark
+ */
+public final class ReferenceEqualJumpProcessor implements InstructionProcessor<JumpInsnNode> {
+
+	@Override
+	public Result execute(JumpInsnNode insn, ExecutionContext<?> ctx) {
+		Stack stack = ctx.getStack();
+		ObjectValue v2 = stack.popReference();
+		ObjectValue v1 = stack.popReference();
+		if (v1 == v2) {
+			ctx.setInsnPosition(ctx.getMethod().getCode().getJumpTarget(ctx.getInsnPosition() - 1));
+		}
+		return Result.CONTINUE;
+	}
+}
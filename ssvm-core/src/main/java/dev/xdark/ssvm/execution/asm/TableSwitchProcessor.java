@@ -1,13 +1,14 @@
 package dev.xdark.ssvm.execution.asm;
 
+import dev.xdark.ssvm.asm.VMSwitchInsnNode;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.MethodCode;
 import dev.xdark.ssvm.execution.Result;
-import dev.xdark.ssvm.util.AsmUtil;
 import org.objectweb.asm.tree.TableSwitchInsnNode;
 
 /**
- * Performs TableSwitch operation.
+ * Rewrites TableSwitch to {@link VMSwitchInsnNode}.
  *
  * @author xDark
  */
@@ -15,12 +16,9 @@ public final class TableSwitchProcessor implements InstructionProcessor<TableSwi
 
 	@Override
 	public Result execute(TableSwitchInsnNode insn, ExecutionContext<?> ctx) {
-		int value = ctx.getStack().popInt();
-		if (value < insn.min || value > insn.max) {
-			ctx.setInsnPosition(AsmUtil.getIndex(insn.dflt));
-		} else {
-			ctx.setInsnPosition(AsmUtil.getIndex(insn.labels.get(value - insn.min)));
-		}
+		MethodCode code = ctx.getMethod().getCode();
+		code.replace(insn, VMSwitchInsnNode.create(insn, code));
+		ctx.setInsnPosition(ctx.getInsnPosition() - 1);
 		return Result.CONTINUE;
 	}
 }
@@ -3,7 +3,6 @@ package dev.xdark.ssvm.execution.asm;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
 import dev.xdark.ssvm.execution.Result;
-import dev.xdark.ssvm.util.AsmUtil;
 import dev.xdark.ssvm.value.ObjectValue;
 import org.objectweb.asm.tree.JumpInsnNode;
 
@@ -28,7 +27,7 @@ public final class ValueJumpProcessor implements InstructionProcessor<JumpInsnNo
 	@Override
 	public Result execute(JumpInsnNode insn, ExecutionContext<?> ctx) {
 		if (condition.test(ctx.getStack().popReference())) {
-			ctx.setInsnPosition(AsmUtil.getIndex(insn.label));
+			ctx.setInsnPosition(ctx.getMethod().getCode().getJumpTarget(ctx.getInsnPosition() - 1));
 		}
 		return Result.CONTINUE;
 	}
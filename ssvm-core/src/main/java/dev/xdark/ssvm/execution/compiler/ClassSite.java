@@ -0,0 +1,49 @@
+package dev.xdark.ssvm.execution.compiler;
+
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.mirror.type.JavaClass;
+import dev.xdark.ssvm.operation.VMOperations;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.TypeInsnNode;
+
+/**
+ * Class reference of compiled code.
+ *
+ * @author xDark
+ */
+public final class ClassSite {
+
+	private final TypeInsnNode insn;
+	private JavaClass type;
+
+	ClassSite(TypeInsnNode insn) {
+		this.insn = insn;
+	}
+
+	/**
+	 * Resolves the class on first access.
+	 *
+	 * @param ctx Execution context.
+	 * @return resolved class.
+	 */
+	public JavaClass resolve(ExecutionContext<?> ctx) {
+		JavaClass type = this.type;
+		if (type == null) {
+			TypeInsnNode insn = this.insn;
+			VMOperations ops = ctx.getOperations();
+			switch (insn.getOpcode()) {
+				case Opcodes.NEW:
+					type = ops.findClass(ctx.getOwner(), insn.desc, true);
+					break;
+				case Opcodes.CHECKCAST:
+					type = ops.findClass(ctx.getOwner(), Type.getObjectType(insn.desc), true);
+					break;
+				default:
+					type = ops.findClass(ctx.getOwner(), insn.desc, false);
+			}
+			this.type = type;
+		}
+		return type;
+	}
+}
@@ -0,0 +1,36 @@
+package dev.xdark.ssvm.execution.compiler;
+
+import dev.xdark.ssvm.api.MethodInvoker;
+import dev.xdark.ssvm.api.VMInterface;
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.Interpreter;
+import dev.xdark.ssvm.execution.Locals;
+import dev.xdark.ssvm.execution.Result;
+
+/**
+ * Method compiled to host bytecode.
+ *
+ * @author xDark
+ */
+public abstract class CompiledMethod implements MethodInvoker {
+
+	@Override
+	public final Result intercept(ExecutionContext<?> ctx) {
+		VMInterface vmi = ctx.getVM().getInterface();
+		if (!vmi.getInstructionInterceptors().isEmpty() || vmi.isProfiling()) {
+			// Interceptors and profiles need the original instructions.
+			Interpreter.execute(ctx);
+		} else if (!Interpreter.safepoint(ctx, 0L)) {
+			execute(ctx, ctx.getLocals());
+		}
+		return Result.ABORT;
+	}
+
+	/**
+	 * Runs compiled code.
+	 *
+	 * @param ctx    Execution context.
+	 * @param locals Method arguments.
+	 */
+	protected abstract void execute(ExecutionContext<?> ctx, Locals locals);
+}
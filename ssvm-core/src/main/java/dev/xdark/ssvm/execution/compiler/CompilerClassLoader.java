@@ -0,0 +1,17 @@
+package dev.xdark.ssvm.execution.compiler;
+
+/**
+ * Loader of compiled methods.
+ *
+ * @author xDark
+ */
+final class CompilerClassLoader extends ClassLoader {
+
+	CompilerClassLoader(ClassLoader parent) {
+		super(parent);
+	}
+
+	synchronized Class<?> define(String name, byte[] code) {
+		return defineClass(name, code, 0, code.length);
+	}
+}
@@ -0,0 +1,352 @@
+package dev.xdark.ssvm.execution.compiler;
+
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.Locals;
+import dev.xdark.ssvm.execution.PanicException;
+import dev.xdark.ssvm.memory.allocation.MemoryData;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import dev.xdark.ssvm.operation.VMOperations;
+import dev.xdark.ssvm.value.InstanceValue;
+import dev.xdark.ssvm.value.ObjectValue;
+import lombok.experimental.UtilityClass;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Runtime support for compiled code.
+ * Every method here mirrors the
+ * interpreter processor of the same instruction.
+ *
+ * @author xDark
+ */
+@UtilityClass
+public class CompilerRuntime {
+
+	public ObjectValue nullValue(ExecutionContext<?> ctx) {
+		return ctx.getMemoryManager().nullValue();
+	}
+
+	public void checkDivisor(int divisor, ExecutionContext<?> ctx) {
+		if (divisor == 0) {
+			ctx.getOperations().throwException(ctx.getSymbols().java_lang_ArithmeticException(), "/ by zero");
+		}
+	}
+
+	public void checkDivisor(long divisor, ExecutionContext<?> ctx) {
+		if (divisor == 0L) {
+			ctx.getOperations().throwException(ctx.getSymbols().java_lang_ArithmeticException(), "/ by zero");
+		}
+	}
+
+	public ObjectValue constant(ConstantSite site, ExecutionContext<?> ctx) {
+		return site.resolve(ctx);
+	}
+
+	public PanicException throwException(ObjectValue exception, ExecutionContext<?> ctx) {
+		ctx.getOperations().throwException(exception);
+		return new PanicException("unreachable code");
+	}
+
+	public void monitorEnter(ObjectValue value, ExecutionContext<?> ctx) {
+		ctx.getOperations().monitorEnter(value);
+	}
+
+	public void monitorExit(ObjectValue value, ExecutionContext<?> ctx) {
+		ctx.getOperations().monitorExit(value);
+	}
+
+	public ObjectValue allocateInstance(ClassSite site, ExecutionContext<?> ctx) {
+		InstanceClass klass = (InstanceClass) site.resolve(ctx);
+		if (klass.isInitialized() && klass.canAllocateInstance()) {
+			return ctx.getMemoryManager().newInstance(klass);
+		}
+		return ctx.getOperations().allocateInstance(klass);
+	}
+
+	public ObjectValue checkCast(ObjectValue value, ClassSite site, ExecutionContext<?> ctx) {
+		return ctx.getOperations().checkCast(value, site.resolve(ctx));
+	}
+
+	public boolean instanceOf(ObjectValue value, ClassSite site, ExecutionContext<?> ctx) {
+		return ctx.getOperations().isInstanceOf(value, site.resolve(ctx));
+	}
+
+	public ObjectValue newArray(int length, ClassSite site, ExecutionContext<?> ctx) {
+		return ctx.getOperations().allocateArray(site.resolve(ctx), length);
+	}
+
+	public ObjectValue newPrimitiveArray(int length, int type, ExecutionContext<?> ctx) {
+		VMOperations ops = ctx.getOperations();
+		switch (type) {
+			case Opcodes.T_BOOLEAN:
+				return ops.allocateBooleanArray(length);
+			case Opcodes.T_CHAR:
+				return ops.allocateCharArray(length);
+			case Opcodes.T_FLOAT:
+				return ops.allocateFloatArray(length);
+			case Opcodes.T_DOUBLE:
+				return ops.allocateDoubleArray(length);
+			case Opcodes.T_BYTE:
+				return ops.allocateByteArray(length);
+			case Opcodes.T_SHORT:
+				return ops.allocateShortArray(length);
+			case Opcodes.T_INT:
+				return ops.allocateIntArray(length);
+			case Opcodes.T_LONG:
+				return ops.allocateLongArray(length);
+			default:
+				throw new PanicException("Unknown array type " + type);
+		}
+	}
+
+	public int arrayLength(ObjectValue array, ExecutionContext<?> ctx) {
+		return ctx.getOperations().getArrayLength(array);
+	}
+
+	public int arrayLoadInt(ObjectValue array, int index, ExecutionContext<?> ctx) {
+		return ctx.getOperations().arrayLoadInt(array, index);
+	}
+
+	public long arrayLoadLong(ObjectValue array, int index, ExecutionContext<?> ctx) {
+		return ctx.getOperations().arrayLoadLong(array, index);
+	}
+
+	public float arrayLoadFloat(ObjectValue array, int index, ExecutionContext<?> ctx) {
+		return ctx.getOperations().arrayLoadFloat(array, index);
+	}
+
+	public double arrayLoadDouble(ObjectValue array, int index, ExecutionContext<?> ctx) {
+		return ctx.getOperations().arrayLoadDouble(array, index);
+	}
+
+	public ObjectValue arrayLoadReference(ObjectValue array, int index, ExecutionContext<?> ctx) {
+		return ctx.getOperations().arrayLoadReference(array, index);
+	}
+
+	public int arrayLoadByte(ObjectValue array, int index, ExecutionContext<?> ctx) {
+		return ctx.getOperations().arrayLoadByte(array, index);
+	}
+
+	public int arrayLoadChar(ObjectValue array, int index, ExecutionContext<?> ctx) {
+		return ctx.getOperations().arrayLoadChar(array, index);
+	}
+
+	public int arrayLoadShort(ObjectValue array, int index, ExecutionContext<?> ctx) {
+		return ctx.getOperations().arrayLoadShort(array, index);
+	}
+
+	public void arrayStoreInt(ObjectValue array, int index, int value, ExecutionContext<?> ctx) {
+		ctx.getOperations().arrayStoreInt(array, index, value);
+	}
+
+	public void arrayStoreLong(ObjectValue array, int index, long value, ExecutionContext<?> ctx) {
+		ctx.getOperations().arrayStoreLong(array, index, value);
+	}
+
+	public void arrayStoreFloat(ObjectValue array, int index, float value, ExecutionContext<?> ctx) {
+		ctx.getOperations().arrayStoreFloat(array, index, value);
+	}
+
+	public void arrayStoreDouble(ObjectValue array, int index, double value, ExecutionContext<?> ctx) {
+		ctx.getOperations().arrayStoreDouble(array, index, value);
+	}
+
+	public void arrayStoreReference(ObjectValue array, int index, ObjectValue value, ExecutionContext<?> ctx) {
+		ctx.getOperations().arrayStoreReference(array, index, value);
+	}
+
+	public void arrayStoreByte(ObjectValue array, int index, int value, ExecutionContext<?> ctx) {
+		ctx.getOperations().arrayStoreByte(array, index, (byte) value);
+	}
+
+	public void arrayStoreChar(ObjectValue array, int index, int value, ExecutionContext<?> ctx) {
+		ctx.getOperations().arrayStoreChar(array, index, (char) value);
+	}
+
+	public void arrayStoreShort(ObjectValue array, int index, int value, ExecutionContext<?> ctx) {
+		ctx.getOperations().arrayStoreShort(array, index, (short) value);
+	}
+
+	public int getFieldInt(ObjectValue value, FieldSite site, ExecutionContext<?> ctx) {
+		long offset = site.offset(ctx);
+		return data(value, ctx).readInt(offset);
+	}
+
+	public long getFieldLong(ObjectValue value, FieldSite site, ExecutionContext<?> ctx) {
+		long offset = site.offset(ctx);
+		return data(value, ctx).readLong(offset);
+	}
+
+	public float getFieldFloat(ObjectValue value, FieldSite site, ExecutionContext<?> ctx) {
+		long offset = site.offset(ctx);
+		return Float.intBitsToFloat(data(value, ctx).readInt(offset));
+	}
+
+	public double getFieldDouble(ObjectValue value, FieldSite site, ExecutionContext<?> ctx) {
+		long offset = site.offset(ctx);
+		return Double.longBitsToDouble(data(value, ctx).readLong(offset));
+	}
+
+	public ObjectValue getFieldReference(ObjectValue value, FieldSite site, ExecutionContext<?> ctx) {
+		long offset = site.offset(ctx);
+		InstanceValue instance = ctx.getOperations().checkNotNull(value);
+		return ctx.getMemoryManager().readReference(instance, offset);
+	}
+
+	public int getFieldByte(ObjectValue value, FieldSite site, ExecutionContext<?> ctx) {
+		long offset = site.offset(ctx);
+		return data(value, ctx).readByte(offset);
+	}
+
+	public int getFieldChar(ObjectValue value, FieldSite site, ExecutionContext<?> ctx) {
+		long offset = site.offset(ctx);
+		return data(value, ctx).readChar(offset);
+	}
+
+	public int getFieldShort(ObjectValue value, FieldSite site, ExecutionContext<?> ctx) {
+		long offset = site.offset(ctx);
+		return data(value, ctx).readShort(offset);
+	}
+
+	public void putFieldInt(ObjectValue value, int v, FieldSite site, ExecutionContext<?> ctx) {
+		long offset = site.offset(ctx);
+		data(value, ctx).writeInt(offset, v);
+	}
+
+	public void putFieldLong(ObjectValue value, long v, FieldSite site, ExecutionContext<?> ctx) {
+		long offset = site.offset(ctx);
+		data(value, ctx).writeLong(offset, v);
+	}
+
+	public void putFieldFloat(ObjectValue value, float v, FieldSite site, ExecutionContext<?> ctx) {
+		long offset = site.offset(ctx);
+		data(value, ctx).writeInt(offset, Float.floatToRawIntBits(v));
+	}
+
+	public void putFieldDouble(ObjectValue value, double v, FieldSite site, ExecutionContext<?> ctx) {
+		long offset = site.offset(ctx);
+		data(value, ctx).writeLong(offset, Double.doubleToRawLongBits(v));
+	}
+
+	public void putFieldReference(ObjectValue value, ObjectValue v, FieldSite site, ExecutionContext<?> ctx) {
+		long offset = site.offset(ctx);
+		InstanceValue instance = ctx.getOperations().checkNotNull(value);
+		ctx.getMemoryManager().writeValue(instance, offset, v);
+	}
+
+	public void putFieldByte(ObjectValue value, int v, FieldSite site, ExecutionContext<?> ctx) {
+		long offset = site.offset(ctx);
+		data(value, ctx).writeByte(offset, (byte) v);
+	}
+
+	public void putFieldChar(ObjectValue value, int v, FieldSite site, ExecutionContext<?> ctx) {
+		long offset = site.offset(ctx);
+		data(value, ctx).writeChar(offset, (char) v);
+	}
+
+	public void putFieldShort(ObjectValue value, int v, FieldSite site, ExecutionContext<?> ctx) {
+		long offset = site.offset(ctx);
+		data(value, ctx).writeShort(offset, (short) v);
+	}
+
+	public int getStaticInt(FieldSite site, ExecutionContext<?> ctx) {
+		return staticData(site, ctx).readInt(site.offset(ctx));
+	}
+
+	public long getStaticLong(FieldSite site, ExecutionContext<?> ctx) {
+		return staticData(site, ctx).readLong(site.offset(ctx));
+	}
+
+	public float getStaticFloat(FieldSite site, ExecutionContext<?> ctx) {
+		return Float.intBitsToFloat(staticData(site, ctx).readInt(site.offset(ctx)));
+	}
+
+	public double getStaticDouble(FieldSite site, ExecutionContext<?> ctx) {
+		return Double.longBitsToDouble(staticData(site, ctx).readLong(site.offset(ctx)));
+	}
+
+	public ObjectValue getStaticReference(FieldSite site, ExecutionContext<?> ctx) {
+		return ctx.getMemoryManager().readReference(site.base(ctx), site.offset(ctx));
+	}
+
+	public int getStaticByte(FieldSite site, ExecutionContext<?> ctx) {
+		return staticData(site, ctx).readByte(site.offset(ctx));
+	}
+
+	public int getStaticChar(FieldSite site, ExecutionContext<?> ctx) {
+		return staticData(site, ctx).readChar(site.offset(ctx));
+	}
+
+	public int getStaticShort(FieldSite site, ExecutionContext<?> ctx) {
+		return staticData(site, ctx).readShort(site.offset(ctx));
+	}
+
+	public void putStaticInt(int v, FieldSite site, ExecutionContext<?> ctx) {
+		staticData(site, ctx).writeInt(site.offset(ctx), v);
+	}
+
+	public void putStaticLong(long v, FieldSite site, ExecutionContext<?> ctx) {
+		staticData(site, ctx).writeLong(site.offset(ctx), v);
+	}
+
+	public void putStaticFloat(float v, FieldSite site, ExecutionContext<?> ctx) {
+		staticData(site, ctx).writeInt(site.offset(ctx), Float.floatToRawIntBits(v));
+	}
+
+	public void putStaticDouble(double v, FieldSite site, ExecutionContext<?> ctx) {
+		staticData(site, ctx).writeLong(site.offset(ctx), Double.doubleToRawLongBits(v));
+	}
+
+	public void putStaticReference(ObjectValue v, FieldSite site, ExecutionContext<?> ctx) {
+		ctx.getMemoryManager().writeValue(site.base(ctx), site.offset(ctx), v);
+	}
+
+	public void putStaticByte(int v, FieldSite site, ExecutionContext<?> ctx) {
+		staticData(site, ctx).writeByte(site.offset(ctx), (byte) v);
+	}
+
+	public void putStaticChar(int v, FieldSite site, ExecutionContext<?> ctx) {
+		staticData(site, ctx).writeChar(site.offset(ctx), (char) v);
+	}
+
+	public void putStaticShort(int v, FieldSite site, ExecutionContext<?> ctx) {
+		staticData(site, ctx).writeShort(site.offset(ctx), (short) v);
+	}
+
+	public Locals newLocals(JavaMethod method, ExecutionContext<?> ctx) {
+		return ctx.getVM().getThreadStorage().newLocals(method);
+	}
+
+	public void invokeVoid(JavaMethod method, Locals locals, ExecutionContext<?> ctx) {
+		ctx.getOperations().invokeVoid(method, locals);
+	}
+
+	public int invokeInt(JavaMethod method, Locals locals, ExecutionContext<?> ctx) {
+		return ctx.getOperations().invokeInt(method, locals);
+	}
+
+	public long invokeLong(JavaMethod method, Locals locals, ExecutionContext<?> ctx) {
+		return ctx.getOperations().invokeLong(method, locals);
+	}
+
+	public float invokeFloat(JavaMethod method, Locals locals, ExecutionContext<?> ctx) {
+		return ctx.getOperations().invokeFloat(method, locals);
+	}
+
+	public double invokeDouble(JavaMethod method, Locals locals, ExecutionContext<?> ctx) {
+		return ctx.getOperations().invokeDouble(method, locals);
+	}
+
+	public ObjectValue invokeReference(JavaMethod method, Locals locals, ExecutionContext<?> ctx) {
+		return ctx.getOperations().invokeReference(method, locals);
+	}
+
+	private MemoryData data(ObjectValue value, ExecutionContext<?> ctx) {
+		InstanceValue instance = ctx.getOperations().checkNotNull(value);
+		return instance.getMemory().getData();
+	}
+
+	private MemoryData staticData(FieldSite site, ExecutionContext<?> ctx) {
+		return site.base(ctx).getMemory().getData();
+	}
+}
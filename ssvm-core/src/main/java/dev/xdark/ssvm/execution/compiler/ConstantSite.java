@@ -0,0 +1,41 @@
+package dev.xdark.ssvm.execution.compiler;
+
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.value.ObjectValue;
+
+/**
+ * Reference constant of compiled code.
+ *
+ * @author xDark
+ */
+public final class ConstantSite {
+
+	private final Object cst;
+	private ObjectValue value;
+
+	ConstantSite(Object cst) {
+		this.cst = cst;
+	}
+
+	/**
+	 * Resolves the constant on first access.
+	 *
+	 * @param ctx Execution context.
+	 * @return constant value.
+	 */
+	public ObjectValue resolve(ExecutionContext<?> ctx) {
+		ObjectValue value = this.value;
+		if (value == null) {
+			Object cst = this.cst;
+			if (cst instanceof ObjectValue) {
+				value = (ObjectValue) cst;
+			} else if (cst instanceof String) {
+				value = ctx.getVM().getStringPool().intern((String) cst);
+			} else {
+				value = ctx.getOperations().referenceValue(cst);
+			}
+			this.value = value;
+		}
+		return value;
+	}
+}
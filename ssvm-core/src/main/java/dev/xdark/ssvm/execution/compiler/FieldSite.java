@@ -0,0 +1,67 @@
+package dev.xdark.ssvm.execution.compiler;
+
+import dev.xdark.ssvm.LinkResolver;
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.mirror.member.JavaField;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import dev.xdark.ssvm.operation.VMOperations;
+import dev.xdark.ssvm.value.InstanceValue;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.FieldInsnNode;
+
+/**
+ * Field access site of compiled code.
+ *
+ * @author xDark
+ */
+public final class FieldSite {
+
+	private final FieldInsnNode insn;
+	private JavaField field;
+
+	FieldSite(FieldInsnNode insn) {
+		this.insn = insn;
+	}
+
+	/**
+	 * Resolves the field on first access
+	 * and initializes its owner.
+	 *
+	 * @param ctx Execution context.
+	 * @return resolved field.
+	 */
+	public JavaField resolve(ExecutionContext<?> ctx) {
+		JavaField field = this.field;
+		if (field == null) {
+			FieldInsnNode insn = this.insn;
+			VMOperations ops = ctx.getOperations();
+			InstanceClass klass = (InstanceClass) ops.findClass(ctx.getOwner(), insn.owner, true);
+			LinkResolver linkResolver = ctx.getLinkResolver();
+			int opcode = insn.getOpcode();
+			if (opcode == Opcodes.GETSTATIC || opcode == Opcodes.PUTSTATIC) {
+				field = linkResolver.resolveStaticField(klass, insn.name, insn.desc);
+			} else {
+				field = linkResolver.resolveVirtualField(klass, insn.name, insn.desc);
+			}
+			ops.initialize(field.getOwner());
+			this.field = field;
+		}
+		return field;
+	}
+
+	/**
+	 * @param ctx Execution context.
+	 * @return field offset.
+	 */
+	public long offset(ExecutionContext<?> ctx) {
+		return resolve(ctx).getOffset();
+	}
+
+	/**
+	 * @param ctx Execution context.
+	 * @return static field base.
+	 */
+	public InstanceValue base(ExecutionContext<?> ctx) {
+		return resolve(ctx).getOwner().getOop();
+	}
+}
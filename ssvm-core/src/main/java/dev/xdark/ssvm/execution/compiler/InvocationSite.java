@@ -0,0 +1,89 @@
+package dev.xdark.ssvm.execution.compiler;
+
+import dev.xdark.ssvm.LinkResolver;
+import dev.xdark.ssvm.RuntimeResolver;
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.InlineCache;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import dev.xdark.ssvm.operation.VMOperations;
+import dev.xdark.ssvm.value.ObjectValue;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.MethodInsnNode;
+
+/**
+ * Call site of compiled code.
+ *
+ * @author xDark
+ */
+public final class InvocationSite {
+
+	private final MethodInsnNode insn;
+	private final InlineCache inlineCache = new InlineCache();
+	private JavaMethod method;
+
+	InvocationSite(MethodInsnNode insn) {
+		this.insn = insn;
+	}
+
+	/**
+	 * Resolves target of INVOKESTATIC or INVOKESPECIAL.
+	 *
+	 * @param ctx Execution context.
+	 * @return target method.
+	 */
+	public JavaMethod resolve(ExecutionContext<?> ctx) {
+		VMOperations ops = ctx.getOperations();
+		JavaMethod method = this.method;
+		if (method == null) {
+			MethodInsnNode insn = this.insn;
+			InstanceClass klass = (InstanceClass) ops.findClass(ctx.getOwner(), insn.owner, true);
+			LinkResolver linkResolver = ctx.getLinkResolver();
+			if (insn.getOpcode() == Opcodes.INVOKESTATIC) {
+				method = linkResolver.resolveStaticMethod(klass, insn.name, insn.desc);
+			} else if (insn.itf) {
+				method = linkResolver.resolveInterfaceMethod(klass, insn.name, insn.desc);
+			} else {
+				method = linkResolver.resolveVirtualMethod(klass, insn.name, insn.desc);
+			}
+			this.method = method;
+		}
+		InstanceClass owner = method.getOwner();
+		if (!owner.isInitialized()) {
+			ops.initialize(owner);
+		}
+		return method;
+	}
+
+	/**
+	 * Resolves target of INVOKEVIRTUAL or INVOKEINTERFACE.
+	 *
+	 * @param receiver Call receiver.
+	 * @param ctx      Execution context.
+	 * @return target method.
+	 */
+	public JavaMethod resolve(ObjectValue receiver, ExecutionContext<?> ctx) {
+		MethodInsnNode insn = this.insn;
+		VMOperations ops = ctx.getOperations();
+		boolean isInterface = insn.getOpcode() == Opcodes.INVOKEINTERFACE;
+		InlineCache inlineCache = this.inlineCache;
+		if (!inlineCache.isLinked()) {
+			if (isInterface) {
+				ops.findClass(ctx.getOwner(), insn.owner, true);
+			}
+			inlineCache.link(ctx, insn);
+		}
+		RuntimeResolver runtimeResolver = ctx.getRuntimeResolver();
+		JavaMethod method;
+		if (isInterface || insn.itf) {
+			method = runtimeResolver.resolveInterfaceMethod(receiver, insn.name, insn.desc, inlineCache);
+		} else {
+			method = runtimeResolver.resolveVirtualMethod(receiver, insn.name, insn.desc, inlineCache);
+		}
+		InstanceClass owner = method.getOwner();
+		if (!owner.isInitialized()) {
+			ops.initialize(owner);
+		}
+		return method;
+	}
+}
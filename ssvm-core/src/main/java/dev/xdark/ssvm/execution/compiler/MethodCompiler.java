@@ -0,0 +1,676 @@
+package dev.xdark.ssvm.execution.compiler;
+
+import dev.xdark.ssvm.asm.DelegatingInsnNode;
+import dev.xdark.ssvm.asm.Modifier;
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.Interpreter;
+import dev.xdark.ssvm.execution.Locals;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.value.ObjectValue;
+import org.objectweb.asm.ClassTooLargeException;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodTooLargeException;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.IincInsnNode;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+import org.objectweb.asm.tree.VarInsnNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Compiles methods to host bytecode.
+ * <p>
+ * Primitive values and control flow are copied as is,
+ * references become {@link ObjectValue}s and everything
+ * that needs the VM goes through {@link CompilerRuntime}.
+ * Backward jumps are safe points, see {@link Interpreter#safepoint}.
+ * Methods with exception handlers, INVOKEDYNAMIC,
+ * JSR/RET or MULTIANEWARRAY are not compiled.
+ *
+ * @author xDark
+ */
+public final class MethodCompiler {
+
+	private static final String SUPER = Type.getInternalName(CompiledMethod.class);
+	private static final String RUNTIME = Type.getInternalName(CompilerRuntime.class);
+	private static final String INTERPRETER = Type.getInternalName(Interpreter.class);
+	private static final String CTX = Type.getInternalName(ExecutionContext.class);
+	private static final String LOCALS = Type.getInternalName(Locals.class);
+	private static final String VALUE = Type.getInternalName(ObjectValue.class);
+	private static final String CTX_DESC = Type.getDescriptor(ExecutionContext.class);
+	private static final String LOCALS_DESC = Type.getDescriptor(Locals.class);
+	private static final String VALUE_DESC = Type.getDescriptor(ObjectValue.class);
+	private static final String METHOD_DESC = Type.getDescriptor(JavaMethod.class);
+	private static final String[] ARRAY_KINDS = {"Int", "Long", "Float", "Double", "Reference", "Byte", "Char", "Short"};
+	private static final String[] ARRAY_DESCS = {"I", "J", "F", "D", VALUE_DESC, "I", "I", "I"};
+	private static final int CTX_SLOT = 1;
+	private static final int LOCALS_SLOT = 2;
+	private static final int FIRST_SLOT = 3;
+	private final AtomicInteger counter = new AtomicInteger();
+	private final CompilerClassLoader classLoader = new CompilerClassLoader(CompiledMethod.class.getClassLoader());
+
+	/**
+	 * @param method Method to check.
+	 * @return {@code true} if the method can be compiled.
+	 */
+	public boolean isCompilable(JavaMethod method) {
+		int access = method.getModifiers();
+		if ((access & (ACC_NATIVE | ACC_ABSTRACT | Modifier.ACC_COMPILED)) != 0) {
+			return false;
+		}
+		MethodNode node = method.getNode();
+		if (node.instructions.size() == 0 || !node.tryCatchBlocks.isEmpty()) {
+			return false;
+		}
+		for (AbstractInsnNode insn = node.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+			switch (unwrap(insn).getOpcode()) {
+				case JSR:
+				case RET:
+				case INVOKEDYNAMIC:
+				case MULTIANEWARRAY:
+					return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Compiles a method.
+	 *
+	 * @param method Method to compile.
+	 * @return compiled method or {@code null},
+	 * if the method cannot be compiled.
+	 */
+	public CompiledMethod compile(JavaMethod method) {
+		if (!isCompilable(method)) {
+			return null;
+		}
+		String className = "ssvm/compiled/Method" + counter.incrementAndGet();
+		Translator translator = new Translator(className, method.getNode());
+		try {
+			byte[] code = translator.translate();
+			Class<?> klass = classLoader.define(className.replace('/', '.'), code);
+			Object[] sites = translator.sites.toArray();
+			return (CompiledMethod) klass.getConstructor(Object[].class).newInstance((Object) sites);
+		} catch (MethodTooLargeException | ClassTooLargeException | VerifyError | ClassFormatError ex) {
+			// Too large, or the guest code is
+			// something the host verifier rejects.
+			return null;
+		} catch (ReflectiveOperationException ex) {
+			throw new IllegalStateException("Failed to instantiate " + className, ex);
+		}
+	}
+
+	private static AbstractInsnNode unwrap(AbstractInsnNode insn) {
+		while (insn instanceof DelegatingInsnNode) {
+			insn = ((DelegatingInsnNode<?>) insn).getDelegate();
+		}
+		return insn;
+	}
+
+	private static String kind(Type type) {
+		switch (type.getSort()) {
+			case Type.BOOLEAN:
+			case Type.BYTE:
+				return "Byte";
+			case Type.CHAR:
+				return "Char";
+			case Type.SHORT:
+				return "Short";
+			case Type.INT:
+				return "Int";
+			case Type.FLOAT:
+				return "Float";
+			case Type.LONG:
+				return "Long";
+			case Type.DOUBLE:
+				return "Double";
+			default:
+				return "Reference";
+		}
+	}
+
+	private static String stackKind(Type type) {
+		switch (type.getSort()) {
+			case Type.BOOLEAN:
+			case Type.BYTE:
+			case Type.CHAR:
+			case Type.SHORT:
+				return "Int";
+			default:
+				return kind(type);
+		}
+	}
+
+	private static String stackDesc(Type type) {
+		switch (type.getSort()) {
+			case Type.BOOLEAN:
+			case Type.BYTE:
+			case Type.CHAR:
+			case Type.SHORT:
+			case Type.INT:
+				return "I";
+			case Type.FLOAT:
+				return "F";
+			case Type.LONG:
+				return "J";
+			case Type.DOUBLE:
+				return "D";
+			default:
+				return VALUE_DESC;
+		}
+	}
+
+	private static final class Translator {
+		final List<Object> sites = new ArrayList<>();
+		private final Map<LabelNode, Label> labels = new HashMap<>();
+		private final Set<LabelNode> targets = new HashSet<>();
+		// Amount of instructions translated before the label
+		private final Map<LabelNode, Integer> positions = new HashMap<>();
+		private final String className;
+		private final MethodNode node;
+		private final int tempSlot;
+		private MethodVisitor mv;
+		private int line = -1;
+		private int position;
+
+		Translator(String className, MethodNode node) {
+			this.className = className;
+			this.node = node;
+			tempSlot = FIRST_SLOT + maxLocals(node);
+		}
+
+		byte[] translate() {
+			ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+				@Override
+				protected String getCommonSuperClass(String type1, String type2) {
+					// Generated code only ever merges VM types
+					// that never need anything but Object.
+					return "java/lang/Object";
+				}
+			};
+			cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, null, SUPER, null);
+			mv = cw.visitMethod(ACC_PUBLIC, "execute", '(' + CTX_DESC + LOCALS_DESC + ")V", null, null);
+			mv.visitCode();
+			loadArguments();
+			collectTargets();
+			for (AbstractInsnNode insn = node.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+				translate(unwrap(insn));
+			}
+			mv.visitMaxs(-1, -1);
+			mv.visitEnd();
+			List<Object> sites = this.sites;
+			MethodVisitor init = cw.visitMethod(ACC_PUBLIC, "<init>", "([Ljava/lang/Object;)V", null, null);
+			init.visitCode();
+			init.visitVarInsn(ALOAD, 0);
+			init.visitMethodInsn(INVOKESPECIAL, SUPER, "<init>", "()V", false);
+			for (int i = 0; i < sites.size(); i++) {
+				String type = Type.getInternalName(sites.get(i).getClass());
+				cw.visitField(ACC_PRIVATE | ACC_FINAL, "site" + i, 'L' + type + ';', null, null).visitEnd();
+				init.visitVarInsn(ALOAD, 0);
+				init.visitVarInsn(ALOAD, 1);
+				push(init, i);
+				init.visitInsn(AALOAD);
+				init.visitTypeInsn(CHECKCAST, type);
+				init.visitFieldInsn(PUTFIELD, className, "site" + i, 'L' + type + ';');
+			}
+			init.visitInsn(RETURN);
+			init.visitMaxs(-1, -1);
+			init.visitEnd();
+			cw.visitEnd();
+			return cw.toByteArray();
+		}
+
+		private void loadArguments() {
+			int slot = 0;
+			if ((node.access & ACC_STATIC) == 0) {
+				loadArgument(Type.getObjectType("java/lang/Object"), slot++);
+			}
+			for (Type type : Type.getArgumentTypes(node.desc)) {
+				loadArgument(type, slot);
+				slot += type.getSize();
+			}
+		}
+
+		private void loadArgument(Type type, int slot) {
+			MethodVisitor mv = this.mv;
+			mv.visitVarInsn(ALOAD, LOCALS_SLOT);
+			push(mv, slot);
+			String kind = stackKind(type);
+			mv.visitMethodInsn(INVOKEINTERFACE, LOCALS, "load" + kind, "(I)" + stackDesc(type), true);
+			mv.visitVarInsn(type.getOpcode(ISTORE), FIRST_SLOT + slot);
+		}
+
+		private void collectTargets() {
+			Set<LabelNode> targets = this.targets;
+			for (AbstractInsnNode next = node.instructions.getFirst(); next != null; next = next.getNext()) {
+				// Switches are rewritten by the interpreter
+				AbstractInsnNode insn = unwrap(next);
+				if (insn instanceof JumpInsnNode) {
+					targets.add(((JumpInsnNode) insn).label);
+				} else if (insn instanceof TableSwitchInsnNode) {
+					TableSwitchInsnNode tableSwitch = (TableSwitchInsnNode) insn;
+					targets.add(tableSwitch.dflt);
+					targets.addAll(tableSwitch.labels);
+				} else if (insn instanceof LookupSwitchInsnNode) {
+					LookupSwitchInsnNode lookupSwitch = (LookupSwitchInsnNode) insn;
+					targets.add(lookupSwitch.dflt);
+					targets.addAll(lookupSwitch.labels);
+				}
+			}
+		}
+
+		private void translate(AbstractInsnNode insn) {
+			MethodVisitor mv = this.mv;
+			int opcode = insn.getOpcode();
+			if (opcode >= 0) {
+				position++;
+			}
+			switch (insn.getType()) {
+				case AbstractInsnNode.LABEL:
+					translateLabel((LabelNode) insn);
+					break;
+				case AbstractInsnNode.LINE:
+					setLineNumber(((LineNumberNode) insn).line);
+					break;
+				case AbstractInsnNode.FRAME:
+					break;
+				case AbstractInsnNode.INSN:
+					translateInsn(opcode);
+					break;
+				case AbstractInsnNode.INT_INSN:
+					IntInsnNode intInsn = (IntInsnNode) insn;
+					if (opcode == NEWARRAY) {
+						push(mv, intInsn.operand);
+						mv.visitVarInsn(ALOAD, CTX_SLOT);
+						invokeRuntime("newPrimitiveArray", "(II" + CTX_DESC + ')' + VALUE_DESC);
+					} else {
+						mv.visitIntInsn(opcode, intInsn.operand);
+					}
+					break;
+				case AbstractInsnNode.VAR_INSN:
+					mv.visitVarInsn(opcode, FIRST_SLOT + ((VarInsnNode) insn).var);
+					break;
+				case AbstractInsnNode.IINC_INSN:
+					IincInsnNode iinc = (IincInsnNode) insn;
+					mv.visitIincInsn(FIRST_SLOT + iinc.var, iinc.incr);
+					break;
+				case AbstractInsnNode.TYPE_INSN:
+					translateType((TypeInsnNode) insn);
+					break;
+				case AbstractInsnNode.FIELD_INSN:
+					translateField((FieldInsnNode) insn);
+					break;
+				case AbstractInsnNode.METHOD_INSN:
+					translateCall((MethodInsnNode) insn);
+					break;
+				case AbstractInsnNode.JUMP_INSN:
+					translateJump((JumpInsnNode) insn);
+					break;
+				case AbstractInsnNode.LDC_INSN:
+					translateConstant(((LdcInsnNode) insn).cst);
+					break;
+				case AbstractInsnNode.TABLESWITCH_INSN:
+					TableSwitchInsnNode tableSwitch = (TableSwitchInsnNode) insn;
+					safepoint(tableSwitch.dflt, tableSwitch.labels);
+					mv.visitTableSwitchInsn(tableSwitch.min, tableSwitch.max, label(tableSwitch.dflt), labels(tableSwitch.labels));
+					break;
+				case AbstractInsnNode.LOOKUPSWITCH_INSN:
+					LookupSwitchInsnNode lookupSwitch = (LookupSwitchInsnNode) insn;
+					safepoint(lookupSwitch.dflt, lookupSwitch.labels);
+					int[] keys = lookupSwitch.keys.stream().mapToInt(Integer::intValue).toArray();
+					mv.visitLookupSwitchInsn(label(lookupSwitch.dflt), keys, labels(lookupSwitch.labels));
+					break;
+				default:
+					throw new IllegalStateException("Unsupported instruction " + opcode);
+			}
+		}
+
+		private void translateLabel(LabelNode label) {
+			mv.visitLabel(label(label));
+			positions.put(label, position);
+			if (line != -1 && targets.contains(label)) {
+				// Jumps may come from another line.
+				AbstractInsnNode next = label.getNext();
+				while (next != null && (next.getType() == AbstractInsnNode.LABEL || next.getType() == AbstractInsnNode.FRAME)) {
+					next = next.getNext();
+				}
+				if (!(next instanceof LineNumberNode)) {
+					setLineNumber(line);
+				}
+			}
+		}
+
+		private void setLineNumber(int line) {
+			MethodVisitor mv = this.mv;
+			this.line = line;
+			mv.visitVarInsn(ALOAD, CTX_SLOT);
+			push(mv, line);
+			mv.visitMethodInsn(INVOKEINTERFACE, CTX, "setLineNumber", "(I)V", true);
+		}
+
+		private void translateInsn(int opcode) {
+			MethodVisitor mv = this.mv;
+			switch (opcode) {
+				case ACONST_NULL:
+					mv.visitVarInsn(ALOAD, CTX_SLOT);
+					invokeRuntime("nullValue", '(' + CTX_DESC + ')' + VALUE_DESC);
+					break;
+				case IDIV:
+				case IREM:
+					mv.visitInsn(DUP);
+					mv.visitVarInsn(ALOAD, CTX_SLOT);
+					invokeRuntime("checkDivisor", "(I" + CTX_DESC + ")V");
+					mv.visitInsn(opcode);
+					break;
+				case LDIV:
+				case LREM:
+					mv.visitInsn(DUP2);
+					mv.visitVarInsn(ALOAD, CTX_SLOT);
+					invokeRuntime("checkDivisor", "(J" + CTX_DESC + ")V");
+					mv.visitInsn(opcode);
+					break;
+				case IALOAD:
+				case LALOAD:
+				case FALOAD:
+				case DALOAD:
+				case AALOAD:
+				case BALOAD:
+				case CALOAD:
+				case SALOAD:
+					mv.visitVarInsn(ALOAD, CTX_SLOT);
+					invokeRuntime("arrayLoad" + ARRAY_KINDS[opcode - IALOAD], '(' + VALUE_DESC + 'I' + CTX_DESC + ')' + ARRAY_DESCS[opcode - IALOAD]);
+					break;
+				case IASTORE:
+				case LASTORE:
+				case FASTORE:
+				case DASTORE:
+				case AASTORE:
+				case BASTORE:
+				case CASTORE:
+				case SASTORE:
+					mv.visitVarInsn(ALOAD, CTX_SLOT);
+					invokeRuntime("arrayStore" + ARRAY_KINDS[opcode - IASTORE], '(' + VALUE_DESC + 'I' + ARRAY_DESCS[opcode - IASTORE] + CTX_DESC + ")V");
+					break;
+				case ARRAYLENGTH:
+					mv.visitVarInsn(ALOAD, CTX_SLOT);
+					invokeRuntime("arrayLength", '(' + VALUE_DESC + CTX_DESC + ")I");
+					break;
+				case ATHROW:
+					mv.visitVarInsn(ALOAD, CTX_SLOT);
+					invokeRuntime("throwException", '(' + VALUE_DESC + CTX_DESC + ")Ldev/xdark/ssvm/execution/PanicException;");
+					mv.visitInsn(ATHROW);
+					break;
+				case MONITORENTER:
+					mv.visitVarInsn(ALOAD, CTX_SLOT);
+					invokeRuntime("monitorEnter", '(' + VALUE_DESC + CTX_DESC + ")V");
+					break;
+				case MONITOREXIT:
+					mv.visitVarInsn(ALOAD, CTX_SLOT);
+					invokeRuntime("monitorExit", '(' + VALUE_DESC + CTX_DESC + ")V");
+					break;
+				case IRETURN:
+				case FRETURN:
+				case ARETURN:
+					mv.visitVarInsn(ALOAD, CTX_SLOT);
+					mv.visitInsn(SWAP);
+					setResult(opcode == IRETURN ? "I" : opcode == FRETURN ? "F" : VALUE_DESC);
+					break;
+				case LRETURN:
+				case DRETURN:
+					mv.visitVarInsn(ALOAD, CTX_SLOT);
+					mv.visitInsn(DUP_X2);
+					mv.visitInsn(POP);
+					setResult(opcode == LRETURN ? "J" : "D");
+					break;
+				default:
+					mv.visitInsn(opcode);
+			}
+		}
+
+		private void setResult(String desc) {
+			MethodVisitor mv = this.mv;
+			mv.visitMethodInsn(INVOKEINTERFACE, CTX, "setResult", '(' + desc + ")V", true);
+			mv.visitInsn(RETURN);
+		}
+
+		private void translateType(TypeInsnNode insn) {
+			MethodVisitor mv = this.mv;
+			String siteDesc = loadSite(new ClassSite(insn));
+			mv.visitVarInsn(ALOAD, CTX_SLOT);
+			switch (insn.getOpcode()) {
+				case NEW:
+					invokeRuntime("allocateInstance", '(' + siteDesc + CTX_DESC + ')' + VALUE_DESC);
+					break;
+				case ANEWARRAY:
+					invokeRuntime("newArray", "(I" + siteDesc + CTX_DESC + ')' + VALUE_DESC);
+					break;
+				case CHECKCAST:
+					invokeRuntime("checkCast", '(' + VALUE_DESC + siteDesc + CTX_DESC + ')' + VALUE_DESC);
+					break;
+				case INSTANCEOF:
+					invokeRuntime("instanceOf", '(' + VALUE_DESC + siteDesc + CTX_DESC + ")Z");
+					break;
+				default:
+					throw new IllegalStateException("Unsupported instruction " + insn.getOpcode());
+			}
+		}
+
+		private void translateField(FieldInsnNode insn) {
+			Type type = Type.getType(insn.desc);
+			String kind = kind(type);
+			String desc = stackDesc(type);
+			String siteDesc = loadSite(new FieldSite(insn));
+			mv.visitVarInsn(ALOAD, CTX_SLOT);
+			switch (insn.getOpcode()) {
+				case GETFIELD:
+					invokeRuntime("getField" + kind, '(' + VALUE_DESC + siteDesc + CTX_DESC + ')' + desc);
+					break;
+				case PUTFIELD:
+					invokeRuntime("putField" + kind, '(' + VALUE_DESC + desc + siteDesc + CTX_DESC + ")V");
+					break;
+				case GETSTATIC:
+					invokeRuntime("getStatic" + kind, '(' + siteDesc + CTX_DESC + ')' + desc);
+					break;
+				default:
+					invokeRuntime("putStatic" + kind, '(' + desc + siteDesc + CTX_DESC + ")V");
+			}
+		}
+
+		private void translateCall(MethodInsnNode insn) {
+			MethodVisitor mv = this.mv;
+			boolean isStatic = insn.getOpcode() == INVOKESTATIC;
+			Type[] args = Type.getArgumentTypes(insn.desc);
+			int[] argSlots = new int[args.length];
+			int slot = tempSlot;
+			int receiverSlot = slot;
+			if (!isStatic) {
+				slot++;
+			}
+			for (int i = 0; i < args.length; i++) {
+				argSlots[i] = slot;
+				slot += args[i].getSize();
+			}
+			int methodSlot = slot++;
+			int localsSlot = slot;
+			for (int i = args.length - 1; i >= 0; i--) {
+				mv.visitVarInsn(args[i].getOpcode(ISTORE), argSlots[i]);
+			}
+			if (!isStatic) {
+				mv.visitVarInsn(ASTORE, receiverSlot);
+			}
+			String siteDesc = loadSite(new InvocationSite(insn));
+			String site = siteDesc.substring(1, siteDesc.length() - 1);
+			if (isStatic || insn.getOpcode() == INVOKESPECIAL) {
+				mv.visitVarInsn(ALOAD, CTX_SLOT);
+				mv.visitMethodInsn(INVOKEVIRTUAL, site, "resolve", '(' + CTX_DESC + ')' + METHOD_DESC, false);
+			} else {
+				mv.visitVarInsn(ALOAD, receiverSlot);
+				mv.visitVarInsn(ALOAD, CTX_SLOT);
+				mv.visitMethodInsn(INVOKEVIRTUAL, site, "resolve", '(' + VALUE_DESC + CTX_DESC + ')' + METHOD_DESC, false);
+			}
+			mv.visitVarInsn(ASTORE, methodSlot);
+			mv.visitVarInsn(ALOAD, methodSlot);
+			mv.visitVarInsn(ALOAD, CTX_SLOT);
+			invokeRuntime("newLocals", '(' + METHOD_DESC + CTX_DESC + ')' + LOCALS_DESC);
+			mv.visitVarInsn(ASTORE, localsSlot);
+			int index = 0;
+			if (!isStatic) {
+				mv.visitVarInsn(ALOAD, localsSlot);
+				push(mv, index++);
+				mv.visitVarInsn(ALOAD, receiverSlot);
+				mv.visitMethodInsn(INVOKEINTERFACE, LOCALS, "setReference", "(I" + VALUE_DESC + ")V", true);
+			}
+			for (int i = 0; i < args.length; i++) {
+				Type arg = args[i];
+				mv.visitVarInsn(ALOAD, localsSlot);
+				push(mv, index);
+				mv.visitVarInsn(arg.getOpcode(ILOAD), argSlots[i]);
+				mv.visitMethodInsn(INVOKEINTERFACE, LOCALS, "set" + stackKind(arg), "(I" + stackDesc(arg) + ")V", true);
+				index += arg.getSize();
+			}
+			mv.visitVarInsn(ALOAD, methodSlot);
+			mv.visitVarInsn(ALOAD, localsSlot);
+			mv.visitVarInsn(ALOAD, CTX_SLOT);
+			Type returnType = Type.getReturnType(insn.desc);
+			String invokeDesc = '(' + METHOD_DESC + LOCALS_DESC + CTX_DESC + ')';
+			if (returnType.getSort() == Type.VOID) {
+				invokeRuntime("invokeVoid", invokeDesc + 'V');
+			} else {
+				invokeRuntime("invoke" + stackKind(returnType), invokeDesc + stackDesc(returnType));
+			}
+		}
+
+		private void translateJump(JumpInsnNode insn) {
+			MethodVisitor mv = this.mv;
+			Integer target = positions.get(insn.label);
+			if (target != null) {
+				safepoint(position - target);
+			}
+			Label label = label(insn.label);
+			switch (insn.getOpcode()) {
+				case IFNULL:
+					mv.visitMethodInsn(INVOKEINTERFACE, VALUE, "isNull", "()Z", true);
+					mv.visitJumpInsn(IFNE, label);
+					break;
+				case IFNONNULL:
+					mv.visitMethodInsn(INVOKEINTERFACE, VALUE, "isNull", "()Z", true);
+					mv.visitJumpInsn(IFEQ, label);
+					break;
+				default:
+					mv.visitJumpInsn(insn.getOpcode(), label);
+			}
+		}
+
+		private void translateConstant(Object cst) {
+			MethodVisitor mv = this.mv;
+			if (cst instanceof Integer || cst instanceof Float || cst instanceof Long || cst instanceof Double) {
+				mv.visitLdcInsn(cst);
+			} else if (cst instanceof Short || cst instanceof Byte) {
+				push(mv, ((Number) cst).intValue());
+			} else if (cst instanceof Character) {
+				push(mv, (Character) cst);
+			} else {
+				String siteDesc = loadSite(new ConstantSite(cst));
+				mv.visitVarInsn(ALOAD, CTX_SLOT);
+				invokeRuntime("constant", '(' + siteDesc + CTX_DESC + ')' + VALUE_DESC);
+			}
+		}
+
+		private void safepoint(LabelNode dflt, List<LabelNode> labels) {
+			int target = positions.getOrDefault(dflt, position);
+			for (LabelNode label : labels) {
+				target = Math.min(target, positions.getOrDefault(label, position));
+			}
+			if (target != position) {
+				safepoint(position - target);
+			}
+		}
+
+		private void safepoint(long executed) {
+			// Taken on both edges of conditional jumps,
+			// which only makes safe points more frequent
+			MethodVisitor mv = this.mv;
+			mv.visitVarInsn(ALOAD, CTX_SLOT);
+			mv.visitLdcInsn(executed);
+			mv.visitMethodInsn(INVOKESTATIC, INTERPRETER, "safepoint", '(' + CTX_DESC + "J)Z", false);
+			Label resume = new Label();
+			mv.visitJumpInsn(IFEQ, resume);
+			// Method is aborted
+			mv.visitInsn(RETURN);
+			mv.visitLabel(resume);
+		}
+
+		private String loadSite(Object site) {
+			int index = sites.size();
+			sites.add(site);
+			String desc = Type.getDescriptor(site.getClass());
+			mv.visitVarInsn(ALOAD, 0);
+			mv.visitFieldInsn(GETFIELD, className, "site" + index, desc);
+			return desc;
+		}
+
+		private void invokeRuntime(String name, String desc) {
+			mv.visitMethodInsn(INVOKESTATIC, RUNTIME, name, desc, false);
+		}
+
+		private Label label(LabelNode node) {
+			return labels.computeIfAbsent(node, x -> new Label());
+		}
+
+		private Label[] labels(List<LabelNode> nodes) {
+			Label[] labels = new Label[nodes.size()];
+			for (int i = 0; i < labels.length; i++) {
+				labels[i] = label(nodes.get(i));
+			}
+			return labels;
+		}
+
+		private static int maxLocals(MethodNode node) {
+			// Do not trust maxLocals of generated methods.
+			int max = Math.max(node.maxLocals, Type.getArgumentsAndReturnSizes(node.desc) >> 2);
+			for (AbstractInsnNode insn = node.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+				AbstractInsnNode target = unwrap(insn);
+				if (target instanceof VarInsnNode) {
+					max = Math.max(max, ((VarInsnNode) target).var + 2);
+				} else if (target instanceof IincInsnNode) {
+					max = Math.max(max, ((IincInsnNode) target).var + 1);
+				}
+			}
+			return max;
+		}
+
+		private static void push(MethodVisitor mv, int value) {
+			if (value >= -1 && value <= 5) {
+				mv.visitInsn(ICONST_0 + value);
+			} else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+				mv.visitIntInsn(BIPUSH, value);
+			} else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+				mv.visitIntInsn(SIPUSH, value);
+			} else {
+				mv.visitLdcInsn(value);
+			}
+		}
+	}
+}
@@ -0,0 +1,239 @@
+package dev.xdark.ssvm.execution.register;
+
+import dev.xdark.ssvm.api.MethodInvoker;
+import dev.xdark.ssvm.api.VMInterface;
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.Interpreter;
+import dev.xdark.ssvm.execution.Locals;
+import dev.xdark.ssvm.execution.Result;
+import dev.xdark.ssvm.operation.VMOperations;
+import dev.xdark.ssvm.value.ObjectValue;
+
+import static dev.xdark.ssvm.execution.register.RegisterOpcodes.*;
+
+/**
+ * Method translated to register code.
+ * <p>
+ * Every instruction is four ints wide: opcode and three
+ * register operands, or two registers and a jump target.
+ * Locals, operand stack slots and constants all live in registers
+ * of the frame, so operands are never pushed or popped.
+ *
+ * @author xDark
+ * @see RegisterTranslator
+ */
+public final class RegisterMethod implements MethodInvoker {
+
+	private final int[] code;
+	private final int[] positions;
+	private final int[] constants;
+	private final int registers;
+	private final boolean[] referenceArgs;
+	private final boolean usesReferences;
+
+	RegisterMethod(int[] code, int[] positions, int[] constants, int registers, boolean[] referenceArgs, boolean usesReferences) {
+		this.code = code;
+		this.positions = positions;
+		this.constants = constants;
+		this.registers = registers;
+		this.referenceArgs = referenceArgs;
+		this.usesReferences = usesReferences;
+	}
+
+	/**
+	 * @return amount of register instructions.
+	 */
+	public int length() {
+		return code.length / 4;
+	}
+
+	@Override
+	public Result intercept(ExecutionContext<?> ctx) {
+		VMInterface vmi = ctx.getVM().getInterface();
+		if (!vmi.getInstructionInterceptors().isEmpty() || vmi.isProfiling()) {
+			// Interceptors and profiles need the original instructions.
+			Interpreter.execute(ctx);
+		} else if (!Interpreter.safepoint(ctx, 0L)) {
+			execute(ctx);
+		}
+		return Result.ABORT;
+	}
+
+	private void execute(ExecutionContext<?> ctx) {
+		int[] constants = this.constants;
+		int[] r = new int[registers];
+		ObjectValue[] refs = usesReferences ? new ObjectValue[registers] : null;
+		System.arraycopy(constants, 0, r, registers - constants.length, constants.length);
+		Locals locals = ctx.getLocals();
+		boolean[] referenceArgs = this.referenceArgs;
+		for (int i = 0; i < referenceArgs.length; i++) {
+			if (referenceArgs[i]) {
+				refs[i] = locals.loadReference(i);
+			} else {
+				r[i] = locals.loadInt(i);
+			}
+		}
+		VMOperations ops = ctx.getOperations();
+		int[] code = this.code;
+		int pc = 0;
+		while (true) {
+			int a = code[pc + 1];
+			int b = code[pc + 2];
+			int c = code[pc + 3];
+			switch (code[pc]) {
+				case MOVE:
+					r[a] = r[b];
+					break;
+				case MOVE_REFERENCE:
+					refs[a] = refs[b];
+					break;
+				case ADD:
+					r[a] = r[b] + r[c];
+					break;
+				case SUB:
+					r[a] = r[b] - r[c];
+					break;
+				case MUL:
+					r[a] = r[b] * r[c];
+					break;
+				case DIV:
+				case REM: {
+					int divisor = r[c];
+					if (divisor == 0) {
+						mark(ctx, pc);
+						ops.throwException(ctx.getSymbols().java_lang_ArithmeticException(), "/ by zero");
+					}
+					r[a] = code[pc] == DIV ? r[b] / divisor : r[b] % divisor;
+					break;
+				}
+				case AND:
+					r[a] = r[b] & r[c];
+					break;
+				case OR:
+					r[a] = r[b] | r[c];
+					break;
+				case XOR:
+					r[a] = r[b] ^ r[c];
+					break;
+				case SHL:
+					r[a] = r[b] << r[c];
+					break;
+				case SHR:
+					r[a] = r[b] >> r[c];
+					break;
+				case USHR:
+					r[a] = r[b] >>> r[c];
+					break;
+				case NEG:
+					r[a] = -r[b];
+					break;
+				case I2B:
+					r[a] = (byte) r[b];
+					break;
+				case I2C:
+					r[a] = (char) r[b];
+					break;
+				case I2S:
+					r[a] = (short) r[b];
+					break;
+				case ARRAY_LENGTH:
+					mark(ctx, pc);
+					r[a] = ops.getArrayLength(refs[b]);
+					break;
+				case LOAD_INT:
+					mark(ctx, pc);
+					r[a] = ops.arrayLoadInt(refs[b], r[c]);
+					break;
+				case LOAD_BYTE:
+					mark(ctx, pc);
+					r[a] = ops.arrayLoadByte(refs[b], r[c]);
+					break;
+				case LOAD_CHAR:
+					mark(ctx, pc);
+					r[a] = ops.arrayLoadChar(refs[b], r[c]);
+					break;
+				case LOAD_SHORT:
+					mark(ctx, pc);
+					r[a] = ops.arrayLoadShort(refs[b], r[c]);
+					break;
+				case STORE_INT:
+					mark(ctx, pc);
+					ops.arrayStoreInt(refs[a], r[b], r[c]);
+					break;
+				case STORE_BYTE:
+					mark(ctx, pc);
+					ops.arrayStoreByte(refs[a], r[b], (byte) r[c]);
+					break;
+				case STORE_CHAR:
+					mark(ctx, pc);
+					ops.arrayStoreChar(refs[a], r[b], (char) r[c]);
+					break;
+				case STORE_SHORT:
+					mark(ctx, pc);
+					ops.arrayStoreShort(refs[a], r[b], (short) r[c]);
+					break;
+				case JUMP_EQ:
+					if (r[a] == r[b]) {
+						pc = jump(ctx, pc, c);
+						continue;
+					}
+					break;
+				case JUMP_NE:
+					if (r[a] != r[b]) {
+						pc = jump(ctx, pc, c);
+						continue;
+					}
+					break;
+				case JUMP_LT:
+					if (r[a] < r[b]) {
+						pc = jump(ctx, pc, c);
+						continue;
+					}
+					break;
+				case JUMP_GE:
+					if (r[a] >= r[b]) {
+						pc = jump(ctx, pc, c);
+						continue;
+					}
+					break;
+				case JUMP_GT:
+					if (r[a] > r[b]) {
+						pc = jump(ctx, pc, c);
+						continue;
+					}
+					break;
+				case JUMP_LE:
+					if (r[a] <= r[b]) {
+						pc = jump(ctx, pc, c);
+						continue;
+					}
+					break;
+				case GOTO:
+					pc = jump(ctx, pc, c);
+					continue;
+				case RETURN_INT:
+					ctx.setResult(r[a]);
+					return;
+				case RETURN:
+					return;
+				default:
+					throw new IllegalStateException("Unknown register opcode " + code[pc]);
+			}
+			pc += 4;
+		}
+	}
+
+	private int jump(ExecutionContext<?> ctx, int pc, int target) {
+		if (target <= pc && Interpreter.safepoint(ctx, (pc - target) / 4 + 1)) {
+			// Method is aborted, leave through RETURN
+			return code.length - 4;
+		}
+		return target;
+	}
+
+	// Instructions that may throw update the position,
+	// so that stack traces have line numbers
+	private void mark(ExecutionContext<?> ctx, int pc) {
+		ctx.setInsnPosition(positions[pc / 4] + 1);
+	}
+}
@@ -0,0 +1,45 @@
+package dev.xdark.ssvm.execution.register;
+
+/**
+ * Opcodes of the register code.
+ *
+ * @author xDark
+ */
+interface RegisterOpcodes {
+
+	int MOVE = 0;
+	int MOVE_REFERENCE = 1;
+	int ADD = 2;
+	int SUB = 3;
+	int MUL = 4;
+	int DIV = 5;
+	int REM = 6;
+	int AND = 7;
+	int OR = 8;
+	int XOR = 9;
+	int SHL = 10;
+	int SHR = 11;
+	int USHR = 12;
+	int NEG = 13;
+	int I2B = 14;
+	int I2C = 15;
+	int I2S = 16;
+	int ARRAY_LENGTH = 17;
+	int LOAD_INT = 18;
+	int LOAD_BYTE = 19;
+	int LOAD_CHAR = 20;
+	int LOAD_SHORT = 21;
+	int STORE_INT = 22;
+	int STORE_BYTE = 23;
+	int STORE_CHAR = 24;
+	int STORE_SHORT = 25;
+	int JUMP_EQ = 26;
+	int JUMP_NE = 27;
+	int JUMP_LT = 28;
+	int JUMP_GE = 29;
+	int JUMP_GT = 30;
+	int JUMP_LE = 31;
+	int GOTO = 32;
+	int RETURN_INT = 33;
+	int RETURN = 34;
+}
@@ -0,0 +1,390 @@
+package dev.xdark.ssvm.execution.register;
+
+import dev.xdark.ssvm.asm.DelegatingInsnNode;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.IincInsnNode;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.VarInsnNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static dev.xdark.ssvm.execution.register.RegisterOpcodes.*;
+
+/**
+ * Translates stack code to register code.
+ * <p>
+ * Operand stack slots are mapped to registers placed after locals,
+ * constants get registers of their own. Loads of locals and constants
+ * do not produce instructions, operations read the registers directly,
+ * and a store of a computed value writes the local instead of the
+ * stack slot.
+ * Only int arithmetic, int-like arrays and branches are supported,
+ * the operand stack must be empty at every jump and jump target.
+ * Other methods are left to the interpreter.
+ *
+ * @author xDark
+ */
+public final class RegisterTranslator {
+
+	private final int maxLocals;
+	private final int[] stack;
+	private final boolean[] stackReferences;
+	private final Map<Integer, Integer> constantRegisters = new HashMap<>();
+	private final List<Integer> constants = new ArrayList<>();
+	private final Map<LabelNode, Integer> labels = new HashMap<>();
+	private final Set<LabelNode> targets = new HashSet<>();
+	private final List<LabelNode> fixupLabels = new ArrayList<>();
+	private final List<Integer> fixupIndices = new ArrayList<>();
+	private int[] code = new int[64];
+	private int[] positions = new int[16];
+	private int length;
+	private int sp;
+	private int position;
+	private int lastDestination = -1;
+	private boolean usesReferences;
+
+	private RegisterTranslator(MethodNode node) {
+		maxLocals = node.maxLocals;
+		stack = new int[node.maxStack];
+		stackReferences = new boolean[node.maxStack];
+	}
+
+	/**
+	 * @param method Method to translate.
+	 * @return translated method or {@code null},
+	 * if the method cannot be translated.
+	 */
+	public static RegisterMethod translate(JavaMethod method) {
+		MethodNode node = method.getNode();
+		if ((node.access & (Opcodes.ACC_NATIVE | Opcodes.ACC_ABSTRACT)) != 0 || node.instructions.size() == 0 || !node.tryCatchBlocks.isEmpty()) {
+			return null;
+		}
+		int returnSort = Type.getReturnType(node.desc).getSort();
+		if (returnSort != Type.VOID && !isInt(returnSort)) {
+			return null;
+		}
+		boolean[] referenceArgs = new boolean[method.getMaxArgs()];
+		int slot = 0;
+		if ((node.access & Opcodes.ACC_STATIC) == 0) {
+			referenceArgs[slot++] = true;
+		}
+		for (Type arg : Type.getArgumentTypes(node.desc)) {
+			int sort = arg.getSort();
+			if (sort == Type.ARRAY || sort == Type.OBJECT) {
+				referenceArgs[slot] = true;
+			} else if (!isInt(sort)) {
+				return null;
+			}
+			slot++;
+		}
+		RegisterTranslator translator = new RegisterTranslator(node);
+		for (boolean reference : referenceArgs) {
+			translator.usesReferences |= reference;
+		}
+		return translator.translate(node, referenceArgs);
+	}
+
+	private RegisterMethod translate(MethodNode node, boolean[] referenceArgs) {
+		for (AbstractInsnNode insn = node.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+			AbstractInsnNode unwrapped = unwrap(insn);
+			if (unwrapped instanceof JumpInsnNode) {
+				targets.add(((JumpInsnNode) unwrapped).label);
+			}
+		}
+		for (AbstractInsnNode insn = node.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+			if (insn instanceof LabelNode) {
+				if (targets.contains(insn) && sp != 0) {
+					return null;
+				}
+				labels.put((LabelNode) insn, length);
+				lastDestination = -1;
+				continue;
+			}
+			if (insn.getOpcode() == -1) {
+				continue;
+			}
+			if (!translate(unwrap(insn))) {
+				return null;
+			}
+			position++;
+		}
+		// Aborted frames leave through the trailing return
+		emit(RETURN, 0, 0, 0);
+		for (int i = 0; i < fixupLabels.size(); i++) {
+			Integer target = labels.get(fixupLabels.get(i));
+			if (target == null) {
+				return null;
+			}
+			code[fixupIndices.get(i)] = target;
+		}
+		int[] constants = new int[this.constants.size()];
+		for (int i = 0; i < constants.length; i++) {
+			constants[i] = this.constants.get(i);
+		}
+		int registers = maxLocals + stack.length + constants.length;
+		return new RegisterMethod(Arrays.copyOf(code, length), Arrays.copyOf(positions, length / 4), constants, registers, referenceArgs, usesReferences);
+	}
+
+	private boolean translate(AbstractInsnNode insn) {
+		int opcode = insn.getOpcode();
+		switch (opcode) {
+			case Opcodes.NOP:
+				return true;
+			case Opcodes.ICONST_M1:
+			case Opcodes.ICONST_0:
+			case Opcodes.ICONST_1:
+			case Opcodes.ICONST_2:
+			case Opcodes.ICONST_3:
+			case Opcodes.ICONST_4:
+			case Opcodes.ICONST_5:
+				push(constant(opcode - Opcodes.ICONST_0), false);
+				return true;
+			case Opcodes.BIPUSH:
+			case Opcodes.SIPUSH:
+				push(constant(((IntInsnNode) insn).operand), false);
+				return true;
+			case Opcodes.LDC: {
+				Object cst = ((LdcInsnNode) insn).cst;
+				if (!(cst instanceof Integer)) {
+					return false;
+				}
+				push(constant((Integer) cst), false);
+				return true;
+			}
+			case Opcodes.ILOAD:
+				push(((VarInsnNode) insn).var, false);
+				return true;
+			case Opcodes.ALOAD:
+				usesReferences = true;
+				push(((VarInsnNode) insn).var, true);
+				return true;
+			case Opcodes.ISTORE:
+				store(((VarInsnNode) insn).var, false);
+				return true;
+			case Opcodes.ASTORE:
+				usesReferences = true;
+				store(((VarInsnNode) insn).var, true);
+				return true;
+			case Opcodes.IINC: {
+				IincInsnNode iinc = (IincInsnNode) insn;
+				materialize(iinc.var);
+				emit(ADD, iinc.var, iinc.var, constant(iinc.incr));
+				return true;
+			}
+			case Opcodes.POP:
+				sp--;
+				return true;
+			case Opcodes.DUP:
+				push(stack[sp - 1], stackReferences[sp - 1]);
+				return true;
+			case Opcodes.IADD:
+				return binary(ADD);
+			case Opcodes.ISUB:
+				return binary(SUB);
+			case Opcodes.IMUL:
+				return binary(MUL);
+			case Opcodes.IDIV:
+				return binary(DIV);
+			case Opcodes.IREM:
+				return binary(REM);
+			case Opcodes.IAND:
+				return binary(AND);
+			case Opcodes.IOR:
+				return binary(OR);
+			case Opcodes.IXOR:
+				return binary(XOR);
+			case Opcodes.ISHL:
+				return binary(SHL);
+			case Opcodes.ISHR:
+				return binary(SHR);
+			case Opcodes.IUSHR:
+				return binary(USHR);
+			case Opcodes.INEG:
+				return unary(NEG);
+			case Opcodes.I2B:
+				return unary(I2B);
+			case Opcodes.I2C:
+				return unary(I2C);
+			case Opcodes.I2S:
+				return unary(I2S);
+			case Opcodes.ARRAYLENGTH:
+				return unary(ARRAY_LENGTH);
+			case Opcodes.IALOAD:
+				return binary(LOAD_INT);
+			case Opcodes.BALOAD:
+				return binary(LOAD_BYTE);
+			case Opcodes.CALOAD:
+				return binary(LOAD_CHAR);
+			case Opcodes.SALOAD:
+				return binary(LOAD_SHORT);
+			case Opcodes.IASTORE:
+				return arrayStore(STORE_INT);
+			case Opcodes.BASTORE:
+				return arrayStore(STORE_BYTE);
+			case Opcodes.CASTORE:
+				return arrayStore(STORE_CHAR);
+			case Opcodes.SASTORE:
+				return arrayStore(STORE_SHORT);
+			case Opcodes.IFEQ:
+			case Opcodes.IFNE:
+			case Opcodes.IFLT:
+			case Opcodes.IFGE:
+			case Opcodes.IFGT:
+			case Opcodes.IFLE: {
+				int value = stack[--sp];
+				return jump(JUMP_EQ + (opcode - Opcodes.IFEQ), value, constant(0), ((JumpInsnNode) insn).label);
+			}
+			case Opcodes.IF_ICMPEQ:
+			case Opcodes.IF_ICMPNE:
+			case Opcodes.IF_ICMPLT:
+			case Opcodes.IF_ICMPGE:
+			case Opcodes.IF_ICMPGT:
+			case Opcodes.IF_ICMPLE: {
+				int right = stack[--sp];
+				int left = stack[--sp];
+				return jump(JUMP_EQ + (opcode - Opcodes.IF_ICMPEQ), left, right, ((JumpInsnNode) insn).label);
+			}
+			case Opcodes.GOTO:
+				return jump(GOTO, 0, 0, ((JumpInsnNode) insn).label);
+			case Opcodes.IRETURN:
+				emit(RETURN_INT, stack[--sp], 0, 0);
+				return true;
+			case Opcodes.RETURN:
+				emit(RETURN, 0, 0, 0);
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private boolean unary(int op) {
+		int value = stack[--sp];
+		int destination = maxLocals + sp;
+		emit(op, destination, value, 0);
+		lastDestination = destination;
+		push(destination, false);
+		return true;
+	}
+
+	private boolean binary(int op) {
+		int right = stack[--sp];
+		int left = stack[--sp];
+		int destination = maxLocals + sp;
+		emit(op, destination, left, right);
+		lastDestination = destination;
+		push(destination, false);
+		return true;
+	}
+
+	private boolean arrayStore(int op) {
+		int value = stack[--sp];
+		int index = stack[--sp];
+		int array = stack[--sp];
+		emit(op, array, index, value);
+		return true;
+	}
+
+	private boolean jump(int op, int left, int right, LabelNode label) {
+		if (sp != 0) {
+			return false;
+		}
+		emit(op, left, right, 0);
+		fixupLabels.add(label);
+		fixupIndices.add(length - 1);
+		return true;
+	}
+
+	private void store(int local, boolean reference) {
+		int value = stack[--sp];
+		if (value == local) {
+			return;
+		}
+		materialize(local);
+		if (value == lastDestination && !isOnStack(value)) {
+			// Write the result straight into the local
+			code[length - 3] = local;
+			lastDestination = -1;
+		} else {
+			emit(reference ? MOVE_REFERENCE : MOVE, local, value, 0);
+		}
+	}
+
+	// Pending loads of a local must be copied
+	// before the local is overwritten
+	private void materialize(int local) {
+		for (int i = 0; i < sp; i++) {
+			if (stack[i] == local) {
+				int temporary = maxLocals + i;
+				emit(stackReferences[i] ? MOVE_REFERENCE : MOVE, temporary, local, 0);
+				stack[i] = temporary;
+			}
+		}
+	}
+
+	private boolean isOnStack(int register) {
+		for (int i = 0; i < sp; i++) {
+			if (stack[i] == register) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void push(int register, boolean reference) {
+		stack[sp] = register;
+		stackReferences[sp++] = reference;
+	}
+
+	private int constant(int value) {
+		Integer register = constantRegisters.get(value);
+		if (register == null) {
+			register = maxLocals + stack.length + constants.size();
+			constants.add(value);
+			constantRegisters.put(value, register);
+		}
+		return register;
+	}
+
+	private void emit(int op, int a, int b, int c) {
+		int length = this.length;
+		int[] code = this.code;
+		if (length + 4 > code.length) {
+			this.code = code = Arrays.copyOf(code, code.length * 2);
+		}
+		code[length] = op;
+		code[length + 1] = a;
+		code[length + 2] = b;
+		code[length + 3] = c;
+		int index = length / 4;
+		if (index == positions.length) {
+			positions = Arrays.copyOf(positions, index * 2);
+		}
+		positions[index] = position;
+		this.length = length + 4;
+		lastDestination = -1;
+	}
+
+	private static boolean isInt(int sort) {
+		return sort >= Type.BOOLEAN && sort <= Type.INT;
+	}
+
+	private static AbstractInsnNode unwrap(AbstractInsnNode insn) {
+		while (insn instanceof DelegatingInsnNode) {
+			insn = ((DelegatingInsnNode<?>) insn).getDelegate();
+		}
+		return insn;
+	}
+}
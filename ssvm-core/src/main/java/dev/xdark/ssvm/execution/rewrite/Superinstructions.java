@@ -0,0 +1,85 @@
+package dev.xdark.ssvm.execution.rewrite;
+
+import dev.xdark.ssvm.api.VMInterface;
+import dev.xdark.ssvm.asm.FusedInsnNode;
+import dev.xdark.ssvm.execution.MethodCode;
+import lombok.experimental.UtilityClass;
+import org.objectweb.asm.tree.AbstractInsnNode;
+
+import static dev.xdark.ssvm.asm.VMOpcodes.*;
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Fuses common instruction sequences
+ * into superinstructions.
+ * Callers check {@link VMInterface#isSuperinstructions()}.
+ *
+ * @author xDark
+ * @see FusedInsnNode
+ */
+@UtilityClass
+public class Superinstructions {
+	/**
+	 * Fuses sequences that do not need
+	 * any resolution.
+	 *
+	 * @param code Code to rewrite.
+	 */
+	public void fuse(MethodCode code) {
+		for (int i = 0, j = code.length(); i < j; i++) {
+			int length = 0;
+			int opcode = -1;
+			switch (code.getOpcode(i)) {
+				case ILOAD:
+					if (i + 2 < j && code.getOpcode(i + 1) == ILOAD) {
+						int jump = code.getOpcode(i + 2);
+						if (jump >= IF_ICMPEQ && jump <= IF_ICMPLE) {
+							length = 3;
+							opcode = VM_ILOAD_ILOAD_IF_ICMPEQ + (jump - IF_ICMPEQ);
+						}
+					} else if (i + 1 < j && code.getOpcode(i + 1) == IALOAD) {
+						length = 2;
+						opcode = VM_ILOAD_IALOAD;
+					}
+					break;
+				case IINC:
+					if (i + 1 < j && code.getOpcode(i + 1) == GOTO) {
+						length = 2;
+						opcode = VM_IINC_GOTO;
+					}
+					break;
+				case ALOAD:
+					if (i + 1 < j && code.getOpcode(i + 1) == ARRAYLENGTH) {
+						length = 2;
+						opcode = VM_ALOAD_ARRAYLENGTH;
+					}
+					break;
+			}
+			if (opcode != -1) {
+				replace(code, i, length, opcode);
+				i += length - 1;
+			}
+		}
+	}
+
+	/**
+	 * Fuses ALOAD with the following, already
+	 * rewritten, GETFIELD instruction.
+	 *
+	 * @param code     Code to rewrite.
+	 * @param position Position of GETFIELD instruction.
+	 */
+	public void fuseFieldLoad(MethodCode code, int position) {
+		if (position > 0 && code.getOpcode(position - 1) == ALOAD) {
+			replace(code, position - 1, 2, VM_ALOAD_GETFIELD);
+		}
+	}
+
+	private static void replace(MethodCode code, int position, int length, int opcode) {
+		AbstractInsnNode[] instructions = new AbstractInsnNode[length];
+		for (int i = 0; i < length; i++) {
+			instructions[i] = code.getInstruction(position + i);
+		}
+		code.replace(instructions[0], new FusedInsnNode(instructions, opcode));
+	}
+}
@@ -0,0 +1,21 @@
+package dev.xdark.ssvm.execution.rewrite;
+
+import dev.xdark.ssvm.asm.VMTypeInsnNode;
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.Result;
+import dev.xdark.ssvm.execution.Stack;
+import dev.xdark.ssvm.value.ObjectValue;
+
+/**
+ * Fast path for INSTANCEOF.
+ */
+public final class VMInstanceofProcessor implements InstructionProcessor<VMTypeInsnNode> {
+	@Override
+	public Result execute(VMTypeInsnNode insn, ExecutionContext<?> ctx) {
+		Stack stack = ctx.getStack();
+		ObjectValue value = stack.popReference();
+		stack.pushInt(!value.isNull() && insn.isAssignableFrom(value.getJavaClass()) ? 1 : 0);
+		return Result.CONTINUE;
+	}
+}
@@ -4,6 +4,8 @@ import dev.xdark.ssvm.asm.VMTypeInsnNode;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.InstructionProcessor;
 import dev.xdark.ssvm.execution.Result;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import dev.xdark.ssvm.value.ObjectValue;
 
 /**
  * Fast path for NEW instruction.
@@ -14,7 +16,15 @@ public final class VMNewProcessor implements InstructionProcessor<VMTypeInsnNode
 
 	@Override
 	public Result execute(VMTypeInsnNode insn, ExecutionContext<?> ctx) {
-		ctx.getStack().pushReference(ctx.getOperations().allocateInstance(insn.getJavaType()));
+		InstanceClass klass = (InstanceClass) insn.getJavaType();
+		ObjectValue value;
+		if (klass.isInitialized() && klass.canAllocateInstance()) {
+			// No initialization barrier needed
+			value = ctx.getMemoryManager().newInstance(klass);
+		} else {
+			value = ctx.getOperations().allocateInstance(klass);
+		}
+		ctx.getStack().pushReference(value);
 		return Result.CONTINUE;
 	}
 }
@@ -0,0 +1,17 @@
+package dev.xdark.ssvm.execution.rewrite;
+
+import dev.xdark.ssvm.asm.VMSwitchInsnNode;
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.Result;
+
+/**
+ * Fast path for TABLESWITCH and LOOKUPSWITCH.
+ */
+public final class VMSwitchProcessor implements InstructionProcessor<VMSwitchInsnNode> {
+	@Override
+	public Result execute(VMSwitchInsnNode insn, ExecutionContext<?> ctx) {
+		ctx.setInsnPosition(insn.getTarget(ctx.getStack().popInt()));
+		return Result.CONTINUE;
+	}
+}
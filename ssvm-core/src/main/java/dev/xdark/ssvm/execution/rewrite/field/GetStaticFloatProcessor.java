@@ -18,7 +18,7 @@ public final class GetStaticFloatProcessor implements InstructionProcessor<VMFie
 	public Result execute(VMFieldInsnNode insn, ExecutionContext<?> ctx) {
 		JavaField field = insn.getResolved();
 		InstanceClass klass = field.getOwner();
-		float value = Float.floatToRawIntBits(klass.getOop().getData().readInt(field.getOffset()));
+		float value = Float.intBitsToFloat(klass.getOop().getData().readInt(field.getOffset()));
 		ctx.getStack().pushFloat(value);
 		return Result.CONTINUE;
 	}
@@ -0,0 +1,27 @@
+package dev.xdark.ssvm.execution.rewrite.fused;
+
+import dev.xdark.ssvm.asm.FusedInsnNode;
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.Locals;
+import dev.xdark.ssvm.execution.Result;
+import org.objectweb.asm.tree.IincInsnNode;
+
+/**
+ * Fused IINC and GOTO.
+ *
+ * @author xDark
+ */
+public final class IncrementJumpProcessor implements InstructionProcessor<FusedInsnNode> {
+
+	@Override
+	public Result execute(FusedInsnNode insn, ExecutionContext<?> ctx) {
+		Locals locals = ctx.getLocals();
+		IincInsnNode increment = insn.getInstruction(0);
+		int idx = increment.var;
+		locals.setInt(idx, locals.loadInt(idx) + increment.incr);
+		// GOTO follows the head
+		ctx.setInsnPosition(ctx.getMethod().getCode().getJumpTarget(ctx.getInsnPosition()));
+		return Result.CONTINUE;
+	}
+}
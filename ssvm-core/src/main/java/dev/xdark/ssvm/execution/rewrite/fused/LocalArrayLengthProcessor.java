@@ -0,0 +1,26 @@
+package dev.xdark.ssvm.execution.rewrite.fused;
+
+import dev.xdark.ssvm.asm.FusedInsnNode;
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.Result;
+import dev.xdark.ssvm.value.ObjectValue;
+import org.objectweb.asm.tree.VarInsnNode;
+
+/**
+ * Fused ALOAD and ARRAYLENGTH.
+ *
+ * @author xDark
+ */
+public final class LocalArrayLengthProcessor implements InstructionProcessor<FusedInsnNode> {
+
+	@Override
+	public Result execute(FusedInsnNode insn, ExecutionContext<?> ctx) {
+		VarInsnNode load = insn.getInstruction(0);
+		ObjectValue array = ctx.getLocals().loadReference(load.var);
+		// Exceptions must be reported at ARRAYLENGTH
+		ctx.setInsnPosition(ctx.getInsnPosition() + 1);
+		ctx.getStack().pushInt(ctx.getOperations().getArrayLength(array));
+		return Result.CONTINUE;
+	}
+}
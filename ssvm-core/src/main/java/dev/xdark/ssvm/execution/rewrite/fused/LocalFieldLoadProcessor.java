@@ -0,0 +1,27 @@
+package dev.xdark.ssvm.execution.rewrite.fused;
+
+import dev.xdark.ssvm.asm.FusedInsnNode;
+import dev.xdark.ssvm.asm.VMFieldInsnNode;
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.Result;
+import org.objectweb.asm.tree.VarInsnNode;
+
+/**
+ * Fused ALOAD and rewritten GETFIELD.
+ *
+ * @author xDark
+ */
+public final class LocalFieldLoadProcessor implements InstructionProcessor<FusedInsnNode> {
+
+	@Override
+	public Result execute(FusedInsnNode insn, ExecutionContext<?> ctx) {
+		VarInsnNode load = insn.getInstruction(0);
+		VMFieldInsnNode field = insn.getInstruction(1);
+		ctx.getStack().pushReference(ctx.getLocals().loadReference(load.var));
+		// Exceptions must be reported at GETFIELD
+		ctx.setInsnPosition(ctx.getInsnPosition() + 1);
+		InstructionProcessor<VMFieldInsnNode> processor = ctx.getVM().getInterface().getProcessor(field);
+		return processor.execute(field, ctx);
+	}
+}
@@ -0,0 +1,29 @@
+package dev.xdark.ssvm.execution.rewrite.fused;
+
+import dev.xdark.ssvm.asm.FusedInsnNode;
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.Result;
+import dev.xdark.ssvm.execution.Stack;
+import dev.xdark.ssvm.value.ObjectValue;
+import org.objectweb.asm.tree.VarInsnNode;
+
+/**
+ * Fused ILOAD and IALOAD.
+ *
+ * @author xDark
+ */
+public final class LocalIntArrayLoadProcessor implements InstructionProcessor<FusedInsnNode> {
+
+	@Override
+	public Result execute(FusedInsnNode insn, ExecutionContext<?> ctx) {
+		VarInsnNode load = insn.getInstruction(0);
+		int index = ctx.getLocals().loadInt(load.var);
+		// Exceptions must be reported at IALOAD
+		ctx.setInsnPosition(ctx.getInsnPosition() + 1);
+		Stack stack = ctx.getStack();
+		ObjectValue array = stack.popReference();
+		stack.pushInt(ctx.getOperations().arrayLoadInt(array, index));
+		return Result.CONTINUE;
+	}
+}
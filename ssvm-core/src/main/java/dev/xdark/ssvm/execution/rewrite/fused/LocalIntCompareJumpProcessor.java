@@ -0,0 +1,59 @@
+package dev.xdark.ssvm.execution.rewrite.fused;
+
+import dev.xdark.ssvm.asm.FusedInsnNode;
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.InstructionProcessor;
+import dev.xdark.ssvm.execution.Locals;
+import dev.xdark.ssvm.execution.Result;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.VarInsnNode;
+
+import static org.objectweb.asm.Opcodes.IF_ICMPEQ;
+import static org.objectweb.asm.Opcodes.IF_ICMPGE;
+import static org.objectweb.asm.Opcodes.IF_ICMPGT;
+import static org.objectweb.asm.Opcodes.IF_ICMPLE;
+import static org.objectweb.asm.Opcodes.IF_ICMPLT;
+import static org.objectweb.asm.Opcodes.IF_ICMPNE;
+
+/**
+ * Fused ILOAD, ILOAD and IF_ICMPxx.
+ *
+ * @author xDark
+ */
+public final class LocalIntCompareJumpProcessor implements InstructionProcessor<FusedInsnNode> {
+
+	@Override
+	public Result execute(FusedInsnNode insn, ExecutionContext<?> ctx) {
+		Locals locals = ctx.getLocals();
+		VarInsnNode first = insn.getInstruction(0);
+		VarInsnNode second = insn.getInstruction(1);
+		JumpInsnNode jump = insn.getInstruction(2);
+		// The jump is the last instruction of the sequence
+		int position = ctx.getInsnPosition() + 1;
+		if (test(jump.getOpcode(), locals.loadInt(first.var), locals.loadInt(second.var))) {
+			ctx.setInsnPosition(ctx.getMethod().getCode().getJumpTarget(position));
+		} else {
+			ctx.setInsnPosition(position + 1);
+		}
+		return Result.CONTINUE;
+	}
+
+	private static boolean test(int opcode, int v1, int v2) {
+		switch (opcode) {
+			case IF_ICMPEQ:
+				return v1 == v2;
+			case IF_ICMPNE:
+				return v1 != v2;
+			case IF_ICMPLT:
+				return v1 < v2;
+			case IF_ICMPGE:
+				return v1 >= v2;
+			case IF_ICMPGT:
+				return v1 > v2;
+			case IF_ICMPLE:
+				return v1 <= v2;
+			default:
+				throw new IllegalStateException("Unexpected opcode " + opcode);
+		}
+	}
+}
@@ -8,6 +8,7 @@ import dev.xdark.ssvm.execution.Locals;
 import dev.xdark.ssvm.execution.Result;
 import dev.xdark.ssvm.execution.Stack;
 import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
 import dev.xdark.ssvm.thread.ThreadStorage;
 
 /**
@@ -25,7 +26,15 @@ abstract class AbstractVMCallProcessor implements InstructionProcessor<VMCallIns
 			// must replace resolved field, if needed
 			method = resolveMethod(insn, ctx);
 		}
-		ctx.getOperations().initialize(method.getOwner());
+		if (!insn.isInitialized()) {
+			InstanceClass owner = method.getOwner();
+			if (!owner.isInitialized()) {
+				ctx.getOperations().initialize(owner);
+			} else if (method == insn.getResolved()) {
+				// Target of the call site is fixed, drop the barrier
+				insn.setInitialized(true);
+			}
+		}
 		VirtualMachine vm = ctx.getVM();
 		Stack callerStack = ctx.getStack();
 		ThreadStorage storage = vm.getThreadStorage();
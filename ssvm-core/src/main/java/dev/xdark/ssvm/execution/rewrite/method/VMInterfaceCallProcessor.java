@@ -3,6 +3,7 @@ package dev.xdark.ssvm.execution.rewrite.method;
 import dev.xdark.ssvm.VirtualMachine;
 import dev.xdark.ssvm.asm.VMCallInsnNode;
 import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.InlineCache;
 import dev.xdark.ssvm.execution.Stack;
 import dev.xdark.ssvm.mirror.member.JavaMethod;
 import dev.xdark.ssvm.mirror.type.JavaClass;
@@ -26,9 +27,13 @@ public final class VMInterfaceCallProcessor extends AbstractVMCallProcessor {
 			javaClass = helper.findClass(ctx.getOwner(), callInfo.owner, true);
 			insn.setJavaClass(javaClass);
 		}
+		InlineCache cache = insn.getInlineCache();
+		if (!cache.isLinked()) {
+			cache.link(ctx, callInfo);
+		}
 		int args = insn.getArgCount();
 		Stack stack = ctx.getStack();
 		ObjectValue instance = stack.getReferenceAt(stack.position() - args - 1);
-		return vm.getRuntimeResolver().resolveInterfaceMethod(instance, callInfo.name, callInfo.desc);
+		return vm.getRuntimeResolver().resolveInterfaceMethod(instance, callInfo.name, callInfo.desc, cache);
 	}
 }
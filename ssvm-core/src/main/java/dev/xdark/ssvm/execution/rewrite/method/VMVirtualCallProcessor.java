@@ -3,6 +3,7 @@ package dev.xdark.ssvm.execution.rewrite.method;
 import dev.xdark.ssvm.VirtualMachine;
 import dev.xdark.ssvm.asm.VMCallInsnNode;
 import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.execution.InlineCache;
 import dev.xdark.ssvm.execution.Stack;
 import dev.xdark.ssvm.mirror.member.JavaMethod;
 import dev.xdark.ssvm.value.ObjectValue;
@@ -21,7 +22,11 @@ public final class VMVirtualCallProcessor extends AbstractVMCallProcessor {
 		VirtualMachine vm = ctx.getVM();
 		Stack stack = ctx.getStack();
 		ObjectValue instance = stack.getReferenceAt(stack.position() - args - 1);
-		return insn.isInterface() ? vm.getRuntimeResolver().resolveInterfaceMethod(instance, callInfo.name, callInfo.desc) :
-				vm.getRuntimeResolver().resolveVirtualMethod(instance, callInfo.name, callInfo.desc);
+		InlineCache cache = insn.getInlineCache();
+		if (!cache.isLinked()) {
+			cache.link(ctx, callInfo);
+		}
+		return insn.isInterface() ? vm.getRuntimeResolver().resolveInterfaceMethod(instance, callInfo.name, callInfo.desc, cache) :
+				vm.getRuntimeResolver().resolveVirtualMethod(instance, callInfo.name, callInfo.desc, cache);
 	}
 }
@@ -0,0 +1,255 @@
+package dev.xdark.ssvm.memory.allocation;
+
+import dev.xdark.ssvm.execution.PanicException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bounds-checked slice of memory data.
+ * <p>
+ * Unlike {@link SliceMemoryData}, every access is checked
+ * against the slice, so that blocks sharing the same
+ * backing data never reach each other's memory.
+ *
+ * @author xDark
+ */
+final class BoundedMemoryData implements MemoryData {
+	private final MemoryData backing;
+	private final long offset;
+	private final long length;
+
+	BoundedMemoryData(MemoryData backing, long offset, long length) {
+		this.backing = backing;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	@Override
+	public long readLong(long offset) {
+		return backing.readLong(offset(offset, 8L));
+	}
+
+	@Override
+	public int readInt(long offset) {
+		return backing.readInt(offset(offset, 4L));
+	}
+
+	@Override
+	public char readChar(long offset) {
+		return backing.readChar(offset(offset, 2L));
+	}
+
+	@Override
+	public short readShort(long offset) {
+		return backing.readShort(offset(offset, 2L));
+	}
+
+	@Override
+	public byte readByte(long offset) {
+		return backing.readByte(offset(offset, 1L));
+	}
+
+	@Override
+	public void writeLong(long offset, long value) {
+		backing.writeLong(offset(offset, 8L), value);
+	}
+
+	@Override
+	public void writeInt(long offset, int value) {
+		backing.writeInt(offset(offset, 4L), value);
+	}
+
+	@Override
+	public void writeChar(long offset, char value) {
+		backing.writeChar(offset(offset, 2L), value);
+	}
+
+	@Override
+	public void writeShort(long offset, short value) {
+		backing.writeShort(offset(offset, 2L), value);
+	}
+
+	@Override
+	public void writeByte(long offset, byte value) {
+		backing.writeByte(offset(offset, 1L), value);
+	}
+
+	@Override
+	public long readLongVolatile(long offset) {
+		return backing.readLongVolatile(offset(offset, 8L));
+	}
+
+	@Override
+	public int readIntVolatile(long offset) {
+		return backing.readIntVolatile(offset(offset, 4L));
+	}
+
+	@Override
+	public char readCharVolatile(long offset) {
+		return backing.readCharVolatile(offset(offset, 2L));
+	}
+
+	@Override
+	public short readShortVolatile(long offset) {
+		return backing.readShortVolatile(offset(offset, 2L));
+	}
+
+	@Override
+	public byte readByteVolatile(long offset) {
+		return backing.readByteVolatile(offset(offset, 1L));
+	}
+
+	@Override
+	public void writeLongVolatile(long offset, long value) {
+		backing.writeLongVolatile(offset(offset, 8L), value);
+	}
+
+	@Override
+	public void writeIntVolatile(long offset, int value) {
+		backing.writeIntVolatile(offset(offset, 4L), value);
+	}
+
+	@Override
+	public void writeCharVolatile(long offset, char value) {
+		backing.writeCharVolatile(offset(offset, 2L), value);
+	}
+
+	@Override
+	public void writeShortVolatile(long offset, short value) {
+		backing.writeShortVolatile(offset(offset, 2L), value);
+	}
+
+	@Override
+	public void writeByteVolatile(long offset, byte value) {
+		backing.writeByteVolatile(offset(offset, 1L), value);
+	}
+
+	@Override
+	public void set(long offset, long bytes, byte value) {
+		backing.set(offset(offset, bytes), bytes, value);
+	}
+
+	@Override
+	public void write(long srcOffset, MemoryData dst, long dstOffset, long bytes) {
+		long offset = offset(srcOffset, bytes);
+		if (dst instanceof BoundedMemoryData) {
+			BoundedMemoryData slice = (BoundedMemoryData) dst;
+			backing.write(offset, slice.backing, slice.offset(dstOffset, bytes), bytes);
+		} else {
+			backing.write(offset, dst, dstOffset, bytes);
+		}
+	}
+
+	@Override
+	public void write(long offset, ByteBuffer buffer) {
+		backing.write(offset(offset, buffer.remaining()), buffer);
+	}
+
+	@Override
+	public void write(long dstOffset, byte[] array, int arrayOffset, int length) {
+		backing.write(offset(dstOffset, length), array, arrayOffset, length);
+	}
+
+	@Override
+	public void write(long dstOffset, long[] array, int arrayOffset, int length) {
+		backing.write(offset(dstOffset, length * 8L), array, arrayOffset, length);
+	}
+
+	@Override
+	public void write(long dstOffset, double[] array, int arrayOffset, int length) {
+		backing.write(offset(dstOffset, length * 8L), array, arrayOffset, length);
+	}
+
+	@Override
+	public void write(long dstOffset, int[] array, int arrayOffset, int length) {
+		backing.write(offset(dstOffset, length * 4L), array, arrayOffset, length);
+	}
+
+	@Override
+	public void write(long dstOffset, float[] array, int arrayOffset, int length) {
+		backing.write(offset(dstOffset, length * 4L), array, arrayOffset, length);
+	}
+
+	@Override
+	public void write(long dstOffset, char[] array, int arrayOffset, int length) {
+		backing.write(offset(dstOffset, length * 2L), array, arrayOffset, length);
+	}
+
+	@Override
+	public void write(long dstOffset, short[] array, int arrayOffset, int length) {
+		backing.write(offset(dstOffset, length * 2L), array, arrayOffset, length);
+	}
+
+	@Override
+	public void write(long dstOffset, boolean[] array, int arrayOffset, int length) {
+		backing.write(offset(dstOffset, length), array, arrayOffset, length);
+	}
+
+	@Override
+	public void read(long srcOffset, byte[] array, int arrayOffset, int length) {
+		backing.read(offset(srcOffset, length), array, arrayOffset, length);
+	}
+
+	@Override
+	public void read(long srcOffset, long[] array, int arrayOffset, int length) {
+		backing.read(offset(srcOffset, length * 8L), array, arrayOffset, length);
+	}
+
+	@Override
+	public void read(long srcOffset, double[] array, int arrayOffset, int length) {
+		backing.read(offset(srcOffset, length * 8L), array, arrayOffset, length);
+	}
+
+	@Override
+	public void read(long srcOffset, int[] array, int arrayOffset, int length) {
+		backing.read(offset(srcOffset, length * 4L), array, arrayOffset, length);
+	}
+
+	@Override
+	public void read(long srcOffset, float[] array, int arrayOffset, int length) {
+		backing.read(offset(srcOffset, length * 4L), array, arrayOffset, length);
+	}
+
+	@Override
+	public void read(long srcOffset, char[] array, int arrayOffset, int length) {
+		backing.read(offset(srcOffset, length * 2L), array, arrayOffset, length);
+	}
+
+	@Override
+	public void read(long srcOffset, short[] array, int arrayOffset, int length) {
+		backing.read(offset(srcOffset, length * 2L), array, arrayOffset, length);
+	}
+
+	@Override
+	public void read(long srcOffset, boolean[] array, int arrayOffset, int length) {
+		backing.read(offset(srcOffset, length), array, arrayOffset, length);
+	}
+
+	@Override
+	public void read(long srcOffset, MemoryData data, long dataOffset, int length) {
+		long offset = offset(srcOffset, length);
+		if (data instanceof BoundedMemoryData) {
+			BoundedMemoryData slice = (BoundedMemoryData) data;
+			backing.read(offset, slice.backing, slice.offset(dataOffset, length), length);
+		} else {
+			backing.read(offset, data, dataOffset, length);
+		}
+	}
+
+	@Override
+	public long length() {
+		return length;
+	}
+
+	@Override
+	public MemoryData slice(long offset, long bytes) {
+		return new BoundedMemoryData(backing, offset(offset, bytes), bytes);
+	}
+
+	private long offset(long pos, long bytes) {
+		if (pos < 0L || bytes < 0L || pos > length - bytes) {
+			throw new PanicException("Segfault");
+		}
+		return offset + pos;
+	}
+}
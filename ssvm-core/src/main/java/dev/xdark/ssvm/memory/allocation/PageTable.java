@@ -0,0 +1,109 @@
+package dev.xdark.ssvm.memory.allocation;
+
+import dev.xdark.ssvm.util.LongObjectMap;
+
+/**
+ * Two-level radix table that maps
+ * memory pages to their owners.
+ * <p>
+ * The top level is sparse, so that the table
+ * only grows with the amount of mapped pages.
+ *
+ * @author xDark
+ */
+final class PageTable<V> {
+	static final int PAGE_SHIFT = 12;
+	static final long PAGE_SIZE = 1L << PAGE_SHIFT;
+	private static final int LEAF_BITS = 10;
+	private static final int LEAF_MASK = (1 << LEAF_BITS) - 1;
+	private final LongObjectMap<Leaf> leaves = new LongObjectMap<>();
+
+	/**
+	 * @param address Address to look up.
+	 * @return owner of the page or {@code null},
+	 * if the page is not mapped.
+	 */
+	@SuppressWarnings("unchecked")
+	V get(long address) {
+		long page = address >>> PAGE_SHIFT;
+		Leaf leaf = leaves.get(page >>> LEAF_BITS);
+		return leaf == null ? null : (V) leaf.pages[(int) page & LEAF_MASK];
+	}
+
+	/**
+	 * Maps pages of the range to the owner.
+	 *
+	 * @param address Page aligned range start.
+	 * @param bytes   Range length.
+	 * @param value   Owner of the pages.
+	 */
+	void map(long address, long bytes, V value) {
+		long page = address >>> PAGE_SHIFT;
+		long end = page + pages(bytes);
+		LongObjectMap<Leaf> leaves = this.leaves;
+		Leaf leaf = null;
+		for (; page < end; page++) {
+			long top = page >>> LEAF_BITS;
+			if (leaf == null || leaf.top != top) {
+				leaf = leaves.get(top);
+				if (leaf == null) {
+					leaves.put(top, leaf = new Leaf(top));
+				}
+			}
+			Object[] pages = leaf.pages;
+			int index = (int) page & LEAF_MASK;
+			if (pages[index] == null) {
+				leaf.count++;
+			}
+			pages[index] = value;
+		}
+	}
+
+	/**
+	 * Unmaps pages of the range.
+	 *
+	 * @param address Page aligned range start.
+	 * @param bytes   Range length.
+	 */
+	void unmap(long address, long bytes) {
+		long page = address >>> PAGE_SHIFT;
+		long end = page + pages(bytes);
+		LongObjectMap<Leaf> leaves = this.leaves;
+		for (; page < end; page++) {
+			long top = page >>> LEAF_BITS;
+			Leaf leaf = leaves.get(top);
+			if (leaf == null) {
+				// Skip the rest of the leaf
+				page |= LEAF_MASK;
+				continue;
+			}
+			Object[] pages = leaf.pages;
+			int index = (int) page & LEAF_MASK;
+			if (pages[index] != null) {
+				pages[index] = null;
+				if (--leaf.count == 0) {
+					leaves.remove(top);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param bytes Range length.
+	 * @return amount of pages the range occupies.
+	 */
+	static long pages(long bytes) {
+		return Math.max(1L, (bytes + PAGE_SIZE - 1L) >>> PAGE_SHIFT);
+	}
+
+	private static final class Leaf {
+		final long top;
+		final Object[] pages = new Object[LEAF_MASK + 1];
+		// Amount of mapped pages
+		int count;
+
+		Leaf(long top) {
+			this.top = top;
+		}
+	}
+}
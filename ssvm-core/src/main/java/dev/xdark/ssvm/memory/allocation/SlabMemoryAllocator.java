@@ -0,0 +1,274 @@
+package dev.xdark.ssvm.memory.allocation;
+
+import dev.xdark.ssvm.execution.PanicException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Memory allocator that carves heap blocks
+ * out of large slabs with a bump pointer.
+ * <p>
+ * Addresses are handed out sequentially from page aligned
+ * ranges, and resolved through a {@link PageTable}.
+ * Each block is a bounded view of its slab.
+ * Freed heap memory is not reused, instead the
+ * whole slab is released once all of its blocks are freed.
+ * Blocks that do not fit into a slab, and direct
+ * blocks, get their own memory.
+ *
+ * @author xDark
+ */
+public class SlabMemoryAllocator extends AbstractMemoryAllocator {
+
+	private static final int DEFAULT_SLAB_SIZE = 1024 * 1024;
+	private static final int ALIGNMENT_SHIFT = 3;
+	private static final long ALIGNMENT = 1L << ALIGNMENT_SHIFT;
+	private final PageTable<Slab> slabs = new PageTable<>();
+	private final PageTable<MemoryBlock> directBlocks = new PageTable<>();
+	private final int slabSize;
+	private long nextAddress = PageTable.PAGE_SIZE;
+	private Slab slab;
+
+	/**
+	 * @param slabSize Size of a slab, in bytes.
+	 */
+	public SlabMemoryAllocator(int slabSize) {
+		this.slabSize = slabSize;
+	}
+
+	public SlabMemoryAllocator() {
+		this(DEFAULT_SLAB_SIZE);
+	}
+
+	@Override
+	public MemoryBlock findHeapBlock(long address) {
+		Slab slab = findSlab(address);
+		return slab == null ? null : slab.find(address);
+	}
+
+	@Override
+	public MemoryBlock findDirectBlock(long address) {
+		MemoryBlock block = directBlocks.get(address);
+		return block == null || !contains(block, address) ? null : block;
+	}
+
+	@Override
+	public MemoryBlock allocateHeap(long bytes) {
+		if (!canAllocate(bytes)) {
+			return null;
+		}
+		long size = align(bytes);
+		if (size > slabSize >>> 2) {
+			// Large blocks would waste most of the slab
+			long address = reserve(size);
+			Slab slab = new Slab(address, (int) bytes);
+			slabs.map(address, slab.capacity, slab);
+			return slab.allocate(bytes, size);
+		}
+		Slab slab = this.slab;
+		if (slab == null || !slab.fits(size)) {
+			if (slab != null && slab.live == 0) {
+				slabs.unmap(slab.address, slab.capacity);
+			}
+			long address = reserve(slabSize);
+			slab = new Slab(address, slabSize);
+			slabs.map(address, slab.capacity, slab);
+			this.slab = slab;
+		}
+		return slab.allocate(bytes, size);
+	}
+
+	@Override
+	public MemoryBlock allocateDirect(long bytes) {
+		if (!canAllocate(bytes)) {
+			return null;
+		}
+		long address = reserve(align(bytes));
+		MemoryBlock block = makeBlock(address, bytes, false);
+		directBlocks.map(address, bytes, block);
+		return block;
+	}
+
+	@Override
+	public MemoryBlock reallocateDirect(long address, long bytes) {
+		MemoryBlock block = directBlocks.get(address);
+		if (block == null || block.getAddress() != address) {
+			throw new PanicException("Segfault");
+		}
+		directBlocks.unmap(address, block.getData().length());
+		if (bytes == 0L) {
+			return emptyDirectBlock();
+		}
+		MemoryBlock newBlock = allocateDirect(bytes);
+		if (newBlock == null) {
+			return null;
+		}
+		MemoryData buffer = block.getData();
+		buffer.write(0L, newBlock.getData(), 0L, Math.min(buffer.length(), bytes));
+		return newBlock;
+	}
+
+	@Override
+	public boolean freeHeap(long address) {
+		Slab slab = findSlab(address);
+		if (slab == null || !slab.free(address)) {
+			return false;
+		}
+		if (slab.live == 0 && slab != this.slab) {
+			slabs.unmap(slab.address, slab.capacity);
+		}
+		return true;
+	}
+
+	@Override
+	public boolean freeDirect(long address) {
+		MemoryBlock block = findDirectBlock(address);
+		if (block == null) {
+			return false;
+		}
+		directBlocks.unmap(block.getAddress(), block.getData().length());
+		return true;
+	}
+
+	@Override
+	public MemoryAllocatorStatistics dumpStatistics() {
+		return null;
+	}
+
+	@Override
+	public MemoryAllocatorStatistics liveStatistics() {
+		return null;
+	}
+
+	@Override
+	protected boolean canAllocate(long bytes) {
+		return bytes >= 0L && bytes < Integer.MAX_VALUE - 12;
+	}
+
+	@Override
+	protected MemoryBlock makeBlock(long address, long bytes, boolean heap) {
+		return new SimpleMemoryBlock(address, MemoryData.buffer(ByteBuffer.allocate((int) bytes).order(ORDER)), heap);
+	}
+
+	private Slab findSlab(long address) {
+		Slab slab = slabs.get(address);
+		// The last page of the slab may be partially used
+		if (slab != null && address - slab.address < slab.capacity) {
+			return slab;
+		}
+		return null;
+	}
+
+	private long reserve(long bytes) {
+		long address = nextAddress;
+		// Ranges never share a page, and keep a gap, so that
+		// an address past the end of one block never points into the next one
+		nextAddress = address + (PageTable.pages(bytes + 1L) << PageTable.PAGE_SHIFT);
+		return address;
+	}
+
+	// Zero-length blocks still own their base address,
+	// so that they can be found and freed
+	private static boolean contains(MemoryBlock block, long address) {
+		long offset = address - block.getAddress();
+		return offset == 0L || offset > 0L && offset < block.getData().length();
+	}
+
+	private static long align(long bytes) {
+		return Math.max(ALIGNMENT, (bytes + ALIGNMENT - 1L) & -ALIGNMENT);
+	}
+
+	private static final class Slab {
+		final long address;
+		final MemoryData data;
+		final long capacity;
+		// Blocks start on aligned offsets, in address order.
+		// A block is found by its rank: the amount of blocks
+		// that start at or before the address, counted with
+		// a bitmap of block starts and per-word prefix counts
+		final long[] starts;
+		final int[] ranks;
+		MemoryBlock[] blocks = new MemoryBlock[16];
+		int count;
+		int live;
+		int pointer;
+		int words;
+
+		Slab(long address, int capacity) {
+			this.address = address;
+			data = MemoryData.buffer(ByteBuffer.allocate(capacity).order(ORDER));
+			this.capacity = capacity;
+			int length = (int) ((((long) capacity + ALIGNMENT - 1L) >>> ALIGNMENT_SHIFT) + 63L >>> 6);
+			starts = new long[length];
+			ranks = new int[length];
+		}
+
+		boolean fits(long size) {
+			return capacity - pointer >= size;
+		}
+
+		MemoryBlock allocate(long bytes, long size) {
+			int offset = pointer;
+			pointer = (int) Math.min(capacity, offset + size);
+			MemoryData data = this.data;
+			if (offset != 0 || bytes != capacity) {
+				// Views are bounded, so that an access past the end
+				// of a block never reaches its neighbours
+				data = new BoundedMemoryData(data, offset, bytes);
+			}
+			MemoryBlock block = new SimpleMemoryBlock(address + offset, data, true);
+			int count = this.count;
+			if (count == blocks.length) {
+				blocks = Arrays.copyOf(blocks, count * 2);
+			}
+			int granule = offset >>> ALIGNMENT_SHIFT;
+			int word = granule >>> 6;
+			int[] ranks = this.ranks;
+			for (int i = words; i <= word; i++) {
+				ranks[i] = count;
+			}
+			words = word + 1;
+			starts[word] |= 1L << granule;
+			blocks[count] = block;
+			this.count = count + 1;
+			live++;
+			return block;
+		}
+
+		MemoryBlock find(long address) {
+			int index = indexOf(address);
+			if (index < 0) {
+				return null;
+			}
+			MemoryBlock block = blocks[index];
+			return block == null || !contains(block, address) ? null : block;
+		}
+
+		boolean free(long address) {
+			int index = indexOf(address);
+			if (index < 0) {
+				return false;
+			}
+			MemoryBlock block = blocks[index];
+			if (block == null || !contains(block, address)) {
+				return false;
+			}
+			blocks[index] = null;
+			live--;
+			return true;
+		}
+
+		private int indexOf(long address) {
+			long offset = address - this.address;
+			if (offset < 0L || offset >= pointer) {
+				return -1;
+			}
+			int granule = (int) (offset >>> ALIGNMENT_SHIFT);
+			int word = granule >>> 6;
+			// Interior addresses belong to the preceding block
+			long mask = -1L >>> (63 - (granule & 63));
+			return ranks[word] + Long.bitCount(starts[word] & mask) - 1;
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package dev.xdark.ssvm.memory.management;
+
+/**
+ * Garbage collector.
+ *
+ * @author xDark
+ */
+public interface GarbageCollector {
+
+	/**
+	 * Runs garbage collection.
+	 */
+	void invoke();
+}
@@ -0,0 +1,200 @@
+package dev.xdark.ssvm.memory.management;
+
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.memory.allocation.MemoryBlock;
+import dev.xdark.ssvm.memory.allocation.MemoryData;
+import dev.xdark.ssvm.mirror.member.JavaField;
+import dev.xdark.ssvm.mirror.member.area.ClassArea;
+import dev.xdark.ssvm.mirror.type.ArrayClass;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import dev.xdark.ssvm.mirror.type.JavaClass;
+import dev.xdark.ssvm.thread.JavaThread;
+import dev.xdark.ssvm.thread.ThreadStorage;
+import dev.xdark.ssvm.value.InstanceValue;
+import dev.xdark.ssvm.value.ObjectValue;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mark and sweep garbage collector for {@link SimpleMemoryManager}.
+ * <p>
+ * Roots are class oops with static fields, class loaders,
+ * interned strings, thread oops and thread stacks.
+ * Stack slots are untyped, so they are scanned conservatively.
+ * Objects that are not reachable from the roots may still be
+ * referenced by the host, e.g. by natives or compiled methods,
+ * so they are only freed once their wrappers are dropped
+ * by the host, and everything they reference is kept until then.
+ *
+ * @author xDark
+ */
+public final class MarkAndSweepGarbageCollector implements GarbageCollector {
+
+	private static final long[] NO_OFFSETS = new long[0];
+	private final Map<InstanceClass, long[]> referenceOffsets = new HashMap<>();
+	private final ArrayDeque<MemoryBlock> queue = new ArrayDeque<>();
+	private final VirtualMachine vm;
+	private final SimpleMemoryManager memoryManager;
+	private Set<MemoryBlock> marked;
+	private Set<MemoryBlock> skipped;
+
+	/**
+	 * @param vm            VM instance.
+	 * @param memoryManager Memory manager to collect.
+	 */
+	public MarkAndSweepGarbageCollector(VirtualMachine vm, SimpleMemoryManager memoryManager) {
+		this.vm = vm;
+		this.memoryManager = memoryManager;
+	}
+
+	@Override
+	public void invoke() {
+		Set<MemoryBlock> reachable = Collections.newSetFromMap(new IdentityHashMap<>());
+		marked = reachable;
+		skipped = Collections.emptySet();
+		markRoots();
+		drain();
+		Set<MemoryBlock> retained = Collections.newSetFromMap(new IdentityHashMap<>());
+		marked = retained;
+		skipped = reachable;
+		SimpleMemoryManager memoryManager = this.memoryManager;
+		for (ObjectValue value : memoryManager.listObjects()) {
+			if (!value.isNull()) {
+				mark(value.getMemory());
+			}
+		}
+		for (SimpleMemoryManager.UnreachableObject object : memoryManager.listUnreachableObjects()) {
+			if (object.get() != null) {
+				mark(object.memory);
+			}
+		}
+		drain();
+		marked = null;
+		skipped = null;
+		memoryManager.sweep(reachable, retained);
+	}
+
+	private void markRoots() {
+		VirtualMachine vm = this.vm;
+		for (JavaClass klass : vm.getClassStorage().list()) {
+			InstanceValue oop = klass.getOop();
+			if (oop == null) {
+				continue;
+			}
+			mark(oop.getMemory());
+			if (klass instanceof InstanceClass) {
+				ClassArea<JavaField> area = ((InstanceClass) klass).staticFieldArea();
+				if (area != null) {
+					MemoryData data = oop.getData();
+					for (JavaField field : area.list()) {
+						if (isReference(field.getDesc())) {
+							markAddress(data, field.getOffset());
+						}
+					}
+				}
+			}
+		}
+		for (InstanceValue classLoader : vm.getClassLoaders().getAll()) {
+			mark(classLoader.getMemory());
+		}
+		for (InstanceValue string : vm.getStringPool().list()) {
+			mark(string.getMemory());
+		}
+		for (JavaThread thread : vm.getThreadManager().allThreads()) {
+			InstanceValue oop = thread.getOop();
+			if (oop != null) {
+				mark(oop.getMemory());
+			}
+			ThreadStorage storage = thread.getOsThread().getStorage();
+			if (storage != null) {
+				storage.visitSlots(this::markAddress);
+			}
+		}
+	}
+
+	private void drain() {
+		ArrayDeque<MemoryBlock> queue = this.queue;
+		MemoryBlock memory;
+		while ((memory = queue.poll()) != null) {
+			scan(memory);
+		}
+	}
+
+	private void scan(MemoryBlock memory) {
+		MemoryData data = memory.getData();
+		JavaClass type = vm.getClassStorage().lookup(data.readInt(0L));
+		if (type instanceof InstanceClass) {
+			for (long offset : referenceOffsets((InstanceClass) type)) {
+				markAddress(data, offset);
+			}
+		} else if (type instanceof ArrayClass && !type.getComponentType().isPrimitive()) {
+			long length = data.length();
+			for (long offset = memoryManager.arrayBaseOffset(type); offset < length; offset += 8L) {
+				markAddress(data, offset);
+			}
+		}
+	}
+
+	private void markAddress(MemoryData data, long offset) {
+		// Guards against objects with a bogus header
+		if (offset + 8L <= data.length()) {
+			markAddress(data.readLong(offset));
+		}
+	}
+
+	private void markAddress(long address) {
+		if (address != 0L) {
+			MemoryBlock memory = memoryManager.findObjectMemory(address);
+			if (memory != null) {
+				mark(memory);
+			}
+		}
+	}
+
+	private void mark(MemoryBlock memory) {
+		if (!skipped.contains(memory) && marked.add(memory)) {
+			queue.push(memory);
+		}
+	}
+
+	private long[] referenceOffsets(InstanceClass type) {
+		long[] offsets = referenceOffsets.get(type);
+		if (offsets == null) {
+			int count = 0;
+			offsets = NO_OFFSETS;
+			for (InstanceClass klass = type; klass != null; klass = klass.getSuperClass()) {
+				ClassArea<JavaField> area = klass.virtualFieldArea();
+				if (area == null) {
+					continue;
+				}
+				List<JavaField> fields = area.list();
+				for (int i = 0, j = fields.size(); i < j; i++) {
+					JavaField field = fields.get(i);
+					if (isReference(field.getDesc())) {
+						if (count == offsets.length) {
+							offsets = Arrays.copyOf(offsets, Math.max(4, count * 2));
+						}
+						offsets[count++] = field.getOffset();
+					}
+				}
+			}
+			if (count != offsets.length) {
+				offsets = Arrays.copyOf(offsets, count);
+			}
+			referenceOffsets.put(type, offsets);
+		}
+		return offsets;
+	}
+
+	private static boolean isReference(String desc) {
+		char c = desc.charAt(0);
+		return c == 'L' || c == '[';
+	}
+}
@@ -206,4 +206,9 @@ public interface MemoryManager extends ReferenceMap {
 	 * @param value Object to write data into.
 	 */
 	void writeDefaults(ObjectValue value);
+
+	/**
+	 * @return garbage collector of the heap.
+	 */
+	GarbageCollector getGarbageCollector();
 }
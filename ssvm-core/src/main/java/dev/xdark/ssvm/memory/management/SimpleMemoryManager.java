@@ -3,7 +3,6 @@ package dev.xdark.ssvm.memory.management;
 import dev.xdark.ssvm.LanguageSpecification;
 import dev.xdark.ssvm.VirtualMachine;
 import dev.xdark.ssvm.execution.PanicException;
-import dev.xdark.ssvm.memory.allocation.MemoryAddress;
 import dev.xdark.ssvm.memory.allocation.MemoryAllocator;
 import dev.xdark.ssvm.memory.allocation.MemoryBlock;
 import dev.xdark.ssvm.memory.allocation.MemoryData;
@@ -12,8 +11,8 @@ import dev.xdark.ssvm.mirror.type.InstanceClass;
 import dev.xdark.ssvm.mirror.type.JavaClass;
 import dev.xdark.ssvm.synchronizer.Mutex;
 import dev.xdark.ssvm.synchronizer.ObjectSynchronizer;
-import dev.xdark.ssvm.threadlocal.ThreadLocalStorage;
 import dev.xdark.ssvm.util.Assertions;
+import dev.xdark.ssvm.util.LongObjectMap;
 import dev.xdark.ssvm.value.ArrayValue;
 import dev.xdark.ssvm.value.InstanceValue;
 import dev.xdark.ssvm.value.JavaValue;
@@ -23,9 +22,10 @@ import dev.xdark.ssvm.value.SimpleArrayValue;
 import dev.xdark.ssvm.value.SimpleInstanceValue;
 import dev.xdark.ssvm.value.SimpleJavaValue;
 
+import java.lang.ref.WeakReference;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Iterator;
+import java.util.Set;
 
 /**
  * Simple and dumb implementation of a memory manager.
@@ -34,25 +34,30 @@ import java.util.Map;
  */
 public class SimpleMemoryManager implements MemoryManager {
 
-	private final Map<MemoryAddress, ObjectValue> objects = new HashMap<>();
+	private final LongObjectMap<ObjectValue> objects = new LongObjectMap<>();
+	// Objects the VM did not reach during the last collection.
+	// They are freed once the host drops them as well.
+	private final LongObjectMap<UnreachableObject> unreachable = new LongObjectMap<>();
 	private final VirtualMachine vm;
 	private final NullValue nullValue;
 	private final int objectHeaderSize;
 	private final int arrayHeaderSize;
 	private final int arrayLengthOffset;
+	private final GarbageCollector garbageCollector;
 
 	public SimpleMemoryManager(VirtualMachine vm) {
 		this.vm = vm;
 		MemoryAllocator allocator = vm.getMemoryAllocator();
 		MemoryBlock emptyHeapBlock = allocator.emptyHeapBlock();
 		NullValue value = new NullValue(emptyHeapBlock);
-		objects.put(MemoryAddress.of(emptyHeapBlock.getAddress()), value);
+		objects.put(emptyHeapBlock.getAddress(), value);
 		nullValue = value;
 		// TODO rework object headers.
 		int addressSize = 4 + 4; // 4 bytes for lock, 4 bytes for class id
 		objectHeaderSize = addressSize;
 		arrayHeaderSize = addressSize + 4;
 		arrayLengthOffset = addressSize;
+		garbageCollector = createGarbageCollector();
 	}
 
 	@Override
@@ -78,7 +83,11 @@ public class SimpleMemoryManager implements MemoryManager {
 
 	@Override
 	public ObjectValue getReference(long address) {
-		return objects.get(tlcAddress(address));
+		ObjectValue value = objects.get(address);
+		if (value == null && !unreachable.isEmpty()) {
+			value = restore(address);
+		}
+		return value;
 	}
 
 	@Override
@@ -89,7 +98,7 @@ public class SimpleMemoryManager implements MemoryManager {
 		}
 		setClass(memory, javaClass);
 		SimpleInstanceValue value = new SimpleInstanceValue(this, memory);
-		objects.put(MemoryAddress.of(memory.getAddress()), value);
+		objects.put(memory.getAddress(), value);
 		return value;
 	}
 
@@ -98,7 +107,7 @@ public class SimpleMemoryManager implements MemoryManager {
 		MemoryBlock memory = allocateInstanceMemory(javaClass);
 		setClass(memory, javaClass);
 		SimpleJavaValue<V> wrapper = new SimpleJavaValue<>(this, memory, value);
-		objects.put(MemoryAddress.of(memory.getAddress()), wrapper);
+		objects.put(memory.getAddress(), wrapper);
 		return wrapper;
 	}
 
@@ -108,7 +117,7 @@ public class SimpleMemoryManager implements MemoryManager {
 		InstanceValue wrapper = new SimpleInstanceValue(this, memory);
 		javaClass.setOop(wrapper);
 		setClass(memory, javaClass);
-		objects.put(MemoryAddress.of(memory.getAddress()), wrapper);
+		objects.put(memory.getAddress(), wrapper);
 	}
 
 	@Override
@@ -117,7 +126,7 @@ public class SimpleMemoryManager implements MemoryManager {
 		setClass(memory, javaClass);
 		SimpleArrayValue value = new SimpleArrayValue(this, memory);
 		memory.getData().writeInt(arrayLengthOffset, length);
-		objects.put(MemoryAddress.of(memory.getAddress()), value);
+		objects.put(memory.getAddress(), value);
 		return value;
 	}
 
@@ -148,7 +157,7 @@ public class SimpleMemoryManager implements MemoryManager {
 	@Override
 	public ObjectValue getAndWriteValue(ObjectValue object, long offset, ObjectValue value) {
 		MemoryData data = object.getMemory().getData();
-		ObjectValue old = objects.get(tlcAddress(data.readLong(offset)));
+		ObjectValue old = getReference(data.readLong(offset));
 		data.writeLong(offset, value.getMemory().getAddress());
 		return old;
 	}
@@ -159,7 +168,7 @@ public class SimpleMemoryManager implements MemoryManager {
 		MemoryBlock memory = allocateClassMemory(javaLangClass, javaClass);
 		setClass(memory, javaLangClass);
 		InstanceValue wrapper = new SimpleInstanceValue(this, memory);
-		objects.put(MemoryAddress.of(memory.getAddress()), wrapper);
+		objects.put(memory.getAddress(), wrapper);
 		return wrapper;
 	}
 
@@ -225,6 +234,76 @@ public class SimpleMemoryManager implements MemoryManager {
 		data.set(arrayLengthOffset, data.length() - arrayLengthOffset, (byte) 0);
 	}
 
+	@Override
+	public GarbageCollector getGarbageCollector() {
+		return garbageCollector;
+	}
+
+	/**
+	 * @return garbage collector of the heap.
+	 */
+	protected GarbageCollector createGarbageCollector() {
+		return new MarkAndSweepGarbageCollector(vm, this);
+	}
+
+	/**
+	 * @param address Object address.
+	 * @return memory of the object or {@code null},
+	 * if there is no object at the address.
+	 */
+	MemoryBlock findObjectMemory(long address) {
+		ObjectValue value = objects.get(address);
+		if (value != null) {
+			return value.getMemory();
+		}
+		UnreachableObject object = unreachable.get(address);
+		return object == null ? null : object.memory;
+	}
+
+	/**
+	 * @return objects the VM did not reach
+	 * during the last collection.
+	 */
+	Collection<UnreachableObject> listUnreachableObjects() {
+		return unreachable.values();
+	}
+
+	/**
+	 * Objects that are not reachable by the VM are moved
+	 * to the unreachable objects, objects that are reachable
+	 * by neither the VM nor the host are freed.
+	 *
+	 * @param reachable Memory of objects reachable by the VM.
+	 * @param retained  Memory of objects reachable through
+	 *                  objects that may still be used by the host.
+	 */
+	void sweep(Set<MemoryBlock> reachable, Set<MemoryBlock> retained) {
+		LongObjectMap<ObjectValue> objects = this.objects;
+		Iterator<UnreachableObject> unreachableIterator = unreachable.values().iterator();
+		while (unreachableIterator.hasNext()) {
+			UnreachableObject object = unreachableIterator.next();
+			MemoryBlock memory = object.memory;
+			if (reachable.contains(memory)) {
+				unreachableIterator.remove();
+				objects.put(memory.getAddress(), object.restore(this));
+			} else if (object.get() == null && !retained.contains(memory)) {
+				unreachableIterator.remove();
+				free(memory);
+			}
+		}
+		Iterator<ObjectValue> iterator = objects.values().iterator();
+		while (iterator.hasNext()) {
+			ObjectValue value = iterator.next();
+			// Java wrappers carry host values that cannot be restored
+			if (value.isNull() || value instanceof JavaValue || reachable.contains(value.getMemory())) {
+				continue;
+			}
+			iterator.remove();
+			MemoryBlock memory = value.getMemory();
+			unreachable.put(memory.getAddress(), new UnreachableObject(value));
+		}
+	}
+
 	private MemoryBlock allocateInstanceMemory(InstanceClass javaClass) {
 		long objectSize = objectHeaderSize + javaClass.getOccupiedInstanceSpace();
 		return touch(vm.getMemoryAllocator().allocateHeap(objectSize));
@@ -248,11 +327,50 @@ public class SimpleMemoryManager implements MemoryManager {
 		return block;
 	}
 
+	private ObjectValue restore(long address) {
+		UnreachableObject object = unreachable.remove(address);
+		if (object == null) {
+			return null;
+		}
+		ObjectValue value = object.restore(this);
+		objects.put(address, value);
+		return value;
+	}
+
+	private void free(MemoryBlock memory) {
+		int id = memory.getData().readInt(4L);
+		if (id != -1) {
+			ObjectSynchronizer synchronizer = vm.getObjectSynchronizer();
+			synchronizer.free(synchronizer.get(id));
+		}
+		vm.getMemoryAllocator().freeHeap(memory.getAddress());
+	}
+
 	private void setClass(MemoryBlock memory, JavaClass jc) {
 		memory.getData().writeInt(0L, jc.getId());
 	}
 
-	private static MemoryAddress tlcAddress(long addr) {
-		return ThreadLocalStorage.get().memoryAddress(addr);
+	/**
+	 * Object that may only be referenced by the host.
+	 * The wrapper is recreated if the VM finds
+	 * the object again after the host dropped it.
+	 */
+	static final class UnreachableObject extends WeakReference<ObjectValue> {
+		final MemoryBlock memory;
+		final boolean array;
+
+		UnreachableObject(ObjectValue value) {
+			super(value);
+			memory = value.getMemory();
+			array = value instanceof ArrayValue;
+		}
+
+		ObjectValue restore(MemoryManager memoryManager) {
+			ObjectValue value = get();
+			if (value == null) {
+				value = array ? new SimpleArrayValue(memoryManager, memory) : new SimpleInstanceValue(memoryManager, memory);
+			}
+			return value;
+		}
 	}
 }
@@ -4,6 +4,8 @@ import dev.xdark.ssvm.VirtualMachine;
 import dev.xdark.ssvm.operation.VMOperations;
 import dev.xdark.ssvm.value.InstanceValue;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.locks.Lock;
@@ -54,4 +56,15 @@ public class SimpleStringPool implements StringPool {
 			lock.unlock();
 		}
 	}
+
+	@Override
+	public Collection<InstanceValue> list() {
+		Lock lock = this.lock.readLock();
+		lock.lock();
+		try {
+			return new ArrayList<>(pool.values());
+		} finally {
+			lock.unlock();
+		}
+	}
 }
@@ -3,6 +3,8 @@ package dev.xdark.ssvm.memory.management;
 import dev.xdark.ssvm.value.InstanceValue;
 import dev.xdark.ssvm.value.ObjectValue;
 
+import java.util.Collection;
+
 /**
  * String pool. Only used for {@link String#intern()}.
  *
@@ -34,4 +36,9 @@ public interface StringPool {
 	 * if not found.
 	 */
 	InstanceValue getIfPresent(String str);
+
+	/**
+	 * @return a snapshot of interned strings.
+	 */
+	Collection<InstanceValue> list();
 }
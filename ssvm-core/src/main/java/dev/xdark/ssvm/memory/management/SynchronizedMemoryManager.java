@@ -19,6 +19,7 @@ import java.util.Collection;
 public class SynchronizedMemoryManager implements MemoryManager {
 	protected final MemoryManager memoryManager;
 	protected final Object mutex;
+	private GarbageCollector garbageCollector;
 
 	/**
 	 * @param memoryManager Backing manager.
@@ -171,4 +172,19 @@ public class SynchronizedMemoryManager implements MemoryManager {
 	public void writeDefaults(ObjectValue value) {
 		memoryManager.writeDefaults(value);
 	}
+
+	@Override
+	public GarbageCollector getGarbageCollector() {
+		GarbageCollector garbageCollector = this.garbageCollector;
+		if (garbageCollector == null) {
+			GarbageCollector backing = memoryManager.getGarbageCollector();
+			garbageCollector = () -> {
+				synchronized (mutex) {
+					backing.invoke();
+				}
+			};
+			this.garbageCollector = garbageCollector;
+		}
+		return garbageCollector;
+	}
 }
@@ -57,4 +57,16 @@ public interface JavaField extends JavaMember {
 	 * @return field type.
 	 */
 	JavaClass getType();
+
+	/**
+	 * @return {@code true} if the value of this field
+	 * may be changed through its raw offset.
+	 */
+	boolean isOffsetExposed();
+
+	/**
+	 * Marks that the value of this field
+	 * may be changed through its raw offset.
+	 */
+	void exposeOffset();
 }
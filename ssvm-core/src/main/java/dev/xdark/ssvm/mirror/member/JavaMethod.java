@@ -1,5 +1,9 @@
 package dev.xdark.ssvm.mirror.member;
 
+import dev.xdark.ssvm.api.MethodInvoker;
+import dev.xdark.ssvm.execution.MethodCode;
+import dev.xdark.ssvm.execution.ExceptionTable;
+import dev.xdark.ssvm.execution.MethodProfile;
 import dev.xdark.ssvm.execution.VMTryCatchBlock;
 import dev.xdark.ssvm.mirror.type.JavaClass;
 import org.objectweb.asm.Type;
@@ -102,6 +106,30 @@ public interface JavaMethod extends JavaMember {
 	 */
 	void increaseInvocation();
 
+	/**
+	 * @return index of this method in the dispatch table
+	 * of the owner, or {@code -1}, if the method
+	 * is not dispatched through it.
+	 */
+	int getVTableIndex();
+
+	/**
+	 * @param index Dispatch table index.
+	 */
+	void setVTableIndex(int index);
+
+	/**
+	 * @return invoker bound to this method or {@code null},
+	 * if the method is interpreted.
+	 */
+	MethodInvoker getInvoker();
+
+	/**
+	 * @param invoker Method invoker.
+	 * @see dev.xdark.ssvm.api.VMInterface#setInvoker(JavaMethod, MethodInvoker)
+	 */
+	void setInvoker(MethodInvoker invoker);
+
 	/**
 	 * @return {@code true} if this method is caller sensitive,
 	 * {@code false} otherwise.
@@ -124,4 +152,20 @@ public interface JavaMethod extends JavaMember {
 	 * @return a list of try/catch blocks.
 	 */
 	List<VMTryCatchBlock> getTryCatchBlocks();
+
+	/**
+	 * @return exception handler table.
+	 */
+	ExceptionTable getExceptionTable();
+
+	/**
+	 * @return decoded method code.
+	 */
+	MethodCode getCode();
+
+	/**
+	 * @return interpreter profile of this method.
+	 * @see dev.xdark.ssvm.api.VMInterface#setProfiling(boolean)
+	 */
+	MethodProfile getProfile();
 }
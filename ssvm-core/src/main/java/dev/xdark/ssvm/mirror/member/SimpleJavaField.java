@@ -28,6 +28,7 @@ public final class SimpleJavaField implements JavaField {
 	private final long offset;
 	private JavaClass type;
 	private MemberIdentifier identifier;
+	private volatile boolean offsetExposed;
 
 	/**
 	 * @param owner  Field owner.
@@ -97,6 +98,16 @@ public final class SimpleJavaField implements JavaField {
 		return linkerInfo;
 	}
 
+	@Override
+	public boolean isOffsetExposed() {
+		return offsetExposed;
+	}
+
+	@Override
+	public void exposeOffset() {
+		offsetExposed = true;
+	}
+
 	@Override
 	public int hashCode() {
 		return node.hashCode();
@@ -2,8 +2,13 @@ package dev.xdark.ssvm.mirror.member;
 
 import dev.xdark.jlinker.MemberInfo;
 import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.api.MethodInvoker;
 import dev.xdark.ssvm.asm.Modifier;
+import dev.xdark.ssvm.execution.MethodCode;
+import dev.xdark.ssvm.execution.ExceptionTable;
+import dev.xdark.ssvm.execution.MethodProfile;
 import dev.xdark.ssvm.execution.VMTryCatchBlock;
+import dev.xdark.ssvm.execution.rewrite.Superinstructions;
 import dev.xdark.ssvm.mirror.type.InstanceClass;
 import dev.xdark.ssvm.mirror.type.JavaClass;
 import dev.xdark.ssvm.operation.VMOperations;
@@ -41,10 +46,15 @@ public final class SimpleJavaMethod implements JavaMethod {
 	private int maxArgs = -1;
 	private int maxLocals = -1;
 	private int invocationCount;
+	private int vtableIndex = -1;
+	private volatile MethodInvoker invoker;
 	private Boolean callerSensitive;
 	private Boolean hidden;
 	private Boolean isConstructor;
 	private List<VMTryCatchBlock> tryCatchBlocks;
+	private ExceptionTable exceptionTable;
+	private MethodCode code;
+	private MethodProfile profile;
 	private MemberIdentifier identifier;
 	private MemberInfo<JavaMethod> linkerInfo; // Delayed allocation until linker is capable of linking polymorphic methods.
 
@@ -173,6 +183,26 @@ public final class SimpleJavaMethod implements JavaMethod {
 		invocationCount++;
 	}
 
+	@Override
+	public int getVTableIndex() {
+		return vtableIndex;
+	}
+
+	@Override
+	public void setVTableIndex(int index) {
+		vtableIndex = index;
+	}
+
+	@Override
+	public MethodInvoker getInvoker() {
+		return invoker;
+	}
+
+	@Override
+	public void setInvoker(MethodInvoker invoker) {
+		this.invoker = invoker;
+	}
+
 	@Override
 	public boolean isCallerSensitive() {
 		Boolean callerSensitive = this.callerSensitive;
@@ -225,6 +255,37 @@ public final class SimpleJavaMethod implements JavaMethod {
 		return tryCatchBlocks;
 	}
 
+	@Override
+	public ExceptionTable getExceptionTable() {
+		ExceptionTable exceptionTable = this.exceptionTable;
+		if (exceptionTable == null) {
+			return this.exceptionTable = ExceptionTable.build(getCode(), getTryCatchBlocks());
+		}
+		return exceptionTable;
+	}
+
+	@Override
+	public MethodCode getCode() {
+		MethodCode code = this.code;
+		if (code == null) {
+			code = MethodCode.decode(node);
+			if (owner.getVM().getInterface().isSuperinstructions()) {
+				Superinstructions.fuse(code);
+			}
+			this.code = code;
+		}
+		return code;
+	}
+
+	@Override
+	public MethodProfile getProfile() {
+		MethodProfile profile = this.profile;
+		if (profile == null) {
+			return this.profile = new MethodProfile(getCode().length());
+		}
+		return profile;
+	}
+
 	@Override
 	public TypeSafeMap getMetadata() {
 		return metadata;
@@ -38,6 +38,16 @@ public interface ClassLinkage {
 	 */
 	void setMethodArea(ClassArea<JavaMethod> methodArea);
 
+	/**
+	 * @param dispatchTable Dispatch tables to set.
+	 */
+	void setDispatchTable(DispatchTable dispatchTable);
+
+	/**
+	 * @param supertypeDisplay Supertype display to set.
+	 */
+	void setSupertypeDisplay(SupertypeDisplay supertypeDisplay);
+
 	/**
 	 * @param occupiedInstanceSpace How many bytes each instance of this class occupies.
 	 */
@@ -0,0 +1,73 @@
+package dev.xdark.ssvm.mirror.type;
+
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+
+/**
+ * Virtual and interface dispatch tables of a class.
+ * <p>
+ * Tables are built at link time, slots are described
+ * by {@link JavaMethod#getVTableIndex()}.
+ * The vtable of a class holds the selected method for every slot,
+ * and interfaces use their own declared methods as the itable layout.
+ * A slot is {@code null} if there is no method to select.
+ *
+ * @author xDark
+ */
+public final class DispatchTable {
+
+	private final JavaMethod[] vtable;
+	private final InstanceClass[] interfaces;
+	private final JavaMethod[][] itables;
+
+	/**
+	 * @param vtable     Virtual table.
+	 * @param interfaces All interfaces implemented by the class.
+	 * @param itables    Interface tables, in the order of interfaces,
+	 *                   or {@code null}, if the class is an interface.
+	 */
+	public DispatchTable(JavaMethod[] vtable, InstanceClass[] interfaces, JavaMethod[][] itables) {
+		this.vtable = vtable;
+		this.interfaces = interfaces;
+		this.itables = itables;
+	}
+
+	/**
+	 * @return amount of virtual slots.
+	 */
+	public int length() {
+		return vtable.length;
+	}
+
+	/**
+	 * @return all interfaces implemented by the class.
+	 */
+	public InstanceClass[] interfaces() {
+		return interfaces;
+	}
+
+	/**
+	 * @return virtual table.
+	 */
+	public JavaMethod[] vtable() {
+		return vtable;
+	}
+
+	/**
+	 * @param itf Interface to get the table for.
+	 * @return interface table or {@code null},
+	 * if the class does not implement the interface.
+	 */
+	public JavaMethod[] itable(InstanceClass itf) {
+		JavaMethod[][] itables = this.itables;
+		if (itables == null) {
+			return null;
+		}
+		InstanceClass[] interfaces = this.interfaces;
+		for (int i = 0; i < interfaces.length; i++) {
+			if (interfaces[i] == itf) {
+				return itables[i];
+			}
+		}
+		return null;
+	}
+}
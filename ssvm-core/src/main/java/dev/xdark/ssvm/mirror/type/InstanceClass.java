@@ -83,6 +83,14 @@ public interface InstanceClass extends JavaClass {
 	 */
 	boolean shouldBeInitialized();
 
+	/**
+	 * Lock-free check used by initialization barriers.
+	 *
+	 * @return {@code true} if the class was
+	 * successfully initialized.
+	 */
+	boolean isInitialized();
+
 	/**
 	 * @param slot Method slot.
 	 * @return method by it's slot.
@@ -100,6 +108,18 @@ public interface InstanceClass extends JavaClass {
 	 */
 	ClassArea<JavaMethod> methodArea();
 
+	/**
+	 * @return Dispatch tables or {@code null},
+	 * if the class has none.
+	 */
+	DispatchTable dispatchTable();
+
+	/**
+	 * @return Supertype display or {@code null},
+	 * if the class has none.
+	 */
+	SupertypeDisplay supertypeDisplay();
+
 	/**
 	 * @return Area of virtual fields.
 	 */
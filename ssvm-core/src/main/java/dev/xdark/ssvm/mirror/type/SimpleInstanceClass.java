@@ -59,6 +59,8 @@ public class SimpleInstanceClass implements InstanceClass {
 	private List<InstanceClass> interfaces;
 	private volatile ArrayClass arrayClass;
 	private ClassArea<JavaMethod> methodArea;
+	private DispatchTable dispatchTable;
+	private SupertypeDisplay supertypeDisplay;
 	private ClassArea<JavaField> virtualFieldArea;
 	private ClassArea<JavaField> staticFieldArea;
 	private long occupiedInstanceSpace;
@@ -156,6 +158,16 @@ public class SimpleInstanceClass implements InstanceClass {
 		if (T == symbols.java_lang_Object()) {
 			return true;
 		}
+		SupertypeDisplay display = supertypeDisplay;
+		if (display != null && S instanceof InstanceClass) {
+			SupertypeDisplay sDisplay = ((InstanceClass) S).supertypeDisplay();
+			if (sDisplay != null) {
+				if (isInterface()) {
+					return sDisplay.hasInterface(display.interfaceIndex());
+				}
+				return sDisplay.hasSuperClass(this, display.depth());
+			}
+		}
 		if (isInterface()) {
 			Deque<JavaClass> classes = new ArrayDeque<>();
 			classes.push(S);
@@ -306,6 +318,16 @@ public class SimpleInstanceClass implements InstanceClass {
 		return methodArea;
 	}
 
+	@Override
+	public DispatchTable dispatchTable() {
+		return dispatchTable;
+	}
+
+	@Override
+	public SupertypeDisplay supertypeDisplay() {
+		return supertypeDisplay;
+	}
+
 	@Override
 	public ClassArea<JavaField> virtualFieldArea() {
 		return virtualFieldArea;
@@ -399,6 +421,11 @@ public class SimpleInstanceClass implements InstanceClass {
 		return pending;
 	}
 
+	@Override
+	public boolean isInitialized() {
+		return state.is(State.COMPLETE);
+	}
+
 	@Override
 	public synchronized void redefine(ClassReader reader, ClassNode node) {
 		ClassNode current = this.node;
@@ -407,6 +434,7 @@ public class SimpleInstanceClass implements InstanceClass {
 		classReader = reader;
 		this.node = node;
 		rawClassFile = null;
+		vm.getRuntimeResolver().invalidateCaches();
 	}
 
 	@Override
@@ -479,6 +507,16 @@ public class SimpleInstanceClass implements InstanceClass {
 				SimpleInstanceClass.this.methodArea = methodArea;
 			}
 
+			@Override
+			public void setDispatchTable(DispatchTable dispatchTable) {
+				SimpleInstanceClass.this.dispatchTable = dispatchTable;
+			}
+
+			@Override
+			public void setSupertypeDisplay(SupertypeDisplay supertypeDisplay) {
+				SimpleInstanceClass.this.supertypeDisplay = supertypeDisplay;
+			}
+
 			@Override
 			public void setOccupiedInstanceSpace(long occupiedInstanceSpace) {
 				SimpleInstanceClass.this.occupiedInstanceSpace = occupiedInstanceSpace;
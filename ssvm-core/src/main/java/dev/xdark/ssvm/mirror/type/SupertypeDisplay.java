@@ -0,0 +1,115 @@
+package dev.xdark.ssvm.mirror.type;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Supertypes of a class, computed at link time
+ * for constant-time subtype checks.
+ * <p>
+ * Superclasses are stored in a display indexed by
+ * their depth in the hierarchy, {@code java/lang/Object} being at depth 0.
+ * All transitively implemented interfaces are stored as
+ * a sorted array of interface indices.
+ *
+ * @author xDark
+ */
+public final class SupertypeDisplay {
+
+	private static final AtomicInteger INTERFACE_INDEX = new AtomicInteger();
+	private final InstanceClass[] primary;
+	private final int[] secondary;
+	private final int interfaceIndex;
+
+	private SupertypeDisplay(InstanceClass[] primary, int[] secondary, int interfaceIndex) {
+		this.primary = primary;
+		this.secondary = secondary;
+		this.interfaceIndex = interfaceIndex;
+	}
+
+	/**
+	 * @return depth of the class in the hierarchy.
+	 */
+	public int depth() {
+		return primary.length - 1;
+	}
+
+	/**
+	 * @return index of the interface, or {@code -1},
+	 * if the class is not an interface.
+	 */
+	public int interfaceIndex() {
+		return interfaceIndex;
+	}
+
+	/**
+	 * @param superClass Class to check.
+	 * @param depth      Depth of the class.
+	 * @return {@code true} if the class is a superclass of,
+	 * or the same class as, the class of this display.
+	 */
+	public boolean hasSuperClass(InstanceClass superClass, int depth) {
+		InstanceClass[] primary = this.primary;
+		return depth < primary.length && primary[depth] == superClass;
+	}
+
+	/**
+	 * @param interfaceIndex Interface index.
+	 * @return {@code true} if the class of this display
+	 * implements the interface.
+	 */
+	public boolean hasInterface(int interfaceIndex) {
+		return Arrays.binarySearch(secondary, interfaceIndex) >= 0;
+	}
+
+	/**
+	 * Creates supertype display.
+	 *
+	 * @param klass Linked class.
+	 * @return supertype display or {@code null},
+	 * if any of the supertypes has no display.
+	 */
+	public static SupertypeDisplay create(InstanceClass klass) {
+		InstanceClass superClass = klass.getSuperClass();
+		InstanceClass[] primary;
+		int[] secondary;
+		int length;
+		if (superClass == null) {
+			primary = new InstanceClass[]{klass};
+			secondary = new int[8];
+			length = 0;
+		} else {
+			SupertypeDisplay display = superClass.supertypeDisplay();
+			if (display == null) {
+				return null;
+			}
+			InstanceClass[] superPrimary = display.primary;
+			primary = Arrays.copyOf(superPrimary, superPrimary.length + 1);
+			primary[superPrimary.length] = klass;
+			secondary = Arrays.copyOf(display.secondary, display.secondary.length + 8);
+			length = display.secondary.length;
+		}
+		for (InstanceClass itf : klass.getInterfaces()) {
+			SupertypeDisplay display = itf.supertypeDisplay();
+			if (display == null) {
+				return null;
+			}
+			int[] itfSecondary = display.secondary;
+			if (length + itfSecondary.length + 1 > secondary.length) {
+				secondary = Arrays.copyOf(secondary, (length + itfSecondary.length + 1) * 2);
+			}
+			secondary[length++] = display.interfaceIndex;
+			System.arraycopy(itfSecondary, 0, secondary, length, itfSecondary.length);
+			length += itfSecondary.length;
+		}
+		Arrays.sort(secondary, 0, length);
+		int unique = 0;
+		for (int i = 0; i < length; i++) {
+			if (unique == 0 || secondary[unique - 1] != secondary[i]) {
+				secondary[unique++] = secondary[i];
+			}
+		}
+		int interfaceIndex = klass.isInterface() ? INTERFACE_INDEX.getAndIncrement() : -1;
+		return new SupertypeDisplay(primary, Arrays.copyOf(secondary, unique), interfaceIndex);
+	}
+}
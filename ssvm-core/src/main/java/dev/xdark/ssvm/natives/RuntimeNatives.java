@@ -1,7 +1,6 @@
 package dev.xdark.ssvm.natives;
 
 import dev.xdark.ssvm.VirtualMachine;
-import dev.xdark.ssvm.api.MethodInvoker;
 import dev.xdark.ssvm.api.VMInterface;
 import dev.xdark.ssvm.execution.Result;
 import dev.xdark.ssvm.memory.allocation.MemoryAllocator;
@@ -41,6 +40,9 @@ public class RuntimeNatives {
 			ctx.setResult(statistics == null ? 0L : statistics.maxSpace());
 			return Result.ABORT;
 		});
-		vmi.setInvoker(runtime, "gc", "()V", MethodInvoker.noop());
+		vmi.setInvoker(runtime, "gc", "()V", ctx -> {
+			vm.getMemoryManager().getGarbageCollector().invoke();
+			return Result.ABORT;
+		});
 	}
 }
@@ -289,6 +289,8 @@ public class UnsafeNatives {
 			int slot = ops.getInt(field, "slot");
 			JavaField fn = declaringClass.getFieldBySlot(slot);
 			if (fn != null) {
+				// The field may now be written through Unsafe, don't fold it
+				fn.exposeOffset();
 				ctx.setResult(fn.getOffset());
 			} else {
 				ctx.setResult(-1L);
@@ -24,9 +24,11 @@ import dev.xdark.ssvm.mirror.member.area.ClassArea;
 import dev.xdark.ssvm.mirror.member.area.EmptyClassArea;
 import dev.xdark.ssvm.mirror.member.area.SimpleClassArea;
 import dev.xdark.ssvm.mirror.type.ClassLinkage;
+import dev.xdark.ssvm.mirror.type.DispatchTable;
 import dev.xdark.ssvm.mirror.type.InitializationState;
 import dev.xdark.ssvm.mirror.type.InstanceClass;
 import dev.xdark.ssvm.mirror.type.JavaClass;
+import dev.xdark.ssvm.mirror.type.SupertypeDisplay;
 import dev.xdark.ssvm.symbol.Primitives;
 import dev.xdark.ssvm.symbol.Symbols;
 import dev.xdark.ssvm.thread.ThreadManager;
@@ -48,7 +50,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Default implementation.
@@ -179,6 +183,8 @@ public final class DefaultClassOperations implements ClassOperations {
 			} else {
 				linkage.setInterfaces(Collections.emptyList());
 			}
+			linkage.setDispatchTable(makeDispatchTable(instanceClass, allMethods));
+			linkage.setSupertypeDisplay(SupertypeDisplay.create(instanceClass));
 			if (jlc.getOop() != null) {
 				// VM might be still starting up
 				// All classes without mirrors will be fixed later
@@ -199,6 +205,9 @@ public final class DefaultClassOperations implements ClassOperations {
 
 	@Override
 	public void initialize(@NotNull InstanceClass instanceClass) {
+		if (instanceClass.isInitialized()) {
+			return;
+		}
 		InitializationState state = instanceClass.state();
 		state.lock();
 		if (state.is(InstanceClass.State.COMPLETE) || state.is(InstanceClass.State.IN_PROGRESS)) {
@@ -223,6 +232,7 @@ public final class DefaultClassOperations implements ClassOperations {
 				Locals locals = threadManager.currentThreadStorage().newLocals(clinit);
 				ops.invokeVoid(clinit, locals);
 			}
+			state.set(InstanceClass.State.COMPLETE);
 		} catch (VMException ex) {
 			state.set(InstanceClass.State.FAILED);
 			throwClassException(ex);
@@ -436,6 +446,166 @@ public final class DefaultClassOperations implements ClassOperations {
 		return memoryManager.objectSize();
 	}
 
+	private DispatchTable makeDispatchTable(InstanceClass instanceClass, List<JavaMethod> methods) {
+		boolean isInterface = instanceClass.isInterface();
+		InstanceClass superClass = isInterface ? null : instanceClass.getSuperClass();
+		DispatchTable superTable = null;
+		if (superClass != null) {
+			superTable = superClass.dispatchTable();
+			if (superTable == null) {
+				// Cannot share slots with the super class.
+				return null;
+			}
+		}
+		JavaMethod[] superVTable = superTable == null ? new JavaMethod[0] : superTable.vtable();
+		int inherited = superVTable.length;
+		JavaMethod[] vtable = Arrays.copyOf(superVTable, inherited + methods.size());
+		int length = inherited;
+		for (int i = 0, j = methods.size(); i < j; i++) {
+			JavaMethod method = methods.get(i);
+			String name = method.getName();
+			if ((method.getModifiers() & (Opcodes.ACC_STATIC | Opcodes.ACC_PRIVATE)) != 0 || name.charAt(0) == '<') {
+				continue;
+			}
+			String desc = method.getDesc();
+			int index = -1;
+			// A method may override more than one slot,
+			// e.g. package-private methods from different packages
+			for (int k = 0; k < inherited; k++) {
+				JavaMethod overridden = superVTable[k];
+				if (overridden != null && name.equals(overridden.getName()) && desc.equals(overridden.getDesc())
+					&& canOverride(instanceClass, superClass, k)) {
+					vtable[k] = method;
+					if (index == -1) {
+						index = k;
+					}
+				}
+			}
+			if (index == -1) {
+				index = length++;
+				vtable[index] = method;
+			}
+			method.setVTableIndex(index);
+		}
+		vtable = Arrays.copyOf(vtable, length);
+		Set<InstanceClass> interfaceSet = new LinkedHashSet<>();
+		if (superTable != null) {
+			Collections.addAll(interfaceSet, superTable.interfaces());
+		}
+		for (InstanceClass itf : instanceClass.getInterfaces()) {
+			interfaceSet.add(itf);
+			DispatchTable table = itf.dispatchTable();
+			if (table != null) {
+				Collections.addAll(interfaceSet, table.interfaces());
+			}
+		}
+		InstanceClass[] interfaces = interfaceSet.toArray(new InstanceClass[0]);
+		if (isInterface) {
+			// Interfaces are never receivers
+			return new DispatchTable(vtable, interfaces, null);
+		}
+		JavaMethod[][] itables = new JavaMethod[interfaces.length][];
+		for (int i = 0; i < interfaces.length; i++) {
+			DispatchTable table = interfaces[i].dispatchTable();
+			if (table == null) {
+				itables[i] = new JavaMethod[0];
+				continue;
+			}
+			JavaMethod[] layout = table.vtable();
+			JavaMethod[] itable = new JavaMethod[layout.length];
+			for (int k = 0; k < layout.length; k++) {
+				itable[k] = selectInterfaceMethod(instanceClass, interfaces, layout[k]);
+			}
+			itables[i] = itable;
+		}
+		return new DispatchTable(vtable, interfaces, itables);
+	}
+
+	// JVMS 5.4.5, a method overrides the slot if it overrides
+	// any of the methods the superclasses put into the slot
+	private boolean canOverride(InstanceClass instanceClass, InstanceClass superClass, int index) {
+		for (InstanceClass jc = superClass; jc != null; jc = jc.getSuperClass()) {
+			JavaMethod[] vtable = jc.dispatchTable().vtable();
+			if (index >= vtable.length) {
+				break;
+			}
+			JavaMethod overridden = vtable[index];
+			int modifiers = overridden.getModifiers();
+			if ((modifiers & (Opcodes.ACC_PUBLIC | Opcodes.ACC_PROTECTED)) != 0 || isSamePackage(instanceClass, overridden.getOwner())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isSamePackage(InstanceClass a, InstanceClass b) {
+		if (classLoaders.getClassLoaderData(a.getClassLoader()) != classLoaders.getClassLoaderData(b.getClassLoader())) {
+			return false;
+		}
+		String first = a.getInternalName();
+		String second = b.getInternalName();
+		int index = first.lastIndexOf('/');
+		return index == second.lastIndexOf('/') && first.regionMatches(0, second, 0, Math.max(index, 0));
+	}
+
+	// JVMS 5.4.6, returns null if there is no method to select,
+	// so that the runtime resolver throws the error
+	private static JavaMethod selectInterfaceMethod(InstanceClass instanceClass, InstanceClass[] interfaces, JavaMethod method) {
+		String name = method.getName();
+		String desc = method.getDesc();
+		for (InstanceClass jc = instanceClass; jc != null; jc = jc.getSuperClass()) {
+			JavaMethod candidate = jc.methodArea().get(name, desc);
+			if (candidate != null) {
+				int modifiers = candidate.getModifiers();
+				if ((modifiers & Opcodes.ACC_PRIVATE) == 0) {
+					return (modifiers & Opcodes.ACC_STATIC) == 0 ? candidate : null;
+				}
+			}
+		}
+		// Maximally-specific superinterface methods
+		JavaMethod selected = null;
+		for (InstanceClass itf : interfaces) {
+			JavaMethod candidate = declaredInstanceMethod(itf, name, desc);
+			if (candidate == null) {
+				continue;
+			}
+			boolean maximallySpecific = true;
+			for (InstanceClass other : interfaces) {
+				if (other != itf && extendsInterface(other, itf) && declaredInstanceMethod(other, name, desc) != null) {
+					maximallySpecific = false;
+					break;
+				}
+			}
+			if (maximallySpecific && (candidate.getModifiers() & Opcodes.ACC_ABSTRACT) == 0) {
+				if (selected != null) {
+					return null;
+				}
+				selected = candidate;
+			}
+		}
+		return selected;
+	}
+
+	private static boolean extendsInterface(InstanceClass klass, InstanceClass itf) {
+		DispatchTable table = klass.dispatchTable();
+		if (table != null) {
+			for (InstanceClass superInterface : table.interfaces()) {
+				if (superInterface == itf) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static JavaMethod declaredInstanceMethod(InstanceClass klass, String name, String desc) {
+		JavaMethod method = klass.methodArea().get(name, desc);
+		if (method == null || (method.getModifiers() & (Opcodes.ACC_STATIC | Opcodes.ACC_PRIVATE)) != 0) {
+			return null;
+		}
+		return method;
+	}
+
 	private void throwClassException(VMException ex) {
 		InstanceValue oop = ex.getOop();
 		Symbols symbols = this.symbols;
@@ -1,10 +1,11 @@
 package dev.xdark.ssvm.operation;
 
 import dev.xdark.ssvm.execution.ExecutionEngine;
-import dev.xdark.ssvm.execution.ExecutionRequest;
+import dev.xdark.ssvm.execution.InvocationFrame;
 import dev.xdark.ssvm.execution.Locals;
 import dev.xdark.ssvm.execution.Stack;
 import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.thread.OSThread;
 import dev.xdark.ssvm.thread.ThreadManager;
 import dev.xdark.ssvm.value.ObjectValue;
 import dev.xdark.ssvm.value.sink.BlackholeValueSink;
@@ -25,10 +26,7 @@ public final class DefaultInvocationOperations implements InvocationOperations {
 
 	@Override
 	public <R extends ValueSink> R invoke(JavaMethod method, Locals locals, R sink) {
-		SimpleExecutionRequest<R> request = new SimpleExecutionRequest<>();
-		request.init(method, threadManager.currentThreadStorage().newStack(method), locals, sink);
-		executionEngine.execute(request);
-		return sink;
+		return invoke(threadManager.currentOsThread(), method, locals, sink);
 	}
 
 	@Override
@@ -38,12 +36,18 @@ public final class DefaultInvocationOperations implements InvocationOperations {
 
 	@Override
 	public ObjectValue invokeReference(JavaMethod method, Locals locals) {
-		return invoke(method, locals, new ReflectionSink()).referenceValue;
+		OSThread thread = threadManager.currentOsThread();
+		ReflectionSink sink = invoke(thread, method, locals, frame(thread).resultSink());
+		ObjectValue value = sink.referenceValue;
+		// Do not keep the result reachable
+		sink.referenceValue = null;
+		return value;
 	}
 
 	@Override
 	public long invokeLong(JavaMethod method, Locals locals) {
-		return invoke(method, locals, new ReflectionSink()).longValue;
+		OSThread thread = threadManager.currentOsThread();
+		return invoke(thread, method, locals, frame(thread).resultSink()).longValue;
 	}
 
 	@Override
@@ -53,7 +57,8 @@ public final class DefaultInvocationOperations implements InvocationOperations {
 
 	@Override
 	public int invokeInt(JavaMethod method, Locals locals) {
-		return invoke(method, locals, new ReflectionSink()).intValue;
+		OSThread thread = threadManager.currentOsThread();
+		return invoke(thread, method, locals, frame(thread).resultSink()).intValue;
 	}
 
 	@Override
@@ -81,41 +86,13 @@ public final class DefaultInvocationOperations implements InvocationOperations {
 		return invokeInt(method, locals) != 0;
 	}
 
-	private static final class SimpleExecutionRequest<R extends ValueSink> implements ExecutionRequest<R> {
-		private JavaMethod method;
-		private Stack stack;
-		private Locals locals;
-		private R resultSink;
-
-		SimpleExecutionRequest() {
-		}
-
-		void init(JavaMethod method, Stack stack, Locals locals, R resultSink) {
-			this.method = method;
-			this.stack = stack;
-			this.locals = locals;
-			this.resultSink = resultSink;
-		}
-
-		@Override
-		public JavaMethod getMethod() {
-			return method;
-		}
-
-		@Override
-		public Stack getStack() {
-			return stack;
-		}
-
-		@Override
-		public Locals getLocals() {
-			return locals;
-		}
-
-		@Override
-		public R getResultSink() {
-			return resultSink;
-		}
+	private <R extends ValueSink> R invoke(OSThread thread, JavaMethod method, Locals locals, R sink) {
+		Stack stack = thread.getStorage().newStack(method);
+		executionEngine.execute(frame(thread).request(method, stack, locals, sink));
+		return sink;
 	}
 
+	private static InvocationFrame frame(OSThread thread) {
+		return thread.getStorage().invocationFrame(thread.getBacktrace().depth());
+	}
 }
@@ -0,0 +1,55 @@
+package dev.xdark.ssvm.profiler;
+
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+
+/**
+ * Samples of a method.
+ *
+ * @author xDark
+ */
+public final class MethodSample {
+
+	private final JavaMethod method;
+	long selfSamples;
+	long totalSamples;
+	long stamp;
+
+	MethodSample(JavaMethod method) {
+		this.method = method;
+	}
+
+	/**
+	 * @return sampled method.
+	 */
+	public JavaMethod getMethod() {
+		return method;
+	}
+
+	/**
+	 * @return amount of samples in which
+	 * the method was on top of the stack.
+	 */
+	public long getSelfSamples() {
+		return selfSamples;
+	}
+
+	/**
+	 * @return amount of samples in which
+	 * the method was anywhere on the stack.
+	 */
+	public long getTotalSamples() {
+		return totalSamples;
+	}
+
+	MethodSample copy() {
+		MethodSample copy = new MethodSample(method);
+		copy.selfSamples = selfSamples;
+		copy.totalSamples = totalSamples;
+		return copy;
+	}
+
+	@Override
+	public String toString() {
+		return SamplingProfiler.frameName(method) + " self=" + selfSamples + " total=" + totalSamples;
+	}
+}
@@ -0,0 +1,210 @@
+package dev.xdark.ssvm.profiler;
+
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.execution.ExecutionContext;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.thread.JavaThread;
+import dev.xdark.ssvm.thread.OSThread;
+import dev.xdark.ssvm.thread.backtrace.Backtrace;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sampling profiler over VM backtraces.
+ * <p>
+ * A host daemon thread requests a sample at a fixed interval,
+ * the sample is then taken by the first VM thread reaching a safe point,
+ * that is a method entry or a backward jump in the interpreter.
+ * Every sample records backtraces of all threads returned by
+ * {@link dev.xdark.ssvm.thread.ThreadManager#snapshot()}.
+ *
+ * @author xDark
+ */
+public final class SamplingProfiler {
+
+	private final VirtualMachine vm;
+	private final Map<String, long[]> stacks = new HashMap<>();
+	private final Map<JavaMethod, MethodSample> methods = new IdentityHashMap<>();
+	private volatile boolean sampleRequested;
+	private Thread sampler;
+	private long samples;
+	private long stacksRecorded;
+
+	/**
+	 * @param vm VM instance.
+	 */
+	public SamplingProfiler(VirtualMachine vm) {
+		this.vm = vm;
+	}
+
+	/**
+	 * Starts sampling.
+	 *
+	 * @param interval Sampling interval.
+	 * @param unit     Interval unit.
+	 * @throws IllegalStateException If the profiler is already started.
+	 */
+	public synchronized void start(long interval, TimeUnit unit) {
+		if (sampler != null) {
+			throw new IllegalStateException("Profiler is already started");
+		}
+		long nanos = unit.toNanos(interval);
+		if (nanos <= 0L) {
+			throw new IllegalArgumentException("Interval must be positive");
+		}
+		Thread sampler = new Thread(() -> {
+			try {
+				while (!Thread.currentThread().isInterrupted()) {
+					TimeUnit.NANOSECONDS.sleep(nanos);
+					sampleRequested = true;
+				}
+			} catch (InterruptedException ignored) {
+			}
+		}, "SSVM Sampler");
+		sampler.setDaemon(true);
+		sampler.start();
+		this.sampler = sampler;
+	}
+
+	/**
+	 * Stops sampling.
+	 * Collected samples are kept.
+	 */
+	public synchronized void stop() {
+		Thread sampler = this.sampler;
+		if (sampler != null) {
+			sampler.interrupt();
+			this.sampler = null;
+		}
+		sampleRequested = false;
+	}
+
+	/**
+	 * @return {@code true} if the profiler is started.
+	 */
+	public synchronized boolean isRunning() {
+		return sampler != null;
+	}
+
+	/**
+	 * Called by the interpreter at safe points.
+	 *
+	 * @return {@code true} if a sample is pending.
+	 */
+	public boolean isSampleRequested() {
+		return sampleRequested;
+	}
+
+	/**
+	 * Takes a sample, if one is pending.
+	 */
+	public void sample() {
+		if (!sampleRequested) {
+			return;
+		}
+		synchronized (this) {
+			if (!sampleRequested) {
+				return;
+			}
+			sampleRequested = false;
+			samples++;
+			for (JavaThread thread : vm.getThreadManager().snapshot()) {
+				OSThread osThread = thread.getOsThread();
+				if (osThread != null) {
+					record(osThread.getBacktrace());
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return amount of samples taken.
+	 */
+	public synchronized long getSampleCount() {
+		return samples;
+	}
+
+	/**
+	 * @param limit Maximum amount of methods.
+	 * @return methods with most self samples, in descending order.
+	 */
+	public synchronized List<MethodSample> getTopMethods(int limit) {
+		List<MethodSample> result = new ArrayList<>(methods.size());
+		for (MethodSample sample : methods.values()) {
+			result.add(sample.copy());
+		}
+		result.sort(Comparator.comparingLong(MethodSample::getSelfSamples)
+			.thenComparingLong(MethodSample::getTotalSamples)
+			.reversed());
+		return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+	}
+
+	/**
+	 * Writes samples in the collapsed stack format,
+	 * one {@code frame;frame;frame count} line per stack,
+	 * outermost frame first.
+	 *
+	 * @param out Output to write to.
+	 * @throws IOException If any I/O error occurs.
+	 */
+	public synchronized void writeCollapsedStacks(Appendable out) throws IOException {
+		for (Map.Entry<String, long[]> entry : stacks.entrySet()) {
+			out.append(entry.getKey()).append(' ').append(Long.toString(entry.getValue()[0])).append('\n');
+		}
+	}
+
+	/**
+	 * Discards collected samples.
+	 */
+	public synchronized void reset() {
+		stacks.clear();
+		methods.clear();
+		samples = 0L;
+	}
+
+	private void record(Backtrace backtrace) {
+		int depth = backtrace.depth();
+		if (depth == 0) {
+			return;
+		}
+		long stamp = ++stacksRecorded;
+		StringBuilder key = new StringBuilder();
+		Map<JavaMethod, MethodSample> methods = this.methods;
+		JavaMethod top = null;
+		// Frames of other threads may change while they are read
+		for (int i = depth; i > 0; i--) {
+			ExecutionContext<?> frame = backtrace.at(i);
+			JavaMethod method = frame == null ? null : frame.getMethod();
+			if (method == null) {
+				continue;
+			}
+			if (key.length() != 0) {
+				key.append(';');
+			}
+			key.append(frameName(method));
+			MethodSample sample = methods.computeIfAbsent(method, MethodSample::new);
+			if (sample.stamp != stamp) {
+				// Count recursive frames once per stack
+				sample.stamp = stamp;
+				sample.totalSamples++;
+			}
+			top = method;
+		}
+		if (top == null) {
+			return;
+		}
+		methods.get(top).selfSamples++;
+		stacks.computeIfAbsent(key.toString(), k -> new long[1])[0]++;
+	}
+
+	static String frameName(JavaMethod method) {
+		return method.getOwner().getInternalName().replace('/', '.') + '.' + method.getName();
+	}
+}
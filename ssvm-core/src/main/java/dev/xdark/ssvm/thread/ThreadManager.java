@@ -122,6 +122,12 @@ public interface ThreadManager {
 	 */
 	List<JavaThread> snapshot();
 
+	/**
+	 * @return A snapshot of all threads,
+	 * including attached foreign threads.
+	 */
+	List<JavaThread> allThreads();
+
 	/**
 	 * Causes current thread to sleep.
 	 *
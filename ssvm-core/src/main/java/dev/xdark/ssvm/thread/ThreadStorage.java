@@ -1,9 +1,12 @@
 package dev.xdark.ssvm.thread;
 
+import dev.xdark.ssvm.execution.InvocationFrame;
 import dev.xdark.ssvm.execution.Locals;
 import dev.xdark.ssvm.execution.Stack;
 import dev.xdark.ssvm.mirror.member.JavaMethod;
 
+import java.util.function.LongConsumer;
+
 /**
  * Thread storage.
  *
@@ -47,6 +50,21 @@ public interface ThreadStorage {
 		return newLocals(method.getMaxLocals());
 	}
 
+	/**
+	 * @param depth Backtrace depth of the invocation.
+	 * @return reusable invocation frame for the depth.
+	 */
+	InvocationFrame invocationFrame(int depth);
+
+	/**
+	 * Reports every used slot of the thread memory.
+	 * Slots are untyped, so reported values
+	 * are only possible object addresses.
+	 *
+	 * @param visitor Slot visitor.
+	 */
+	void visitSlots(LongConsumer visitor);
+
 	/**
 	 * Deallocates thread memory.
 	 */
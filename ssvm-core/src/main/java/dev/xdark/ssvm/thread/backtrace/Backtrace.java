@@ -1,5 +1,6 @@
 package dev.xdark.ssvm.thread.backtrace;
 
+import dev.xdark.ssvm.execution.ExecutionBudget;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.ExecutionRequest;
 import dev.xdark.ssvm.value.sink.ValueSink;
@@ -41,4 +42,9 @@ public interface Backtrace extends Iterable<ExecutionContext<?>> {
 	 * @return Backtrace depth.
 	 */
 	int depth();
+
+	/**
+	 * @return Execution budget of the thread.
+	 */
+	ExecutionBudget getBudget();
 }
@@ -1,5 +1,6 @@
 package dev.xdark.ssvm.thread.backtrace;
 
+import dev.xdark.ssvm.execution.ExecutionBudget;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.ExecutionRequest;
 import dev.xdark.ssvm.util.CloseableUtil;
@@ -18,6 +19,7 @@ public final class SimpleBacktrace implements Backtrace {
 
 	private static final int RESERVED_FRAMES = 12;
 	private final List<ExecutionContext<?>> frames;
+	private final ExecutionBudget budget = new ExecutionBudget();
 	private int frame;
 
 	public SimpleBacktrace(int frameCount) {
@@ -36,7 +38,7 @@ public final class SimpleBacktrace implements Backtrace {
 			ctx = new SimpleExecutionContext<>();
 			frames.set(frameIndex, ctx);
 		}
-		ctx.init(request.getMethod(), request.getStack(), request.getLocals(), request.getResultSink());
+		ctx.init(request.getMethod(), request.getStack(), request.getLocals(), request.getResultSink(), budget);
 		this.frame = frameIndex + 1;
 		return ctx;
 	}
@@ -66,6 +68,11 @@ public final class SimpleBacktrace implements Backtrace {
 		return frame;
 	}
 
+	@Override
+	public ExecutionBudget getBudget() {
+		return budget;
+	}
+
 	@Override
 	public Iterator<ExecutionContext<?>> iterator() {
 		return frames.subList(0, frame).iterator();
@@ -1,7 +1,9 @@
 package dev.xdark.ssvm.thread.backtrace;
 
+import dev.xdark.ssvm.execution.ExecutionBudget;
 import dev.xdark.ssvm.execution.ExecutionContext;
 import dev.xdark.ssvm.execution.Locals;
+import dev.xdark.ssvm.execution.MethodCode;
 import dev.xdark.ssvm.execution.Stack;
 import dev.xdark.ssvm.mirror.member.JavaMethod;
 import dev.xdark.ssvm.util.CloseableUtil;
@@ -16,6 +18,7 @@ final class SimpleExecutionContext<R extends ValueSink> implements ExecutionCont
 	private Stack stack;
 	private Locals locals;
 	private R sink;
+	private ExecutionBudget budget;
 	private int insnPosition;
 	private int lineNumber = -1;
 
@@ -46,6 +49,18 @@ final class SimpleExecutionContext<R extends ValueSink> implements ExecutionCont
 
 	@Override
 	public int getLineNumber() {
+		int lineNumber = this.lineNumber;
+		if (lineNumber == -1) {
+			// Not set explicitly, compute from the position of
+			// the instruction being executed.
+			int position = insnPosition - 1;
+			if (position >= 0) {
+				MethodCode code = method.getCode();
+				if (position < code.length()) {
+					lineNumber = code.getLineNumber(position);
+				}
+			}
+		}
 		return lineNumber;
 	}
 
@@ -59,6 +74,11 @@ final class SimpleExecutionContext<R extends ValueSink> implements ExecutionCont
 		return sink;
 	}
 
+	@Override
+	public ExecutionBudget getBudget() {
+		return budget;
+	}
+
 	@Override
 	public void setResult(ObjectValue result) {
 		sink.acceptReference(result);
@@ -90,11 +110,12 @@ final class SimpleExecutionContext<R extends ValueSink> implements ExecutionCont
 		CloseableUtil.close(locals);
 	}
 
-	void init(JavaMethod method, Stack stack, Locals locals, R sink) {
+	void init(JavaMethod method, Stack stack, Locals locals, R sink, ExecutionBudget budget) {
 		this.method = method;
 		this.stack = stack;
 		this.locals = locals;
 		this.sink = sink;
+		this.budget = budget;
 		insnPosition = 0;
 		lineNumber = -1;
 	}
@@ -2,6 +2,7 @@ package dev.xdark.ssvm.thread.heap;
 
 import dev.xdark.ssvm.execution.EmptyLocals;
 import dev.xdark.ssvm.execution.EmptyStack;
+import dev.xdark.ssvm.execution.InvocationFrame;
 import dev.xdark.ssvm.execution.Locals;
 import dev.xdark.ssvm.execution.PanicException;
 import dev.xdark.ssvm.execution.Stack;
@@ -15,7 +16,9 @@ import dev.xdark.ssvm.thread.ThreadStorage;
 import dev.xdark.ssvm.util.BoundedQueue;
 
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Queue;
+import java.util.function.LongConsumer;
 
 public final class HeapThreadStorage implements ThreadStorage {
 	private static final int VALUE_SCALE = 8;
@@ -25,6 +28,7 @@ public final class HeapThreadStorage implements ThreadStorage {
 	private final MemoryBlock block;
 	private final MemoryData memory;
 	private long pointer;
+	private InvocationFrame[] invocationFrames = new InvocationFrame[16];
 
 	public HeapThreadStorage(MemoryManager manager, MemoryAllocator allocator, MemoryBlock block) {
 		this.manager = manager;
@@ -53,6 +57,29 @@ public final class HeapThreadStorage implements ThreadStorage {
 		return hc.makeLocals(size);
 	}
 
+	@Override
+	public InvocationFrame invocationFrame(int depth) {
+		InvocationFrame[] invocationFrames = this.invocationFrames;
+		if (depth >= invocationFrames.length) {
+			invocationFrames = Arrays.copyOf(invocationFrames, Math.max(depth + 1, invocationFrames.length << 1));
+			this.invocationFrames = invocationFrames;
+		}
+		InvocationFrame frame = invocationFrames[depth];
+		if (frame == null) {
+			frame = new InvocationFrame();
+			invocationFrames[depth] = frame;
+		}
+		return frame;
+	}
+
+	@Override
+	public void visitSlots(LongConsumer visitor) {
+		MemoryData memory = this.memory;
+		for (long offset = 0L, pointer = this.pointer; offset < pointer; offset += VALUE_SCALE) {
+			visitor.accept(memory.readLong(offset));
+		}
+	}
+
 	@Override
 	public void free() {
 		if (!allocator.freeHeap(block.getAddress())) {
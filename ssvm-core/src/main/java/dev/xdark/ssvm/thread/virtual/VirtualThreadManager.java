@@ -188,6 +188,19 @@ public final class VirtualThreadManager implements ThreadManager {
 		return new ArrayList<>(allThreads);
 	}
 
+	@Override
+	public List<JavaThread> allThreads() {
+		List<JavaThread> threads = new ArrayList<>(allThreads);
+		synchronized (threadLock) {
+			for (VirtualJavaThread th : foreignThreads.values()) {
+				if (th != SENTINEL && !threads.contains(th)) {
+					threads.add(th);
+				}
+			}
+		}
+		return threads;
+	}
+
 	@Override
 	public void sleep(long millis) {
 		VirtualJavaThread th = currentThread();
@@ -0,0 +1,240 @@
+package dev.xdark.ssvm.util;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Open addressing map with primitive {@code long} keys.
+ * <p>
+ * Removed entries are replaced with tombstones,
+ * so that entries may be removed while iterating.
+ *
+ * @author xDark
+ */
+public final class LongObjectMap<V> {
+	private static final Object TOMBSTONE = new Object();
+	private static final int MIN_CAPACITY = 16;
+	private long[] keys;
+	private Object[] values;
+	private int shift;
+	private int size;
+	// Live entries and tombstones
+	private int used;
+	private int modCount;
+	private Collection<V> valuesView;
+
+	public LongObjectMap() {
+		allocate(MIN_CAPACITY);
+	}
+
+	/**
+	 * @param key Key to get value for.
+	 * @return value or {@code null},
+	 * if there is no value for the key.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		long[] keys = this.keys;
+		Object[] values = this.values;
+		int mask = keys.length - 1;
+		int index = index(key);
+		Object value;
+		while ((value = values[index]) != null) {
+			if (keys[index] == key && value != TOMBSTONE) {
+				return (V) value;
+			}
+			index = (index + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * @param key   Key to set value for.
+	 * @param value Value to set.
+	 * @return previous value or {@code null},
+	 * if there was no value for the key.
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long key, V value) {
+		Assertions.notNull(value, "value");
+		long[] keys = this.keys;
+		Object[] values = this.values;
+		int mask = keys.length - 1;
+		int index = index(key);
+		int tombstone = -1;
+		Object existing;
+		while ((existing = values[index]) != null) {
+			if (existing == TOMBSTONE) {
+				if (tombstone == -1) {
+					tombstone = index;
+				}
+			} else if (keys[index] == key) {
+				values[index] = value;
+				return (V) existing;
+			}
+			index = (index + 1) & mask;
+		}
+		modCount++;
+		size++;
+		if (tombstone != -1) {
+			keys[tombstone] = key;
+			values[tombstone] = value;
+			return null;
+		}
+		keys[index] = key;
+		values[index] = value;
+		if (++used > keys.length >>> 1) {
+			rehash();
+		}
+		return null;
+	}
+
+	/**
+	 * @param key Key to remove value for.
+	 * @return removed value or {@code null},
+	 * if there was no value for the key.
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(long key) {
+		long[] keys = this.keys;
+		Object[] values = this.values;
+		int mask = keys.length - 1;
+		int index = index(key);
+		Object value;
+		while ((value = values[index]) != null) {
+			if (keys[index] == key && value != TOMBSTONE) {
+				values[index] = TOMBSTONE;
+				modCount++;
+				size--;
+				return (V) value;
+			}
+			index = (index + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * @return amount of entries in the map.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return {@code true} if the map is empty.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @return view of the map values.
+	 * Its iterator supports removal.
+	 */
+	public Collection<V> values() {
+		Collection<V> valuesView = this.valuesView;
+		if (valuesView == null) {
+			valuesView = new AbstractCollection<V>() {
+				@Override
+				public Iterator<V> iterator() {
+					return new ValueIterator();
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+			};
+			this.valuesView = valuesView;
+		}
+		return valuesView;
+	}
+
+	private int index(long key) {
+		// Fibonacci hashing spreads sequential addresses
+		return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new Object[capacity];
+		shift = Long.numberOfLeadingZeros(capacity - 1L);
+		used = 0;
+	}
+
+	private void rehash() {
+		long[] keys = this.keys;
+		Object[] values = this.values;
+		int capacity = MIN_CAPACITY;
+		while (capacity < size << 2) {
+			capacity <<= 1;
+		}
+		allocate(capacity);
+		long[] newKeys = this.keys;
+		Object[] newValues = this.values;
+		int mask = capacity - 1;
+		for (int i = 0; i < keys.length; i++) {
+			Object value = values[i];
+			if (value == null || value == TOMBSTONE) {
+				continue;
+			}
+			long key = keys[i];
+			int index = index(key);
+			while (newValues[index] != null) {
+				index = (index + 1) & mask;
+			}
+			newKeys[index] = key;
+			newValues[index] = value;
+		}
+		used = size;
+	}
+
+	private final class ValueIterator implements Iterator<V> {
+		private final Object[] values = LongObjectMap.this.values;
+		private int expectedModCount = modCount;
+		private int next;
+		private int last = -1;
+
+		@Override
+		public boolean hasNext() {
+			Object[] values = this.values;
+			int next = this.next;
+			while (next < values.length && (values[next] == null || values[next] == TOMBSTONE)) {
+				next++;
+			}
+			this.next = next;
+			return next < values.length;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V next() {
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			last = next++;
+			return (V) values[last];
+		}
+
+		@Override
+		public void remove() {
+			int last = this.last;
+			if (last == -1) {
+				throw new IllegalStateException();
+			}
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			values[last] = TOMBSTONE;
+			size--;
+			expectedModCount = ++modCount;
+			this.last = -1;
+		}
+	}
+}
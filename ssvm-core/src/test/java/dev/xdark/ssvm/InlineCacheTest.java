@@ -0,0 +1,53 @@
+package dev.xdark.ssvm;
+
+import dev.xdark.ssvm.execution.InlineCache;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.JavaClass;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InlineCacheTest {
+
+	@Test
+	public void testPolymorphic() {
+		InlineCache cache = new InlineCache();
+		JavaClass[] receivers = new JavaClass[InlineCache.MAX_ENTRIES];
+		JavaMethod[] targets = new JavaMethod[InlineCache.MAX_ENTRIES];
+		for (int i = 0; i < receivers.length; i++) {
+			receivers[i] = stub(JavaClass.class);
+			targets[i] = stub(JavaMethod.class);
+			assertNull(cache.get(receivers[i], 0));
+			cache.put(receivers[i], targets[i], 0);
+		}
+		for (int i = 0; i < receivers.length; i++) {
+			assertSame(targets[i], cache.get(receivers[i], 0));
+		}
+		assertFalse(cache.isMegamorphic());
+		JavaClass receiver = stub(JavaClass.class);
+		cache.put(receiver, stub(JavaMethod.class), 0);
+		assertTrue(cache.isMegamorphic());
+		assertNull(cache.get(receivers[0], 0));
+	}
+
+	@Test
+	public void testInvalidation() {
+		InlineCache cache = new InlineCache();
+		JavaClass receiver = stub(JavaClass.class);
+		JavaMethod target = stub(JavaMethod.class);
+		cache.put(receiver, target, 0);
+		assertSame(target, cache.get(receiver, 0));
+		assertNull(cache.get(receiver, 1));
+		cache.put(receiver, target, 1);
+		assertSame(target, cache.get(receiver, 1));
+	}
+
+	private static <T> T stub(Class<T> type) {
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, (proxy, method, args) -> null));
+	}
+}
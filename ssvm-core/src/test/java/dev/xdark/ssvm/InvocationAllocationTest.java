@@ -0,0 +1,58 @@
+package dev.xdark.ssvm;
+
+import dev.xdark.ssvm.execution.Locals;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import dev.xdark.ssvm.operation.VMOperations;
+import dev.xdark.ssvm.value.ObjectValue;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class InvocationAllocationTest {
+
+	private static final int CALLS = 10000;
+
+	@Test
+	public void testSteadyStateInvocation() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(threads.isThreadAllocatedMemorySupported());
+		threads.setThreadAllocatedMemoryEnabled(true);
+
+		VirtualMachine vm = TestUtil.newVirtualMachine();
+		vm.bootstrap();
+		JavaMethod compare = vm.getSymbols().java_lang_Integer().getMethod("compare", "(II)I");
+		JavaMethod requireNonNull = ((InstanceClass) vm.findBootstrapClass("java/util/Objects", true)).getMethod("requireNonNull", "(Ljava/lang/Object;)Ljava/lang/Object;");
+		ObjectValue value = vm.getSymbols().java_lang_Integer().getOop();
+		invoke(vm, compare, requireNonNull, value);
+
+		long thread = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes(thread);
+		invoke(vm, compare, requireNonNull, value);
+		long allocated = threads.getThreadAllocatedBytes(thread) - before;
+		// Any per-call allocation would be at least one object header per call
+		assertTrue(allocated < CALLS, () -> allocated + " bytes allocated by " + CALLS * 2 + " calls");
+	}
+
+	private static void invoke(VirtualMachine vm, JavaMethod compare, JavaMethod requireNonNull, ObjectValue value) {
+		VMOperations ops = vm.getOperations();
+		for (int i = 0; i < CALLS; i++) {
+			Locals locals = vm.getThreadStorage().newLocals(compare);
+			locals.setInt(0, i);
+			locals.setInt(1, 0);
+			if (ops.invokeInt(compare, locals) != Integer.compare(i, 0)) {
+				throw new IllegalStateException();
+			}
+			locals = vm.getThreadStorage().newLocals(requireNonNull);
+			locals.setReference(0, value);
+			assertSame(value, ops.invokeReference(requireNonNull, locals));
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package dev.xdark.ssvm;
+
+import dev.xdark.ssvm.util.LongObjectMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongObjectMapTest {
+
+	@Test
+	public void testMap() {
+		LongObjectMap<Long> map = new LongObjectMap<>();
+		for (long i = 0; i < 1024; i++) {
+			assertNull(map.put(i * 16L, i));
+		}
+		assertEquals(1024, map.size());
+		for (long i = 0; i < 1024; i++) {
+			assertEquals(i, map.get(i * 16L));
+			assertNull(map.get(i * 16L + 8L));
+		}
+		for (long i = 0; i < 1024; i += 2) {
+			assertEquals(i, map.remove(i * 16L));
+		}
+		assertEquals(512, map.size());
+		Iterator<Long> iterator = map.values().iterator();
+		while (iterator.hasNext()) {
+			long value = iterator.next();
+			assertEquals(1L, value & 1L);
+			if ((value & 3L) == 1L) {
+				iterator.remove();
+			}
+		}
+		assertEquals(256, map.size());
+		for (long i = 0; i < 1024; i++) {
+			assertEquals((i & 3L) == 3L ? Long.valueOf(i) : null, map.get(i * 16L));
+		}
+	}
+}
@@ -3,7 +3,10 @@ package dev.xdark.ssvm;
 import dev.xdark.ssvm.execution.Locals;
 import dev.xdark.ssvm.execution.Stack;
 import dev.xdark.ssvm.memory.allocation.MemoryAllocator;
+import dev.xdark.ssvm.memory.allocation.MemoryBlock;
+import dev.xdark.ssvm.memory.allocation.MemoryData;
 import dev.xdark.ssvm.memory.allocation.NavigableMemoryAllocator;
+import dev.xdark.ssvm.memory.allocation.SlabMemoryAllocator;
 import dev.xdark.ssvm.thread.ThreadStorage;
 import dev.xdark.ssvm.thread.heap.HeapThreadStorage;
 import org.junit.jupiter.api.BeforeAll;
@@ -13,6 +16,9 @@ import org.junit.jupiter.api.parallel.ExecutionMode;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Execution(ExecutionMode.SAME_THREAD)
@@ -60,6 +66,77 @@ public class MemoryTest {
 		assertEquals(1, b.maxSlots());
 	}
 
+	@Test
+	public void testSlabAllocator() {
+		MemoryAllocator alloc = new SlabMemoryAllocator(256);
+		MemoryBlock[] blocks = new MemoryBlock[64];
+		for (int i = 0; i < blocks.length; i++) {
+			MemoryBlock block = alloc.allocateHeap(i % 2 == 0 ? 12L : 200L);
+			block.getData().writeInt(0L, i);
+			blocks[i] = block;
+		}
+		for (int i = 0; i < blocks.length; i++) {
+			MemoryBlock block = blocks[i];
+			assertSame(block, alloc.findHeapBlock(block.getAddress()));
+			assertSame(block, alloc.findHeapBlock(block.getAddress() + 11L));
+			assertSame(block, alloc.findHeapBlock(block.getAddress() + block.getData().length() - 1L));
+			assertNull(alloc.findDirectBlock(block.getAddress()));
+			assertEquals(i, block.getData().readInt(0L));
+		}
+		for (MemoryBlock block : blocks) {
+			assertTrue(alloc.freeHeap(block.getAddress()));
+			assertFalse(alloc.freeHeap(block.getAddress()));
+			assertNull(alloc.findHeapBlock(block.getAddress()));
+		}
+		MemoryBlock direct = alloc.allocateDirect(8192L);
+		direct.getData().writeLong(8184L, 42L);
+		assertSame(direct, alloc.findDirectBlock(direct.getAddress() + 8184L));
+		assertNull(alloc.findDirectBlock(direct.getAddress() + 8192L));
+		assertNull(alloc.findHeapBlock(direct.getAddress()));
+		MemoryBlock reallocated = alloc.reallocateDirect(direct.getAddress(), 16384L);
+		assertEquals(42L, reallocated.getData().readLong(8184L));
+		assertNull(alloc.findDirectBlock(direct.getAddress()));
+		assertTrue(alloc.freeDirect(reallocated.getAddress()));
+		assertNull(alloc.findDirectBlock(reallocated.getAddress()));
+	}
+
+	@Test
+	public void testSlabBounds() {
+		MemoryAllocator alloc = new SlabMemoryAllocator(256);
+		MemoryBlock first = alloc.allocateHeap(16L);
+		MemoryBlock second = alloc.allocateHeap(16L);
+		second.getData().writeLong(0L, -1L);
+		second.getData().writeLong(8L, -1L);
+		MemoryData data = first.getData();
+		assertThrows(RuntimeException.class, () -> data.writeLong(12L, 0L));
+		assertThrows(RuntimeException.class, () -> data.set(0L, 24L, (byte) 0));
+		assertThrows(RuntimeException.class, () -> data.write(0L, second.getData(), 0L, 24L));
+		MemoryBlock third = alloc.allocateHeap(16L);
+		assertThrows(RuntimeException.class, () -> third.getData().write(8L, data, 0L, 16L));
+		assertThrows(RuntimeException.class, () -> data.write(0L, third.getData(), 8L, 16L));
+		assertThrows(RuntimeException.class, () -> data.write(8L, new long[2], 0, 2));
+		assertThrows(RuntimeException.class, () -> data.slice(8L, 16L));
+		data.slice(8L, 8L).writeLong(0L, 7L);
+		assertEquals(7L, data.readLong(8L));
+		assertEquals(-1L, second.getData().readLong(0L));
+		assertEquals(-1L, second.getData().readLong(8L));
+	}
+
+	@Test
+	public void testSlabEmptyBlocks() {
+		MemoryAllocator alloc = new SlabMemoryAllocator(256);
+		for (int i = 0; i < 4096; i++) {
+			MemoryBlock direct = alloc.allocateDirect(0L);
+			assertSame(direct, alloc.findDirectBlock(direct.getAddress()));
+			assertTrue(alloc.freeDirect(direct.getAddress()));
+			assertNull(alloc.findDirectBlock(direct.getAddress()));
+			MemoryBlock heap = alloc.allocateHeap(0L);
+			assertSame(heap, alloc.findHeapBlock(heap.getAddress()));
+			assertTrue(alloc.freeHeap(heap.getAddress()));
+			assertNull(alloc.findHeapBlock(heap.getAddress()));
+		}
+	}
+
 	/*
 	@Disabled
 	@Test
@@ -0,0 +1,54 @@
+package dev.xdark.ssvm;
+
+import dev.xdark.ssvm.execution.MethodCode;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.VarInsnNode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class MethodCodeTest {
+
+	@Test
+	public void testDecode() {
+		MethodNode node = new MethodNode(Opcodes.ACC_STATIC, "loop", "(I)V", null, null);
+		LabelNode start = new LabelNode();
+		LabelNode end = new LabelNode();
+		InsnList list = node.instructions;
+		list.add(start);
+		list.add(new LineNumberNode(10, start));
+		list.add(new VarInsnNode(Opcodes.ILOAD, 0));
+		list.add(new JumpInsnNode(Opcodes.IFEQ, end));
+		list.add(new JumpInsnNode(Opcodes.GOTO, start));
+		list.add(end);
+		list.add(new LineNumberNode(11, end));
+		list.add(new InsnNode(Opcodes.RETURN));
+
+		MethodCode code = MethodCode.decode(node);
+		assertEquals(4, code.length());
+		assertEquals(Opcodes.ILOAD, code.getOpcode(0));
+		assertEquals(Opcodes.RETURN, code.getOpcode(3));
+		assertEquals(0, code.getPosition(start));
+		assertEquals(3, code.getPosition(end));
+		assertEquals(10, code.getLineNumber(2));
+		assertEquals(11, code.getLineNumber(3));
+		assertEquals(-1, code.getJumpTarget(0));
+		assertEquals(3, code.getJumpTarget(1));
+		assertEquals(0, code.getJumpTarget(2));
+
+		AbstractInsnNode replacement = new InsnNode(Opcodes.NOP);
+		code.replace(code.getInstruction(1), replacement);
+		assertSame(replacement, code.getInstruction(1));
+		assertSame(replacement, list.get(3));
+		assertEquals(Opcodes.NOP, code.getOpcode(1));
+		assertEquals(3, code.getPosition(end));
+	}
+}
@@ -0,0 +1,94 @@
+package dev.xdark.ssvm.enhanced;
+
+import dev.xdark.ssvm.TestUtil;
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.execution.ExecutionBudget;
+import dev.xdark.ssvm.execution.Locals;
+import dev.xdark.ssvm.execution.Result;
+import dev.xdark.ssvm.execution.SimpleExecutionEngine;
+import dev.xdark.ssvm.execution.VMException;
+import dev.xdark.ssvm.execution.compiler.CompiledMethod;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BudgetTest {
+
+	@Test
+	public void doTest() {
+		VirtualMachine vm = TestUtil.newVirtualMachine();
+		InstanceClass klass = TestUtil.test(vm, InnerBudgetTest.class, TestUtil.BOOTSTRAP);
+		JavaMethod spin = klass.getMethod("spin", "()V");
+		ExecutionBudget budget = vm.getThreadManager().currentBacktrace().getBudget();
+		try {
+			budget.setInstructions(10000L);
+			VMException ex = assertThrows(VMException.class, () -> vm.getOperations().invokeVoid(spin, vm.getThreadStorage().newLocals(spin)));
+			assertSame(vm.getSymbols().java_lang_IllegalStateException(), ex.getOop().getJavaClass());
+
+			int[] calls = new int[1];
+			vm.getInterface().setBudgetHandler((ctx, b) -> {
+				if (++calls[0] == 3) {
+					return Result.ABORT;
+				}
+				b.setDeadline(10L, TimeUnit.MILLISECONDS);
+				return Result.CONTINUE;
+			});
+			budget.clear();
+			budget.setDeadline(10L, TimeUnit.MILLISECONDS);
+			vm.getOperations().invokeVoid(spin, vm.getThreadStorage().newLocals(spin));
+			assertEquals(3, calls[0]);
+		} finally {
+			budget.clear();
+		}
+	}
+
+	@Test
+	public void testCompiled() {
+		VirtualMachine vm = TestUtil.newVirtualMachine(x -> new SimpleExecutionEngine(x, 16));
+		InstanceClass klass = TestUtil.test(vm, InnerBudgetTest.class, TestUtil.BOOTSTRAP);
+		JavaMethod count = klass.getMethod("count", "(I)V");
+		for (int i = 0; i < 32; i++) {
+			invokeCount(vm, count, 1);
+		}
+		assertInstanceOf(CompiledMethod.class, vm.getInterface().getInvoker(count));
+		ExecutionBudget budget = vm.getThreadManager().currentBacktrace().getBudget();
+		try {
+			budget.setInstructions(10000L);
+			// Would take billions of iterations without a safe point
+			VMException ex = assertThrows(VMException.class, () -> invokeCount(vm, count, -1));
+			assertSame(vm.getSymbols().java_lang_IllegalStateException(), ex.getOop().getJavaClass());
+		} finally {
+			budget.clear();
+		}
+	}
+
+	private static void invokeCount(VirtualMachine vm, JavaMethod count, int n) {
+		Locals locals = vm.getThreadStorage().newLocals(count);
+		locals.setInt(0, n);
+		vm.getOperations().invokeVoid(count, locals);
+	}
+
+	private static final class InnerBudgetTest {
+
+		private static int counter;
+
+		private static void spin() {
+			while (true) {
+				counter++;
+			}
+		}
+
+		private static void count(int n) {
+			for (int i = 0; i != n; i++) {
+				counter++;
+			}
+		}
+	}
+}
@@ -4,6 +4,11 @@ import dev.xdark.ssvm.TestUtil;
 import dev.xdark.ssvm.VMTest;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -37,6 +42,31 @@ public class CallTest {
 			obj.doVirtualCallImpl(field1, field2, field3, field4, field5, field6);
 		}
 
+		@VMTest
+		private static void doMegamorphicCall() {
+			List<List<Integer>> lists = Arrays.asList(
+				new ArrayList<>(Arrays.asList(1, 2)),
+				new LinkedList<>(Arrays.asList(1, 2, 3)),
+				Arrays.asList(1, 2, 3, 4),
+				Collections.emptyList(),
+				Collections.singletonList(1),
+				Collections.unmodifiableList(Arrays.asList(1, 2, 3, 4, 5, 6))
+			);
+			int[] sizes = {2, 3, 4, 0, 1, 6};
+			for (int i = 0; i < 4; i++) {
+				for (int j = 0; j < sizes.length; j++) {
+					List<Integer> list = lists.get(j);
+					if (list.size() != sizes[j]) {
+						throw new IllegalStateException();
+					}
+					Object obj = list;
+					if (obj.hashCode() != list.hashCode()) {
+						throw new IllegalStateException();
+					}
+				}
+			}
+		}
+
 		private static void setFields() {
 			ThreadLocalRandom r = ThreadLocalRandom.current();
 			field1 = r.nextInt();
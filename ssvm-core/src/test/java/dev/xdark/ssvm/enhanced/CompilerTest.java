@@ -0,0 +1,99 @@
+package dev.xdark.ssvm.enhanced;
+
+import dev.xdark.ssvm.TestUtil;
+import dev.xdark.ssvm.VMTest;
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.execution.SimpleExecutionEngine;
+import dev.xdark.ssvm.execution.compiler.CompiledMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+public class CompilerTest {
+
+	@Test
+	public void doTest() {
+		VirtualMachine vm = TestUtil.newVirtualMachine(x -> new SimpleExecutionEngine(x, 16));
+		InstanceClass klass = TestUtil.test(vm, InnerCompilerTest.class, TestUtil.BOOTSTRAP);
+		assertInstanceOf(CompiledMethod.class, vm.getInterface().getInvoker(klass.getMethod("sum", "(I)I")));
+		assertInstanceOf(CompiledMethod.class, vm.getInterface().getInvoker(klass.getMethod("fill", "([JJ)V")));
+	}
+
+	private static final class InnerCompilerTest {
+
+		private static long total;
+
+		@VMTest
+		private static void testArithmetic() {
+			for (int i = 0; i < 64; i++) {
+				if (sum(i) != i * (i - 1) / 2) {
+					throw new IllegalStateException();
+				}
+			}
+		}
+
+		@VMTest
+		private static void testObjects() {
+			for (int i = 0; i < 64; i++) {
+				long[] array = new long[i + 1];
+				fill(array, i);
+				if (array[i] != i || total != i) {
+					throw new IllegalStateException();
+				}
+				if (!"ab".equals(concat(new StringBuilder(), "a", "b"))) {
+					throw new IllegalStateException();
+				}
+			}
+		}
+
+		@VMTest
+		private static void testExceptions() {
+			for (int i = 0; i < 64; i++) {
+				try {
+					divide(i, 0);
+					throw new IllegalStateException();
+				} catch (ArithmeticException ignored) {
+				}
+				Object value = (i & 1) == 0 ? "value" : (Object) i;
+				try {
+					cast(value);
+					if ((i & 1) != 0) {
+						throw new IllegalStateException();
+					}
+				} catch (ClassCastException ex) {
+					if ((i & 1) == 0) {
+						throw new IllegalStateException();
+					}
+				}
+			}
+		}
+
+		private static int sum(int n) {
+			int sum = 0;
+			for (int i = 0; i < n; i++) {
+				sum += i;
+			}
+			return sum;
+		}
+
+		private static void fill(long[] array, long value) {
+			for (int i = 0; i < array.length; i++) {
+				array[i] = value;
+			}
+			total = value;
+		}
+
+		private static String concat(StringBuilder builder, String a, String b) {
+			return builder.append(a).append(b).toString();
+		}
+
+		private static int divide(int a, int b) {
+			return a / b;
+		}
+
+		private static String cast(Object value) {
+			return (String) value;
+		}
+	}
+}
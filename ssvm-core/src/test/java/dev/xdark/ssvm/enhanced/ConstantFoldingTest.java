@@ -0,0 +1,111 @@
+package dev.xdark.ssvm.enhanced;
+
+import dev.xdark.ssvm.TestUtil;
+import dev.xdark.ssvm.VMTest;
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.asm.ConstantDoubleInsnNode;
+import dev.xdark.ssvm.asm.ConstantFloatInsnNode;
+import dev.xdark.ssvm.asm.ConstantIntInsnNode;
+import dev.xdark.ssvm.asm.ConstantLongInsnNode;
+import dev.xdark.ssvm.asm.ConstantReferenceInsnNode;
+import dev.xdark.ssvm.asm.VMFieldInsnNode;
+import dev.xdark.ssvm.execution.MethodCode;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConstantFoldingTest {
+
+	@Test
+	public void doTest() {
+		VirtualMachine vm = TestUtil.newVirtualMachine();
+		InstanceClass klass = TestUtil.test(vm, InnerConstantFoldingTest.class, TestUtil.BOOTSTRAP);
+		assertEquals(1, count(klass.getMethod("readInt", "()I"), ConstantIntInsnNode.class));
+		assertEquals(1, count(klass.getMethod("readLong", "()J"), ConstantLongInsnNode.class));
+		assertEquals(1, count(klass.getMethod("readFloat", "()F"), ConstantFloatInsnNode.class));
+		assertEquals(1, count(klass.getMethod("readDouble", "()D"), ConstantDoubleInsnNode.class));
+		assertEquals(1, count(klass.getMethod("readString", "()Ljava/lang/String;"), ConstantReferenceInsnNode.class));
+		// Exposed fields may be changed through Unsafe, and must not be folded
+		JavaMethod readExposed = klass.getMethod("readExposed", "()I");
+		assertEquals(0, count(readExposed, ConstantIntInsnNode.class));
+		assertTrue(count(readExposed, VMFieldInsnNode.class) > 0);
+	}
+
+	private static int count(JavaMethod method, Class<? extends AbstractInsnNode> type) {
+		MethodCode code = method.getCode();
+		int count = 0;
+		for (int i = 0, j = code.length(); i < j; i++) {
+			if (type.isInstance(code.getInstruction(i))) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static final class InnerConstantFoldingTest {
+		private static final Unsafe U = Unsafe.getUnsafe();
+		// Not compile-time constants, so that javac emits GETSTATIC
+		private static final int INT = Integer.parseInt("7");
+		private static final long LONG = Long.parseLong("-9000000000");
+		private static final float FLOAT = Float.parseFloat("1.5");
+		private static final double DOUBLE = Double.parseDouble("-2.25");
+		private static final String STRING = new String("folded");
+		private static final int EXPOSED = Integer.parseInt("1");
+
+		@VMTest
+		private static void testFold() {
+			// The second pass runs the folded code
+			for (int i = 0; i < 2; i++) {
+				if (readInt() != 7 || readLong() != -9000000000L || readFloat() != 1.5F
+					|| readDouble() != -2.25D || !"folded".equals(readString())) {
+					throw new IllegalStateException();
+				}
+			}
+		}
+
+		@VMTest
+		private static void testExposed() throws NoSuchFieldException {
+			Field field = InnerConstantFoldingTest.class.getDeclaredField("EXPOSED");
+			Object base = U.staticFieldBase(field);
+			long offset = U.staticFieldOffset(field);
+			if (readExposed() != 1) {
+				throw new IllegalStateException();
+			}
+			U.putInt(base, offset, 2);
+			if (readExposed() != 2) {
+				throw new IllegalStateException();
+			}
+		}
+
+		private static int readInt() {
+			return INT;
+		}
+
+		private static long readLong() {
+			return LONG;
+		}
+
+		private static float readFloat() {
+			return FLOAT;
+		}
+
+		private static double readDouble() {
+			return DOUBLE;
+		}
+
+		private static String readString() {
+			return STRING;
+		}
+
+		private static int readExposed() {
+			return EXPOSED;
+		}
+	}
+}
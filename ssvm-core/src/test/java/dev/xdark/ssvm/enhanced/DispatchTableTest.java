@@ -0,0 +1,124 @@
+package dev.xdark.ssvm.enhanced;
+
+import dev.xdark.ssvm.TestUtil;
+import dev.xdark.ssvm.VMTest;
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.enhanced.dispatch.PackagePrivateOverride;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import dev.xdark.ssvm.operation.VMOperations;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Type;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class DispatchTableTest {
+
+	@Test
+	public void doTest() {
+		VirtualMachine vm = TestUtil.newVirtualMachine();
+		InstanceClass klass = TestUtil.test(vm, InnerDispatchTableTest.class, TestUtil.BOOTSTRAP);
+		VMOperations ops = vm.getOperations();
+		InstanceClass base = (InstanceClass) ops.findClass(klass, Type.getInternalName(Base.class), false);
+		InstanceClass other = (InstanceClass) ops.findClass(klass, Type.getInternalName(PackagePrivateOverride.class), false);
+		InstanceClass third = (InstanceClass) ops.findClass(klass, Type.getInternalName(Third.class), false);
+		JavaMethod baseValue = base.getMethod("value", "()I");
+		JavaMethod otherValue = other.getMethod("value", "()I");
+		JavaMethod thirdValue = third.getMethod("value", "()I");
+		// Package-private methods from other packages are not overridden
+		assertNotEquals(baseValue.getVTableIndex(), otherValue.getVTableIndex());
+		assertSame(baseValue, other.dispatchTable().vtable()[baseValue.getVTableIndex()]);
+		JavaMethod[] vtable = third.dispatchTable().vtable();
+		assertSame(thirdValue, vtable[baseValue.getVTableIndex()]);
+		assertSame(otherValue, vtable[otherValue.getVTableIndex()]);
+
+		InstanceClass named = (InstanceClass) ops.findClass(klass, Type.getInternalName(InnerDispatchTableTest.Named.class), false);
+		InstanceClass labeled = (InstanceClass) ops.findClass(klass, Type.getInternalName(InnerDispatchTableTest.Labeled.class), false);
+		InstanceClass tagged = (InstanceClass) ops.findClass(klass, Type.getInternalName(InnerDispatchTableTest.Tagged.class), false);
+		JavaMethod name = named.getMethod("name", "()Ljava/lang/String;");
+		JavaMethod[] itable = tagged.dispatchTable().itable(named);
+		assertNotNull(itable);
+		// Filled at link time with the maximally-specific default method
+		assertSame(labeled.getMethod("name", "()Ljava/lang/String;"), itable[name.getVTableIndex()]);
+	}
+
+	public static class Base {
+
+		int value() {
+			return 1;
+		}
+	}
+
+	// Overrides Base#value, but not PackagePrivateOverride#value
+	private static final class Third extends PackagePrivateOverride {
+
+		@Override
+		int value() {
+			return 3;
+		}
+	}
+
+	private static final class InnerDispatchTableTest {
+
+		@VMTest
+		private static void testPackagePrivate() {
+			Base[] values = {new Base(), new PackagePrivateOverride(), new Third()};
+			int[] expected = {1, 1, 3};
+			for (int i = 0; i < 8; i++) {
+				for (int j = 0; j < values.length; j++) {
+					if (values[j].value() != expected[j]) {
+						throw new IllegalStateException();
+					}
+				}
+				if (PackagePrivateOverride.value(new PackagePrivateOverride()) != 2 || PackagePrivateOverride.value(new Third()) != 2) {
+					throw new IllegalStateException();
+				}
+			}
+		}
+
+		@VMTest
+		private static void testDefaults() {
+			Named[] values = {new Plain(), new Tagged(), new Custom(), new Inherited()};
+			String[] expected = {"named", "labeled", "custom", "custom"};
+			for (int i = 0; i < 8; i++) {
+				for (int j = 0; j < values.length; j++) {
+					if (!expected[j].equals(values[j].name())) {
+						throw new IllegalStateException();
+					}
+				}
+			}
+		}
+
+		private interface Named {
+			default String name() {
+				return "named";
+			}
+		}
+
+		private interface Labeled extends Named {
+			@Override
+			default String name() {
+				return "labeled";
+			}
+		}
+
+		private static final class Plain implements Named {
+		}
+
+		private static class Tagged implements Labeled, Named {
+		}
+
+		private static class Custom extends Tagged {
+			@Override
+			public String name() {
+				return "custom";
+			}
+		}
+
+		// Inherits the implementation through its superclass
+		private static final class Inherited extends Custom implements Named {
+		}
+	}
+}
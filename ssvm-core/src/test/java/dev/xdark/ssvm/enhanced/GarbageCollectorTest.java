@@ -0,0 +1,151 @@
+package dev.xdark.ssvm.enhanced;
+
+import dev.xdark.ssvm.TestUtil;
+import dev.xdark.ssvm.VMTest;
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.memory.allocation.MemoryAllocator;
+import dev.xdark.ssvm.memory.management.MemoryManager;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import dev.xdark.ssvm.operation.VMOperations;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GarbageCollectorTest {
+
+	@Test
+	public void doTest() {
+		TestUtil.test(InnerGarbageCollectorTest.class, TestUtil.BOOTSTRAP);
+	}
+
+	@Test
+	public void testReclaim() {
+		VirtualMachine vm = TestUtil.newVirtualMachine();
+		InstanceClass klass = TestUtil.test(vm, InnerGarbageCollectorTest.class, TestUtil.BOOTSTRAP);
+		VMOperations ops = vm.getOperations();
+		MemoryManager memoryManager = vm.getMemoryManager();
+		MemoryAllocator allocator = vm.getMemoryAllocator();
+		JavaMethod keep = klass.getMethod("keep", "()V");
+		ops.invokeVoid(keep, vm.getThreadStorage().newLocals(keep));
+		long kept = ops.getReference(klass, "kept", "[I").getMemory().getAddress();
+		int before = memoryManager.listObjects().size();
+		int count = 1024;
+		long[] garbage = new long[count];
+		for (int i = 0; i < count; i++) {
+			garbage[i] = ops.allocateIntArray(16).getMemory().getAddress();
+		}
+		JavaMethod gc = klass.getMethod("gc", "()V");
+		// Objects are freed once the host drops their wrappers
+		for (int i = 0; i < 100 && !isFreed(allocator, garbage); i++) {
+			System.gc();
+			ops.invokeVoid(gc, vm.getThreadStorage().newLocals(gc));
+		}
+		for (long address : garbage) {
+			assertNull(allocator.findHeapBlock(address));
+			assertNull(memoryManager.getReference(address));
+		}
+		assertTrue(memoryManager.listObjects().size() < before + count / 2);
+		assertNotNull(allocator.findHeapBlock(kept));
+		JavaMethod check = klass.getMethod("check", "()V");
+		ops.invokeVoid(check, vm.getThreadStorage().newLocals(check));
+	}
+
+	private static boolean isFreed(MemoryAllocator allocator, long[] addresses) {
+		for (long address : addresses) {
+			if (allocator.findHeapBlock(address) != null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static final class InnerGarbageCollectorTest {
+		private static Node head;
+		private static int[] kept;
+
+		@VMTest
+		private static void testLinked() {
+			for (int i = 0; i < 64; i++) {
+				head = new Node(i, head);
+				new Node(-i, null);
+			}
+			System.gc();
+			Node node = head;
+			for (int i = 63; i >= 0; i--) {
+				if (node.value != i) {
+					throw new IllegalStateException();
+				}
+				node = node.next;
+			}
+			if (node != null) {
+				throw new IllegalStateException();
+			}
+			head = null;
+			System.gc();
+		}
+
+		@VMTest
+		private static void testLocals() {
+			Map<String, List<int[]>> map = new HashMap<>();
+			for (int i = 0; i < 32; i++) {
+				List<int[]> list = new ArrayList<>();
+				for (int j = 0; j < 4; j++) {
+					list.add(new int[]{i, j});
+				}
+				map.put(Integer.toString(i), list);
+				if ((i & 7) == 0) {
+					System.gc();
+				}
+			}
+			System.gc();
+			for (int i = 0; i < 32; i++) {
+				List<int[]> list = map.get(Integer.toString(i));
+				for (int j = 0; j < 4; j++) {
+					int[] pair = list.get(j);
+					if (pair[0] != i || pair[1] != j) {
+						throw new IllegalStateException();
+					}
+				}
+			}
+		}
+
+		private static void keep() {
+			int[] array = new int[64];
+			for (int i = 0; i < array.length; i++) {
+				array[i] = i * 31;
+			}
+			kept = array;
+		}
+
+		private static void gc() {
+			System.gc();
+		}
+
+		private static void check() {
+			int[] array = kept;
+			for (int i = 0; i < array.length; i++) {
+				if (array[i] != i * 31) {
+					throw new IllegalStateException();
+				}
+			}
+		}
+
+		private static final class Node {
+			final int value;
+			final Node next;
+
+			Node(int value, Node next) {
+				this.value = value;
+				this.next = next;
+			}
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package dev.xdark.ssvm.enhanced;
+
+import dev.xdark.ssvm.TestUtil;
+import dev.xdark.ssvm.VMTest;
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import dev.xdark.ssvm.operation.VMOperations;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Type;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InitializationTest {
+
+	@Test
+	public void doTest() {
+		VirtualMachine vm = TestUtil.newVirtualMachine();
+		InstanceClass klass = TestUtil.test(vm, InnerInitializationTest.class, TestUtil.BOOTSTRAP);
+		VMOperations ops = vm.getOperations();
+		InstanceClass first = (InstanceClass) ops.findClass(klass, Type.getInternalName(InnerInitializationTest.First.class), false);
+		InstanceClass second = (InstanceClass) ops.findClass(klass, Type.getInternalName(InnerInitializationTest.Second.class), false);
+		InstanceClass broken = (InstanceClass) ops.findClass(klass, Type.getInternalName(InnerInitializationTest.Broken.class), false);
+		// Recursive initialization must still reach COMPLETE
+		assertTrue(first.isInitialized());
+		assertTrue(second.isInitialized());
+		assertTrue(first.state().is(InstanceClass.State.COMPLETE));
+		assertTrue(second.state().is(InstanceClass.State.COMPLETE));
+		assertFalse(broken.isInitialized());
+		assertTrue(broken.state().is(InstanceClass.State.FAILED));
+	}
+
+	private static final class InnerInitializationTest {
+
+		@VMTest
+		private static void testRecursive() {
+			for (int i = 0; i < 4; i++) {
+				if (First.value() != 3 || Second.VALUE != 2 || Second.first != 0) {
+					throw new IllegalStateException();
+				}
+				// Allocation skips the barrier once initialized
+				if (new Second() == null) {
+					throw new IllegalStateException();
+				}
+			}
+		}
+
+		@VMTest
+		private static void testFailed() {
+			for (int i = 0; i < 4; i++) {
+				try {
+					Broken.touch();
+				} catch (ExceptionInInitializerError ex) {
+					if (i != 0) {
+						throw new IllegalStateException();
+					}
+					continue;
+				} catch (NoClassDefFoundError ex) {
+					if (i == 0) {
+						throw new IllegalStateException();
+					}
+					continue;
+				}
+				throw new IllegalStateException();
+			}
+		}
+
+		private static final class First {
+			static final int VALUE;
+
+			static {
+				VALUE = Second.VALUE + 1;
+			}
+
+			static int value() {
+				return VALUE;
+			}
+		}
+
+		private static final class Second {
+			static int VALUE = 2;
+			static int first;
+
+			static {
+				// First is being initialized by this thread
+				first = First.VALUE;
+			}
+		}
+
+		private static final class Broken {
+
+			static {
+				fail();
+			}
+
+			static void touch() {
+			}
+
+			private static void fail() {
+				throw new RuntimeException();
+			}
+		}
+	}
+}
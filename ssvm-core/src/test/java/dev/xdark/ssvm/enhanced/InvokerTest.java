@@ -0,0 +1,64 @@
+package dev.xdark.ssvm.enhanced;
+
+import dev.xdark.ssvm.TestUtil;
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.api.MethodInvoker;
+import dev.xdark.ssvm.api.VMInterface;
+import dev.xdark.ssvm.execution.Result;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class InvokerTest {
+
+	@Test
+	public void doTest() throws InterruptedException {
+		VirtualMachine vm = TestUtil.newVirtualMachine();
+		InstanceClass klass = TestUtil.test(vm, InnerInvokerTest.class, TestUtil.BOOTSTRAP);
+		VMInterface vmi = vm.getInterface();
+		JavaMethod answer = klass.getMethod("answer", "()I");
+		JavaMethod call = klass.getMethod("call", "()I");
+		assertNull(answer.getInvoker());
+		assertEquals(1, invoke(vm, call));
+
+		MethodInvoker invoker = ctx -> {
+			ctx.setResult(42);
+			return Result.ABORT;
+		};
+		vmi.setInvoker(answer, invoker);
+		assertSame(invoker, answer.getInvoker());
+		assertSame(invoker, vmi.getInvoker(answer));
+		assertEquals(42, invoke(vm, call));
+		// Visible to other threads without synchronization
+		AtomicReference<MethodInvoker> seen = new AtomicReference<>();
+		Thread thread = new Thread(() -> seen.set(answer.getInvoker()));
+		thread.start();
+		thread.join();
+		assertSame(invoker, seen.get());
+
+		vmi.setInvoker(answer, null);
+		assertNull(answer.getInvoker());
+		assertEquals(1, invoke(vm, call));
+	}
+
+	private static int invoke(VirtualMachine vm, JavaMethod method) {
+		return vm.getOperations().invokeInt(method, vm.getThreadStorage().newLocals(method));
+	}
+
+	private static final class InnerInvokerTest {
+
+		private static int answer() {
+			return 1;
+		}
+
+		private static int call() {
+			return answer();
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package dev.xdark.ssvm.enhanced;
+
+import dev.xdark.ssvm.TestUtil;
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.api.MethodEnterListener;
+import dev.xdark.ssvm.api.MethodExitListener;
+import dev.xdark.ssvm.api.VMInterface;
+import dev.xdark.ssvm.jvmti.JVMTIEnv;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ListenerTest {
+
+	@Test
+	public void testListeners() {
+		VirtualMachine vm = TestUtil.newVirtualMachine();
+		InstanceClass klass = TestUtil.test(vm, InnerListenerTest.class, TestUtil.BOOTSTRAP);
+		JavaMethod run = klass.getMethod("run", "()V");
+		VMInterface vmi = vm.getInterface();
+		AtomicInteger firstEnters = new AtomicInteger();
+		AtomicInteger secondEnters = new AtomicInteger();
+		AtomicInteger exits = new AtomicInteger();
+		MethodEnterListener first = ctx -> count(ctx.getMethod(), run, firstEnters);
+		MethodEnterListener second = ctx -> count(ctx.getMethod(), run, secondEnters);
+		MethodExitListener exit = ctx -> count(ctx.getMethod(), run, exits);
+
+		vmi.registerMethodEnterListener(first);
+		invoke(vm, run);
+		assertEquals(1, firstEnters.get());
+
+		vmi.registerMethodEnterListener(second);
+		vmi.registerMethodExitListener(exit);
+		invoke(vm, run);
+		assertEquals(2, firstEnters.get());
+		assertEquals(1, secondEnters.get());
+		assertEquals(1, exits.get());
+
+		vmi.removeMethodEnterListener(first);
+		invoke(vm, run);
+		assertEquals(2, firstEnters.get());
+		assertEquals(2, secondEnters.get());
+		assertEquals(2, exits.get());
+
+		vmi.removeMethodEnterListener(second);
+		vmi.removeMethodExitListener(exit);
+		invoke(vm, run);
+		assertEquals(2, firstEnters.get());
+		assertEquals(2, secondEnters.get());
+		assertEquals(2, exits.get());
+	}
+
+	@Test
+	public void testEnvironments() {
+		VirtualMachine vm = TestUtil.newVirtualMachine();
+		InstanceClass klass = TestUtil.test(vm, InnerListenerTest.class, TestUtil.BOOTSTRAP);
+		JavaMethod run = klass.getMethod("run", "()V");
+		AtomicInteger firstEnters = new AtomicInteger();
+		AtomicInteger secondEnters = new AtomicInteger();
+		AtomicInteger exits = new AtomicInteger();
+		JVMTIEnv firstEnv = vm.newJvmtiEnv();
+		JVMTIEnv secondEnv = vm.newJvmtiEnv();
+		firstEnv.setMethodEnter(ctx -> count(ctx.getMethod(), run, firstEnters));
+		secondEnv.setMethodEnter(ctx -> count(ctx.getMethod(), run, secondEnters));
+		secondEnv.setMethodExit(ctx -> count(ctx.getMethod(), run, exits));
+		invoke(vm, run);
+		assertEquals(1, firstEnters.get());
+		assertEquals(1, secondEnters.get());
+		assertEquals(1, exits.get());
+
+		firstEnv.close();
+		invoke(vm, run);
+		assertEquals(1, firstEnters.get());
+		assertEquals(2, secondEnters.get());
+		assertEquals(2, exits.get());
+
+		secondEnv.setMethodEnter(null);
+		invoke(vm, run);
+		assertEquals(2, secondEnters.get());
+		assertEquals(3, exits.get());
+
+		secondEnv.close();
+		invoke(vm, run);
+		assertEquals(3, exits.get());
+	}
+
+	private static void count(JavaMethod method, JavaMethod expected, AtomicInteger counter) {
+		if (method == expected) {
+			counter.incrementAndGet();
+		}
+	}
+
+	private static void invoke(VirtualMachine vm, JavaMethod method) {
+		vm.getOperations().invokeVoid(method, vm.getThreadStorage().newLocals(method));
+	}
+
+	private static final class InnerListenerTest {
+
+		private static void run() {
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package dev.xdark.ssvm.enhanced;
+
+import dev.xdark.ssvm.TestUtil;
+import dev.xdark.ssvm.VMTest;
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.api.InstructionInterceptor;
+import dev.xdark.ssvm.api.VMInterface;
+import dev.xdark.ssvm.asm.FusedInsnNode;
+import dev.xdark.ssvm.execution.MethodCode;
+import dev.xdark.ssvm.execution.MethodProfile;
+import dev.xdark.ssvm.execution.Result;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import dev.xdark.ssvm.mirror.type.JavaClass;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+public class ProfilingTest {
+
+	@Test
+	public void doTest() {
+		VirtualMachine vm = TestUtil.newVirtualMachine();
+		InstanceClass klass = TestUtil.test(vm, InnerProfilingTest.class, TestUtil.BOOTSTRAP, c -> vm.getInterface().setProfiling(true));
+		vm.getInterface().setProfiling(false);
+
+		MethodProfile branches = klass.getMethod("positive", "(I)Z").getProfile();
+		long taken = 0L, notTaken = 0L;
+		for (int i = 0, j = klass.getMethod("positive", "(I)Z").getCode().length(); i < j; i++) {
+			taken += branches.getTakenCount(i);
+			notTaken += branches.getNotTakenCount(i);
+		}
+		assertEquals(64L, taken + notTaken);
+		assertEquals(32L, taken);
+
+		MethodProfile switches = klass.getMethod("select", "(I)I").getProfile();
+		long[] counts = null;
+		for (int i = 0; counts == null; i++) {
+			counts = switches.getSwitchCounts(i);
+		}
+		assertEquals(4, counts.length);
+		assertEquals(16L, counts[0]);
+		assertEquals(16L, counts[1]);
+
+		MethodProfile receivers = klass.getMethod("hash", "(Ljava/lang/Object;)I").getProfile();
+		Set<String> types = new HashSet<>();
+		for (int i = 0, j = klass.getMethod("hash", "(Ljava/lang/Object;)I").getCode().length(); i < j; i++) {
+			for (int row = 0; row < MethodProfile.RECEIVER_ROWS; row++) {
+				JavaClass type = receivers.getReceiverType(i, row);
+				if (type != null) {
+					assertEquals(32L, receivers.getReceiverCount(i, row));
+					types.add(type.getInternalName());
+				}
+			}
+		}
+		assertEquals(2, types.size());
+	}
+
+	@Test
+	public void testSuperinstructions() {
+		// Fused and unfused runs must record the branch at the jump itself
+		VirtualMachine fused = TestUtil.newVirtualMachine();
+		fused.getInterface().setSuperinstructions(true);
+		InstanceClass klass = TestUtil.test(fused, InnerProfilingTest.class, TestUtil.BOOTSTRAP, c -> fused.getInterface().setProfiling(true));
+		fused.getInterface().setProfiling(false);
+		JavaMethod less = klass.getMethod("less", "(II)Z");
+		int jump = findCompareJump(less.getCode());
+		assertInstanceOf(FusedInsnNode.class, less.getCode().getInstruction(jump - 2));
+		assertBranch(less.getProfile(), jump);
+
+		VirtualMachine intercepted = TestUtil.newVirtualMachine();
+		VMInterface vmi = intercepted.getInterface();
+		vmi.setSuperinstructions(true);
+		InstructionInterceptor interceptor = (ctx, insn) -> Result.CONTINUE;
+		klass = TestUtil.test(intercepted, InnerProfilingTest.class, TestUtil.BOOTSTRAP, c -> {
+			vmi.setProfiling(true);
+			vmi.registerInstructionInterceptor(interceptor);
+		});
+		vmi.setProfiling(false);
+		vmi.removeInstructionInterceptor(interceptor);
+		less = klass.getMethod("less", "(II)Z");
+		assertEquals(jump, findCompareJump(less.getCode()));
+		assertBranch(less.getProfile(), jump);
+	}
+
+	private static int findCompareJump(MethodCode code) {
+		for (int i = 0, j = code.length(); i < j; i++) {
+			int opcode = code.getOpcode(i);
+			if (opcode >= Opcodes.IF_ICMPEQ && opcode <= Opcodes.IF_ICMPLE) {
+				return i;
+			}
+		}
+		throw new IllegalStateException("No jump");
+	}
+
+	private static void assertBranch(MethodProfile profile, int position) {
+		assertEquals(64L, profile.getTakenCount(position) + profile.getNotTakenCount(position));
+		assertEquals(0L, profile.getTakenCount(position - 2) + profile.getNotTakenCount(position - 2));
+	}
+
+	private static final class InnerProfilingTest {
+
+		@VMTest
+		private static void testBranches() {
+			for (int i = 0; i < 64; i++) {
+				if (positive(i - 32) == (i - 32 < 0)) {
+					throw new IllegalStateException();
+				}
+			}
+		}
+
+		@VMTest
+		private static void testCompare() {
+			for (int i = 0; i < 64; i++) {
+				if (less(i, 32) != (i < 32)) {
+					throw new IllegalStateException();
+				}
+			}
+		}
+
+		@VMTest
+		private static void testSwitches() {
+			for (int i = 0; i < 64; i++) {
+				if (select(i & 3) == 0) {
+					throw new IllegalStateException();
+				}
+			}
+		}
+
+		@VMTest
+		private static void testReceivers() {
+			for (int i = 0; i < 64; i++) {
+				Object value = (i & 1) == 0 ? "value" : (Object) i;
+				if (hash(value) != value.hashCode()) {
+					throw new IllegalStateException();
+				}
+			}
+		}
+
+		private static boolean positive(int value) {
+			return value >= 0;
+		}
+
+		private static boolean less(int a, int b) {
+			return a < b;
+		}
+
+		private static int select(int value) {
+			switch (value) {
+				case 0:
+					return 1;
+				case 1:
+					return 2;
+				case 2:
+					return 3;
+				default:
+					return 4;
+			}
+		}
+
+		private static int hash(Object value) {
+			return value.hashCode();
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package dev.xdark.ssvm.enhanced;
+
+import dev.xdark.ssvm.TestUtil;
+import dev.xdark.ssvm.VMTest;
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.execution.SimpleExecutionEngine;
+import dev.xdark.ssvm.execution.register.RegisterMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+public class RegisterTest {
+
+	@Test
+	public void doTest() {
+		VirtualMachine vm = TestUtil.newVirtualMachine(x -> new SimpleExecutionEngine(x, 0, 16));
+		InstanceClass klass = TestUtil.test(vm, InnerRegisterTest.class, TestUtil.BOOTSTRAP);
+		assertInstanceOf(RegisterMethod.class, vm.getInterface().getInvoker(klass.getMethod("sum", "(I)I")));
+		assertInstanceOf(RegisterMethod.class, vm.getInterface().getInvoker(klass.getMethod("reverse", "([C)V")));
+		assertInstanceOf(RegisterMethod.class, vm.getInterface().getInvoker(klass.getMethod("divide", "(II)I")));
+	}
+
+	private static final class InnerRegisterTest {
+
+		@VMTest
+		private static void testArithmetic() {
+			for (int i = 0; i < 64; i++) {
+				if (sum(i) != i * (i - 1) / 2) {
+					throw new IllegalStateException();
+				}
+			}
+		}
+
+		@VMTest
+		private static void testArrays() {
+			for (int i = 0; i < 64; i++) {
+				char[] chars = new char[i];
+				for (int j = 0; j < i; j++) {
+					chars[j] = (char) ('a' + j % 26);
+				}
+				reverse(chars);
+				for (int j = 0; j < i; j++) {
+					if (chars[i - j - 1] != 'a' + j % 26) {
+						throw new IllegalStateException();
+					}
+				}
+			}
+		}
+
+		@VMTest
+		private static void testExceptions() {
+			for (int i = 0; i < 64; i++) {
+				if (divide(i, 3) != i / 3) {
+					throw new IllegalStateException();
+				}
+				try {
+					divide(i, 0);
+					throw new IllegalStateException();
+				} catch (ArithmeticException ignored) {
+				}
+				try {
+					reverse(null);
+					throw new IllegalStateException();
+				} catch (NullPointerException ignored) {
+				}
+			}
+		}
+
+		private static int sum(int n) {
+			int sum = 0;
+			for (int i = 0; i < n; i++) {
+				sum += i;
+			}
+			return sum;
+		}
+
+		private static void reverse(char[] chars) {
+			for (int i = 0, j = chars.length - 1; i < j; i++, j--) {
+				char c = chars[i];
+				chars[i] = chars[j];
+				chars[j] = c;
+			}
+		}
+
+		private static int divide(int a, int b) {
+			return a / b;
+		}
+	}
+}
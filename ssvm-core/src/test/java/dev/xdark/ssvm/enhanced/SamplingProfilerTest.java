@@ -0,0 +1,76 @@
+package dev.xdark.ssvm.enhanced;
+
+import dev.xdark.ssvm.TestUtil;
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import dev.xdark.ssvm.profiler.MethodSample;
+import dev.xdark.ssvm.profiler.SamplingProfiler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SamplingProfilerTest {
+
+	@Test
+	public void doTest() throws IOException {
+		VirtualMachine vm = TestUtil.newVirtualMachine();
+		InstanceClass klass = TestUtil.test(vm, InnerSamplingProfilerTest.class, TestUtil.BOOTSTRAP);
+		JavaMethod outer = klass.getMethod("outer", "()V");
+		JavaMethod busy = klass.getMethod("busy", "()V");
+		SamplingProfiler profiler = vm.getSamplingProfiler();
+		profiler.start(1L, TimeUnit.MILLISECONDS);
+		try {
+			vm.getOperations().invokeVoid(outer, vm.getThreadStorage().newLocals(outer));
+		} finally {
+			profiler.stop();
+		}
+		assertFalse(profiler.isRunning());
+		assertTrue(profiler.getSampleCount() > 0L);
+		List<MethodSample> top = profiler.getTopMethods(10);
+		assertTrue(top.stream().anyMatch(x -> x.getMethod() == busy && x.getSelfSamples() > 0L), top::toString);
+		StringBuilder out = new StringBuilder();
+		profiler.writeCollapsedStacks(out);
+		String prefix = klass.getInternalName().replace('/', '.') + '.';
+		String expected = prefix + "outer;" + prefix + "middle;" + prefix + "busy ";
+		String line = null;
+		for (String candidate : out.toString().split("\n")) {
+			if (candidate.contains(expected)) {
+				line = candidate;
+				break;
+			}
+		}
+		assertNotNull(line, out::toString);
+		// Outermost frame first, innermost frame followed by the count
+		assertTrue(line.matches("([^ ;]+;)*" + Pattern.quote(expected) + "\\d+"), line);
+	}
+
+	private static final class InnerSamplingProfilerTest {
+
+		private static int counter;
+
+		private static void outer() {
+			middle();
+		}
+
+		private static void middle() {
+			busy();
+		}
+
+		private static void busy() {
+			long deadline = System.currentTimeMillis() + 500L;
+			while (System.currentTimeMillis() < deadline) {
+				for (int i = 0; i < 1000; i++) {
+					counter += i;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,195 @@
+package dev.xdark.ssvm.enhanced;
+
+import dev.xdark.ssvm.TestUtil;
+import dev.xdark.ssvm.VMTest;
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.asm.FusedInsnNode;
+import dev.xdark.ssvm.execution.MethodCode;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SuperinstructionTest {
+
+	@ParameterizedTest
+	@ValueSource(booleans = {true, false})
+	public void doTest(boolean superinstructions) {
+		VirtualMachine vm = TestUtil.newVirtualMachine();
+		vm.getInterface().setSuperinstructions(superinstructions);
+		InstanceClass klass = TestUtil.test(vm, InnerSuperinstructionTest.class, TestUtil.BOOTSTRAP);
+		// Every pattern must have been fused, or none at all
+		int expected = superinstructions ? 1 : 0;
+		assertEquals(expected, countFused(klass.getMethod("sum", "([I)I")) > 0 ? 1 : 0);
+		assertEquals(expected, countFused(klass.getMethod("length", "([I)I")));
+		assertEquals(expected, countFused(klass.getMethod("value", "(Ldev/xdark/ssvm/enhanced/SuperinstructionTest$InnerSuperinstructionTest$Node;)I")));
+		assertEquals(expected, countFused(klass.getMethod("lt", "(II)Z")));
+	}
+
+	private static int countFused(JavaMethod method) {
+		MethodCode code = method.getCode();
+		int count = 0;
+		for (int i = 0, j = code.length(); i < j; i++) {
+			if (code.getInstruction(i) instanceof FusedInsnNode) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static final class InnerSuperinstructionTest {
+
+		@VMTest
+		private static void testCompare() {
+			int[] values = {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE};
+			for (int a : values) {
+				for (int b : values) {
+					if (eq(a, b) != (a == b) || ne(a, b) != (a != b)
+						|| lt(a, b) != (a < b) || ge(a, b) != (a >= b)
+						|| gt(a, b) != (a > b) || le(a, b) != (a <= b)) {
+						throw new IllegalStateException();
+					}
+				}
+			}
+		}
+
+		@VMTest
+		private static void testArrays() {
+			int[] array = new int[100];
+			for (int i = 0; i < array.length; i++) {
+				array[i] = i;
+			}
+			if (sum(array) != 4950 || length(array) != 100 || load(array, 99) != 99) {
+				throw new IllegalStateException();
+			}
+			if (sum(new int[0]) != 0 || length(new int[0]) != 0) {
+				throw new IllegalStateException();
+			}
+		}
+
+		@VMTest
+		private static void testFields() {
+			Node node = new Node(5);
+			if (value(node) != 5) {
+				throw new IllegalStateException();
+			}
+		}
+
+		@VMTest
+		private static void testExceptions() {
+			try {
+				length(null);
+				throw new IllegalStateException();
+			} catch (NullPointerException ignored) {
+			}
+			try {
+				load(null, 0);
+				throw new IllegalStateException();
+			} catch (NullPointerException ignored) {
+			}
+			try {
+				load(new int[1], 1);
+				throw new IllegalStateException();
+			} catch (ArrayIndexOutOfBoundsException ignored) {
+			}
+			try {
+				load(new int[1], -1);
+				throw new IllegalStateException();
+			} catch (ArrayIndexOutOfBoundsException ignored) {
+			}
+			try {
+				value(null);
+				throw new IllegalStateException();
+			} catch (NullPointerException ignored) {
+			}
+			if (safeLength(null) != -1 || safeLength(new int[3]) != 3) {
+				throw new IllegalStateException();
+			}
+		}
+
+		private static boolean eq(int a, int b) {
+			if (a != b) {
+				return false;
+			}
+			return true;
+		}
+
+		private static boolean ne(int a, int b) {
+			if (a == b) {
+				return false;
+			}
+			return true;
+		}
+
+		private static boolean lt(int a, int b) {
+			if (a >= b) {
+				return false;
+			}
+			return true;
+		}
+
+		private static boolean ge(int a, int b) {
+			if (a < b) {
+				return false;
+			}
+			return true;
+		}
+
+		private static boolean gt(int a, int b) {
+			if (a <= b) {
+				return false;
+			}
+			return true;
+		}
+
+		private static boolean le(int a, int b) {
+			if (a > b) {
+				return false;
+			}
+			return true;
+		}
+
+		// ILOAD ILOAD IF_ICMPGE, ILOAD IALOAD, IINC GOTO
+		private static int sum(int[] array) {
+			int sum = 0;
+			int length = array.length;
+			for (int i = 0; i < length; i++) {
+				sum += array[i];
+			}
+			return sum;
+		}
+
+		// ALOAD ARRAYLENGTH
+		private static int length(int[] array) {
+			return array.length;
+		}
+
+		// ILOAD IALOAD
+		private static int load(int[] array, int index) {
+			return array[index];
+		}
+
+		// ALOAD GETFIELD
+		private static int value(Node node) {
+			return node.value;
+		}
+
+		private static int safeLength(int[] array) {
+			try {
+				return array.length;
+			} catch (NullPointerException ex) {
+				return -1;
+			}
+		}
+
+		private static final class Node {
+			final int value;
+
+			Node(int value) {
+				this.value = value;
+			}
+		}
+	}
+}
@@ -0,0 +1,168 @@
+package dev.xdark.ssvm.enhanced;
+
+import dev.xdark.ssvm.TestUtil;
+import dev.xdark.ssvm.VMTest;
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import dev.xdark.ssvm.mirror.type.JavaClass;
+import dev.xdark.ssvm.operation.VMOperations;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Type;
+
+import java.io.Serializable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class SupertypeDisplayTest {
+
+	private static final Class<?>[] CLASSES = {
+		Object.class,
+		Cloneable.class,
+		Serializable.class,
+		Comparable.class,
+		CharSequence.class,
+		String.class,
+		Number.class,
+		Integer.class,
+		InnerSupertypeDisplayTest.A.class,
+		InnerSupertypeDisplayTest.B.class,
+		InnerSupertypeDisplayTest.C.class,
+		InnerSupertypeDisplayTest.D.class,
+		InnerSupertypeDisplayTest.E.class,
+		InnerSupertypeDisplayTest.F.class,
+		InnerSupertypeDisplayTest.G.class,
+		InnerSupertypeDisplayTest.H.class,
+		InnerSupertypeDisplayTest.Sibling.class,
+		InnerSupertypeDisplayTest.I0.class,
+		InnerSupertypeDisplayTest.I1.class,
+		InnerSupertypeDisplayTest.I2.class,
+		InnerSupertypeDisplayTest.J.class,
+		Object[].class,
+		Object[][].class,
+		Cloneable[].class,
+		Serializable[].class,
+		String[].class,
+		CharSequence[].class,
+		InnerSupertypeDisplayTest.A[].class,
+		InnerSupertypeDisplayTest.H[].class,
+		InnerSupertypeDisplayTest.H[][].class,
+		InnerSupertypeDisplayTest.I0[].class,
+		InnerSupertypeDisplayTest.J[].class,
+		int[].class,
+		int[][].class,
+		long[].class,
+	};
+
+	@Test
+	public void doTest() {
+		VirtualMachine vm = TestUtil.newVirtualMachine();
+		InstanceClass klass = TestUtil.test(vm, InnerSupertypeDisplayTest.class, TestUtil.BOOTSTRAP);
+		VMOperations ops = vm.getOperations();
+		Class<?>[] classes = CLASSES;
+		JavaClass[] mirrors = new JavaClass[classes.length];
+		for (int i = 0; i < classes.length; i++) {
+			JavaClass mirror = ops.findClass(klass, Type.getInternalName(classes[i]), false);
+			if (classes[i].getEnclosingClass() == InnerSupertypeDisplayTest.class) {
+				// Checks must not fall back to the slow path
+				assertNotNull(((InstanceClass) mirror).supertypeDisplay(), mirror::getName);
+			}
+			mirrors[i] = mirror;
+		}
+		for (int i = 0; i < classes.length; i++) {
+			for (int j = 0; j < classes.length; j++) {
+				JavaClass t = mirrors[i];
+				JavaClass s = mirrors[j];
+				String message = t.getName() + " <- " + s.getName();
+				boolean expected = classes[i].isAssignableFrom(classes[j]);
+				assertEquals(expected, t.isAssignableFrom(s), message);
+				if (t instanceof InstanceClass && s instanceof InstanceClass) {
+					assertEquals(expected, walk(vm, (InstanceClass) t, (InstanceClass) s), message);
+				}
+			}
+		}
+	}
+
+	// Hierarchy walk the display replaces
+	private static boolean walk(VirtualMachine vm, InstanceClass t, InstanceClass s) {
+		if (t == vm.getSymbols().java_lang_Object()) {
+			return true;
+		}
+		for (InstanceClass klass = s; klass != null; klass = klass.getSuperClass()) {
+			if (klass == t) {
+				return true;
+			}
+			for (InstanceClass itf : klass.getInterfaces()) {
+				if (walk(vm, t, itf)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static final class InnerSupertypeDisplayTest {
+
+		@VMTest
+		private static void testInstanceof() {
+			Object h = new H();
+			if (!(h instanceof A) || !(h instanceof E) || !(h instanceof I0) || !(h instanceof J)) {
+				throw new IllegalStateException();
+			}
+			if (!(h instanceof Serializable) || h instanceof Sibling || h instanceof Cloneable) {
+				throw new IllegalStateException();
+			}
+			Object c = new C();
+			if (!(c instanceof I0) || c instanceof I1 || c instanceof D) {
+				throw new IllegalStateException();
+			}
+			Object array = new H[0];
+			if (!(array instanceof A[]) || !(array instanceof I0[]) || !(array instanceof Object[])
+				|| !(array instanceof Cloneable) || array instanceof Sibling[]) {
+				throw new IllegalStateException();
+			}
+		}
+
+		private interface I0 {
+		}
+
+		private interface I1 extends I0 {
+		}
+
+		private interface I2 extends I1 {
+		}
+
+		private interface J extends I2, Serializable {
+		}
+
+		private static class A {
+		}
+
+		private static class B extends A {
+		}
+
+		// Implements I0 directly
+		private static class C extends B implements I0 {
+		}
+
+		private static class D extends C {
+		}
+
+		// Implements I0 again through the superinterfaces of J
+		private static class E extends D implements J {
+		}
+
+		// Inherits every interface through its superclasses
+		private static class F extends E {
+		}
+
+		private static class G extends F {
+		}
+
+		private static final class H extends G {
+		}
+
+		private static final class Sibling extends B implements I2 {
+		}
+	}
+}
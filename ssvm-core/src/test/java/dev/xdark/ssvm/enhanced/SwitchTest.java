@@ -0,0 +1,111 @@
+package dev.xdark.ssvm.enhanced;
+
+import dev.xdark.ssvm.TestUtil;
+import dev.xdark.ssvm.VMTest;
+import org.junit.jupiter.api.Test;
+
+public class SwitchTest {
+
+	@Test
+	public void doTest() {
+		TestUtil.test(InnerSwitchTest.class, TestUtil.BOOTSTRAP);
+	}
+
+	private static final class InnerSwitchTest {
+
+		@VMTest
+		private static void testTable() {
+			for (int i = -2; i < 8; i++) {
+				int expected = i >= 0 && i < 4 ? i * 10 : -1;
+				for (int j = 0; j < 2; j++) {
+					if (table(i) != expected) {
+						throw new IllegalStateException();
+					}
+				}
+			}
+			if (table(Integer.MIN_VALUE) != -1 || table(Integer.MAX_VALUE) != -1) {
+				throw new IllegalStateException();
+			}
+		}
+
+		@VMTest
+		private static void testLookup() {
+			int[] values = {Integer.MIN_VALUE, -100, 0, 1, 5, 7, 1000, 100000, Integer.MAX_VALUE};
+			int[] compact = {-1, -1, -1, 1, 5, 7, -1, -1, -1};
+			int[] sparse = {1, 2, -1, -1, -1, -1, 3, 4, 5};
+			for (int i = 0; i < values.length; i++) {
+				if (compact(values[i]) != compact[i] || sparse(values[i]) != sparse[i]) {
+					throw new IllegalStateException();
+				}
+			}
+		}
+
+		@VMTest
+		private static void testString() {
+			String[] values = {"alpha", "beta", "gamma", "delta"};
+			for (int i = 0; i < values.length; i++) {
+				if (string(values[i]) != i) {
+					throw new IllegalStateException();
+				}
+			}
+		}
+
+		private static int table(int value) {
+			switch (value) {
+				case 0:
+					return 0;
+				case 1:
+					return 10;
+				case 2:
+					return 20;
+				case 3:
+					return 30;
+				default:
+					return -1;
+			}
+		}
+
+		private static int compact(int value) {
+			switch (value) {
+				case 1:
+					return 1;
+				case 5:
+					return 5;
+				case 7:
+					return 7;
+				default:
+					return -1;
+			}
+		}
+
+		private static int sparse(int value) {
+			switch (value) {
+				case Integer.MIN_VALUE:
+					return 1;
+				case -100:
+					return 2;
+				case 1000:
+					return 3;
+				case 100000:
+					return 4;
+				case Integer.MAX_VALUE:
+					return 5;
+				default:
+					return -1;
+			}
+		}
+
+		private static int string(String value) {
+			switch (value) {
+				case "alpha":
+					return 0;
+				case "beta":
+					return 1;
+				case "gamma":
+					return 2;
+				default:
+					return 3;
+			}
+		}
+	}
+}
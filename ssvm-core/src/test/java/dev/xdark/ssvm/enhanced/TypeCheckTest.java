@@ -0,0 +1,131 @@
+package dev.xdark.ssvm.enhanced;
+
+import dev.xdark.ssvm.TestUtil;
+import dev.xdark.ssvm.VMTest;
+import dev.xdark.ssvm.VirtualMachine;
+import dev.xdark.ssvm.asm.VMOpcodes;
+import dev.xdark.ssvm.asm.VMTypeInsnNode;
+import dev.xdark.ssvm.execution.MethodCode;
+import dev.xdark.ssvm.mirror.member.JavaMethod;
+import dev.xdark.ssvm.mirror.type.InstanceClass;
+import dev.xdark.ssvm.mirror.type.JavaClass;
+import dev.xdark.ssvm.operation.VMOperations;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.TypeInsnNode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TypeCheckTest {
+
+	@Test
+	public void doTest() {
+		VirtualMachine vm = TestUtil.newVirtualMachine();
+		InstanceClass klass = TestUtil.test(vm, InnerTypeCheckTest.class, TestUtil.BOOTSTRAP);
+		// Both sites must have taken the fast path
+		assertTrue(hasTypeInsn(klass.getMethod("isShape", "(Ljava/lang/Object;)Z")));
+		assertTrue(hasTypeInsn(klass.getMethod("cast", "(Ljava/lang/Object;)Ldev/xdark/ssvm/enhanced/TypeCheckTest$InnerTypeCheckTest$Shape;")));
+	}
+
+	@Test
+	public void testCache() {
+		VirtualMachine vm = TestUtil.newVirtualMachine();
+		InstanceClass klass = TestUtil.test(vm, InnerTypeCheckTest.class, TestUtil.BOOTSTRAP);
+		VMOperations ops = vm.getOperations();
+		JavaClass shape = ops.findClass(klass, Type.getInternalName(InnerTypeCheckTest.Shape.class), false);
+		JavaClass[] classes = {
+			ops.findClass(klass, Type.getInternalName(InnerTypeCheckTest.Circle.class), false),
+			ops.findClass(klass, Type.getInternalName(InnerTypeCheckTest.Square.class), false),
+			ops.findClass(klass, Type.getInternalName(InnerTypeCheckTest.Point.class), false),
+			ops.findClass(klass, Type.getInternalName(InnerTypeCheckTest.Ellipse.class), false),
+			vm.getSymbols().java_lang_String(),
+			shape,
+		};
+		VMTypeInsnNode insn = new VMTypeInsnNode(new TypeInsnNode(Opcodes.INSTANCEOF, shape.getInternalName()), VMOpcodes.VM_INSTANCEOF, shape);
+		// Walk the classes in different orders, so that
+		// every cache entry gets replaced
+		for (int i = 0; i < classes.length * 4; i++) {
+			for (int j = 0; j < classes.length; j++) {
+				JavaClass candidate = classes[(j * (i + 1)) % classes.length];
+				assertEquals(shape.isAssignableFrom(candidate), insn.isAssignableFrom(candidate), candidate::getName);
+				assertEquals(shape.isAssignableFrom(candidate), insn.isAssignableFrom(candidate), candidate::getName);
+			}
+		}
+	}
+
+	private static boolean hasTypeInsn(JavaMethod method) {
+		MethodCode code = method.getCode();
+		for (int i = 0, j = code.length(); i < j; i++) {
+			if (code.getInstruction(i) instanceof VMTypeInsnNode) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static final class InnerTypeCheckTest {
+
+		@VMTest
+		private static void testInstanceof() {
+			Object[] values = {new Circle(), new Square(), new Point(), new Ellipse(), "shape", null};
+			boolean[] expected = {true, true, false, true, false, false};
+			for (int i = 0; i < 8; i++) {
+				for (int j = 0; j < values.length; j++) {
+					if (isShape(values[j]) != expected[j]) {
+						throw new IllegalStateException();
+					}
+				}
+			}
+		}
+
+		@VMTest
+		private static void testCast() {
+			Object[] values = {new Circle(), new Square(), new Point(), new Ellipse(), null};
+			for (int i = 0; i < 8; i++) {
+				for (Object value : values) {
+					try {
+						if (cast(value) != value) {
+							throw new IllegalStateException();
+						}
+						if (value instanceof Point) {
+							throw new IllegalStateException();
+						}
+					} catch (ClassCastException ex) {
+						if (!(value instanceof Point)) {
+							throw new IllegalStateException();
+						}
+						String message = Point.class.getName() + " cannot be cast to " + Shape.class.getName();
+						if (!message.equals(ex.getMessage())) {
+							throw new IllegalStateException(ex.getMessage());
+						}
+					}
+				}
+			}
+		}
+
+		private static boolean isShape(Object value) {
+			return value instanceof Shape;
+		}
+
+		private static Shape cast(Object value) {
+			return (Shape) value;
+		}
+
+		private interface Shape {
+		}
+
+		private static class Circle implements Shape {
+		}
+
+		private static final class Square implements Shape {
+		}
+
+		private static final class Point {
+		}
+
+		private static final class Ellipse extends Circle {
+		}
+	}
+}
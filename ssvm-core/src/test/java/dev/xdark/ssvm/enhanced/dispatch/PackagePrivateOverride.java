@@ -0,0 +1,19 @@
+package dev.xdark.ssvm.enhanced.dispatch;
+
+import dev.xdark.ssvm.enhanced.DispatchTableTest;
+
+/**
+ * Declares a package-private method with the same
+ * signature as the one in the other package,
+ * which does not override it.
+ */
+public class PackagePrivateOverride extends DispatchTableTest.Base {
+
+	int value() {
+		return 2;
+	}
+
+	public static int value(PackagePrivateOverride value) {
+		return value.value();
+	}
+}
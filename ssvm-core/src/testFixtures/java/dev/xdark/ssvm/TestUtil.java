@@ -1,5 +1,6 @@
 package dev.xdark.ssvm;
 
+import dev.xdark.ssvm.execution.ExecutionEngine;
 import dev.xdark.ssvm.execution.Locals;
 import dev.xdark.ssvm.execution.VMException;
 import dev.xdark.ssvm.filesystem.FileManager;
@@ -24,6 +25,7 @@ import java.io.InputStream;
 import java.lang.reflect.Modifier;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -33,8 +35,15 @@ public class TestUtil {
 	public final int BOOTSTRAP = 1;
 	public final int SYSTEM = 2;
 
-	public void test(Class<?> klass, int flag, Consumer<InstanceClass> init) {
-		VirtualMachine vm = newVirtualMachine();
+	public InstanceClass test(Class<?> klass, int flag, Consumer<InstanceClass> init) {
+		return test(newVirtualMachine(), klass, flag, init);
+	}
+
+	public InstanceClass test(VirtualMachine vm, Class<?> klass, int flag) {
+		return test(vm, klass, flag, null);
+	}
+
+	public InstanceClass test(VirtualMachine vm, Class<?> klass, int flag, Consumer<InstanceClass> init) {
 		if ((flag & BOOTSTRAP) != 0) {
 			vm.bootstrap();
 		} else {
@@ -86,6 +95,7 @@ public class TestUtil {
 				handleException(vm, ex);
 			}
 		}
+		return res;
 	}
 
 	private static void handleException(VirtualMachine vm, VMException ex) {
@@ -118,12 +128,21 @@ public class TestUtil {
 	}
 
 	public VirtualMachine newVirtualMachine() {
+		return newVirtualMachine(null);
+	}
+
+	public VirtualMachine newVirtualMachine(Function<VirtualMachine, ExecutionEngine> executionEngine) {
 		return new VirtualMachine() {
 			@Override
 			protected FileManager createFileManager() {
 				return new HostFileManager();
 			}
 
+			@Override
+			protected ExecutionEngine createExecutionEngine() {
+				return executionEngine == null ? super.createExecutionEngine() : executionEngine.apply(this);
+			}
+
 			@Override
 			protected MemoryAllocator createMemoryAllocator() {
 				return new SynchronizedMemoryAllocator(super.createMemoryAllocator());